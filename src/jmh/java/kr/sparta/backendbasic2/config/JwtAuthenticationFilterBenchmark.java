@@ -0,0 +1,71 @@
+package kr.sparta.backendbasic2.config;
+
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.serivce.CustomUserService;
+import kr.sparta.backendbasic2.serivce.JwtTokenProvider;
+import kr.sparta.backendbasic2.serivce.TokenRevocationList;
+import kr.sparta.backendbasic2.serivce.UserPrincipalCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+// 인증된 요청 한 건이 필터를 통과하는 비용 (DB 대신 고정된 User 를 돌려주는 UserService 사용)
+//  - cache: 기본 모드 (principal 캐시 사용)
+//  - stateless: 클레임만으로 principal 생성
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"cache", "stateless"})
+    private String mode;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        Team team = new Team();
+        team.setId(1L);
+
+        User user = new User();
+        user.setId(1L);
+        user.setUserId("testuser");
+        user.setRole("USER");
+        user.setTeam(team);
+
+        CustomUserService userService = new CustomUserService(null) {
+            @Override
+            public User loadUserByUsername(String loginId) {
+                return user;
+            }
+        };
+
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, userService,
+                new UserPrincipalCache(10_000, Duration.ofMinutes(5)), new TokenRevocationList());
+        filter.setStatelessPrincipal("stateless".equals(mode));
+
+        authorization = "Bearer " + jwtTokenProvider.createAccessToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/lunch-rounds");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
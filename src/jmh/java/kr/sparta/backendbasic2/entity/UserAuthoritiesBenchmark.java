@@ -0,0 +1,32 @@
+package kr.sparta.backendbasic2.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+// User.getAuthorities() 는 호출마다 role 문자열을 split 한다
+@State(Scope.Benchmark)
+public class UserAuthoritiesBenchmark {
+
+    @Param({"USER", "USER, admin, manager"})
+    private String role;
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setUserId("testuser");
+        user.setRole(role);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return user.getAuthorities();
+    }
+}
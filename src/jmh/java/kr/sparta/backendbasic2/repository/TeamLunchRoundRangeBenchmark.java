@@ -0,0 +1,133 @@
+package kr.sparta.backendbasic2.repository;
+
+import kr.sparta.backendbasic2.BackendBasic2Application;
+import kr.sparta.backendbasic2.dto.LunchRoundResponse;
+import kr.sparta.backendbasic2.entity.LunchRound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// GET /teams/{teamId}/lunch-rounds 의 조회 쿼리 - lunch_round 수백만 행에서 팀 하나의 날짜 범위 페이지
+//  - firstPage / cursorPage: findTeamPage / findTeamPageAfter (idx_lunch_round_team_date 범위 + keyset)
+//  - findByTeamIdThenFilter: 기존 findByTeamId 로 팀 라운드를 전부 읽고 메모리에서 범위 / 정렬 / 자르기
+// Setup 에서 같은 쿼리를 EXPLAIN ANALYZE 해서 출력하고, 인덱스를 쓰지 않거나 범위보다 많이 읽으면 실패한다
+// 확인하는 것은 범위 스캔까지 (인덱스 이름 + scanCount) - H2 는 인덱스만 읽었는지 표시하지 않으므로 커버링 여부는 확인하지 않는다
+// 실행: ./gradlew jmhQuery  (Spring Boot 컨텍스트를 띄우므로 jmh 가 아니라 jmhQuery, seed 에 1~2분)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TeamLunchRoundRangeBenchmark {
+
+    private static final int TEAMS = 1_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int RANGE_DAYS = 90;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    private static final String PAGE_SQL = """
+            select r.id, r.date, r.status, t.id, t.name, c.user_id
+            from lunch_round r join team t on t.id = r.team_id left join user c on c.id = r.creator_id
+            where r.team_id = %d and r.date between date '%s' and date '%s'
+            order by r.date desc, r.id desc
+            fetch first %d rows only""";
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Param({"2000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private LunchRoundRepository lunchRoundRepository;
+    private Long teamId;
+    private LocalDate from;
+    private LocalDate to;
+    private LunchRoundResponse cursor;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendBasic2Application.class)
+                .profiles("h2")
+                .properties("spring.main.web-application-type=none", "logging.level.root=WARN")
+                .run();
+        lunchRoundRepository = context.getBean(LunchRoundRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        int days = rows / TEAMS;
+        long start = System.nanoTime();
+        seed(jdbcTemplate, days);
+        System.out.printf("%nseeded %,d lunch rounds (%d teams x %d days) in %d s%n",
+                (long) TEAMS * days, TEAMS, days, (System.nanoTime() - start) / 1_000_000_000);
+
+        // 가운데 팀의 가운데 90일
+        teamId = jdbcTemplate.queryForObject("select id from team where name = ?", Long.class, "bench-team-" + TEAMS / 2);
+        from = FIRST_DAY.plusDays(days / 2);
+        to = from.plusDays(RANGE_DAYS - 1);
+        cursor = lunchRoundRepository.findTeamPage(teamId, from, to, Limit.of(PAGE_SIZE)).get(PAGE_SIZE - 1);
+
+        explain(jdbcTemplate, PAGE_SQL.formatted(teamId, from, to, PAGE_SIZE + 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<LunchRoundResponse> firstPage() {
+        return lunchRoundRepository.findTeamPage(teamId, from, to, Limit.of(PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public List<LunchRoundResponse> cursorPage() {
+        return lunchRoundRepository.findTeamPageAfter(teamId, from, cursor.date(), cursor.id(), Limit.of(PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public List<LunchRound> findByTeamIdThenFilter() {
+        return lunchRoundRepository.findByTeamId(teamId).stream()
+                .filter(round -> !round.getDate().isBefore(from) && !round.getDate().isAfter(to))
+                .sorted(Comparator.comparing(LunchRound::getDate).thenComparing(LunchRound::getId).reversed())
+                .limit(PAGE_SIZE + 1)
+                .toList();
+    }
+
+    // 팀마다 사용자 한 명이 FIRST_DAY 부터 하루에 하나씩 (팀 / 사용자 id 는 한 번의 insert 라 연속)
+    private static void seed(JdbcTemplate jdbcTemplate, int days) {
+        jdbcTemplate.update("insert into team (name) select 'bench-team-' || x from system_range(0, ?)", TEAMS - 1);
+        long firstTeam = jdbcTemplate.queryForObject("select id from team where name = 'bench-team-0'", Long.class);
+        jdbcTemplate.update("insert into user (user_id, name, role, team_id)"
+                + " select 'bench-' || x, 'bench-' || x, 'USER', ? + x from system_range(0, ?)", firstTeam, TEAMS - 1);
+        long firstUser = jdbcTemplate.queryForObject("select id from user where user_id = 'bench-0'", Long.class);
+        // select 안의 ? 는 H2 가 타입을 정하지 못해서 값을 그대로 넣는다
+        jdbcTemplate.update(("insert into lunch_round (date, status, version, team_id, creator_id)"
+                + " select dateadd(day, mod(x, %1$d), date '%2$s'), 'PLANNING', 0, %3$d + x / %1$d, %4$d + x / %1$d"
+                + " from system_range(0, %5$d)").formatted(days, FIRST_DAY, firstTeam, firstUser, (long) TEAMS * days - 1));
+        jdbcTemplate.execute("analyze table lunch_round");
+    }
+
+    // lunch_round 를 idx_lunch_round_team_date 로 읽고, 범위 안의 행만 읽어야 한다 (전체 행 / 팀 전체가 아니라)
+    // 첫 scanCount 가 lunch_round - H2 는 범위 끝을 확인하는 한 행까지 센다. team / user 는 PK 조회
+    private static void explain(JdbcTemplate jdbcTemplate, String sql) {
+        String plan = jdbcTemplate.queryForObject("explain analyze " + sql, String.class);
+        System.out.println(plan);
+        if (!plan.toUpperCase().contains("IDX_LUNCH_ROUND_TEAM_DATE")) {
+            throw new IllegalStateException("Range query does not use idx_lunch_round_team_date");
+        }
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        if (!matcher.find() || Long.parseLong(matcher.group(1)) > RANGE_DAYS + 1) {
+            throw new IllegalStateException("Range query scans more rows than the range: " + plan);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package kr.sparta.backendbasic2.serivce;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.List;
+
+// 토큰 발급 / 파싱 비용
+//  - parseCached: 같은 토큰 반복 (검증 캐시 hit, 실제 요청 대부분)
+//  - verifyFastPath / parseJjwt: 캐시 miss 시 두 검증 경로 비교
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private Hs256TokenVerifier fastVerifier;
+    private JwtParser jjwtParser;
+    private Authentication authentication;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        Key key = Keys.hmacShaKeyFor("mySecretKey123456789012345678901234567890".getBytes(StandardCharsets.UTF_8));
+        jwtTokenProvider = new JwtTokenProvider();
+        fastVerifier = new Hs256TokenVerifier(key);
+        jjwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        authentication = new UsernamePasswordAuthenticationToken(
+                "testuser", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        accessToken = jwtTokenProvider.createAccessToken(authentication);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtTokenProvider.createAccessToken(authentication);
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        return jwtTokenProvider.createRefreshToken("testuser");
+    }
+
+    @Benchmark
+    public Claims parseCached() {
+        return jwtTokenProvider.parse(accessToken);
+    }
+
+    @Benchmark
+    public Claims verifyFastPath() {
+        return fastVerifier.verify(accessToken);
+    }
+
+    @Benchmark
+    public Claims parseJjwt() {
+        return jjwtParser.parseClaimsJws(accessToken).getBody();
+    }
+}
@@ -0,0 +1,85 @@
+package kr.sparta.backendbasic2.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 엔드포인트별 응답 시간(ns) 기록 - 가상 사용자마다 하나씩 두고 (락 없음) 끝난 뒤 merge
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+    void success(String endpoint, long nanos) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).add(nanos);
+    }
+
+    void error(String endpoint) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).errors++;
+    }
+
+    void merge(LatencyRecorder other) {
+        other.samples.forEach((endpoint, theirs) -> {
+            Samples ours = samples.computeIfAbsent(endpoint, key -> new Samples());
+            for (int i = 0; i < theirs.size; i++) {
+                ours.add(theirs.nanos[i]);
+            }
+            ours.errors += theirs.errors;
+        });
+    }
+
+    // 엔드포인트 -> count, errors, throughput, mean / p50 / p95 / p99 / max (ms)
+    Map<String, Map<String, Object>> summarize(double seconds) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        Samples total = new Samples();
+        samples.forEach((endpoint, endpointSamples) -> {
+            result.put(endpoint, endpointSamples.summarize(seconds));
+            for (int i = 0; i < endpointSamples.size; i++) {
+                total.add(endpointSamples.nanos[i]);
+            }
+            total.errors += endpointSamples.errors;
+        });
+        result.put("TOTAL", total.summarize(seconds));
+        return result;
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        private void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        private Map<String, Object> summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", size);
+            summary.put("errors", errors);
+            summary.put("throughputPerSec", round(size / seconds));
+            summary.put("meanMs", size == 0 ? 0 : round(Arrays.stream(sorted).average().orElse(0) / 1_000_000));
+            summary.put("p50Ms", percentile(sorted, 50));
+            summary.put("p95Ms", percentile(sorted, 95));
+            summary.put("p99Ms", percentile(sorted, 99));
+            summary.put("maxMs", size == 0 ? 0 : round(sorted[size - 1] / 1_000_000.0));
+            return summary;
+        }
+
+        // nearest-rank
+        private static double percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return round(sorted[Math.max(rank, 1) - 1] / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+    }
+}
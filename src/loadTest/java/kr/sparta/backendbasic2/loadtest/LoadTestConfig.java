@@ -0,0 +1,38 @@
+package kr.sparta.backendbasic2.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// 부하 테스트 설정 - 모두 시스템 프로퍼티 (./gradlew loadTest -PloadTest.concurrency=32 ...)
+//  - baseUrl: 비어 있으면 h2 프로필로 앱을 같은 JVM 에 띄워서 테스트, 있으면 이미 떠 있는 서버로
+//  - profiles: 같은 JVM 에 띄울 때 h2 에 더할 프로필 (예: replica - 조회를 복제본 풀로)
+//  - concurrency: 동시에 흐름을 반복하는 가상 사용자 수 (loadtest-1 ~ N 으로 로그인, data-h2.sql 에 500명)
+//  - rampUp: 가상 사용자를 이 시간 동안 고르게 나눠서 출발시킨다. 이 구간의 요청은 집계하지 않음
+//  - duration: ramp-up 이 끝난 뒤 측정하는 시간
+record LoadTestConfig(
+        String baseUrl,
+        String profiles,
+        int concurrency,
+        Duration rampUp,
+        Duration duration,
+        Path output
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                System.getProperty("loadTest.baseUrl", ""),
+                System.getProperty("loadTest.profiles", ""),
+                Integer.getInteger("loadTest.concurrency", 16),
+                Duration.ofSeconds(Long.getLong("loadTest.rampUp", 10)),
+                Duration.ofSeconds(Long.getLong("loadTest.duration", 60)),
+                Path.of(System.getProperty("loadTest.output", "build/reports/load-test/results.json")));
+        if (config.concurrency < 1 || config.concurrency > 500) {
+            throw new IllegalArgumentException("loadTest.concurrency must be between 1 and 500: " + config.concurrency);
+        }
+        return config;
+    }
+
+    boolean embedded() {
+        return baseUrl.isBlank();
+    }
+}
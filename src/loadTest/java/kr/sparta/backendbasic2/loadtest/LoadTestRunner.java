@@ -0,0 +1,144 @@
+package kr.sparta.backendbasic2.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kr.sparta.backendbasic2.BackendBasic2Application;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Postman 컬렉션 흐름(LunchFlow)을 가상 사용자 N 명이 반복하는 부하 테스트
+// 실행: ./gradlew loadTest -PloadTest.concurrency=32 -PloadTest.rampUp=10 -PloadTest.duration=60
+// 결과: build/reports/load-test/results.json (엔드포인트별 count / errors / 초당 처리량 / p50 / p95 / p99)
+// 빌드끼리 비교할 때는 같은 설정 + 같은 머신에서 돌리고 results.json 을 보관해 둔다
+// 플랫폼 스레드 vs 가상 스레드: JDK 21 에서 VIRTUAL_THREADS=false / true 로 한 번씩 (-PloadTest.output 을 다르게)
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext context = config.embedded() ? startApplication(config.profiles()) : null;
+        String baseUrl = context == null
+                ? config.baseUrl()
+                : "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        // 같은 JVM 에 띄운 앱이 가상 스레드로 요청을 처리하는지 (VIRTUAL_THREADS, JDK 21 이상에서만 적용)
+        String virtualThreads = context == null
+                ? "unknown"
+                : context.getEnvironment().getProperty("spring.threads.virtual.enabled", "false");
+
+        Map<String, Map<String, Object>> endpoints;
+        double measuredSeconds;
+        try {
+            ObjectMapper objectMapper = new ObjectMapper();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            System.out.printf("Load test: %s, %d users, ramp-up %ds, duration %ds%n", baseUrl,
+                    config.concurrency(), config.rampUp().toSeconds(), config.duration().toSeconds());
+
+            long rampUpNanos = config.rampUp().toNanos();
+            long start = System.nanoTime();
+            long measureStart = start + rampUpNanos;
+            long end = measureStart + config.duration().toNanos();
+            AtomicLong lastFinish = new AtomicLong(measureStart);
+
+            ExecutorService executor = Executors.newFixedThreadPool(config.concurrency());
+            List<Future<LatencyRecorder>> futures = new ArrayList<>();
+            for (int i = 0; i < config.concurrency(); i++) {
+                // ramp-up 동안 고르게 출발
+                long startAt = start + rampUpNanos * i / config.concurrency();
+                LunchFlow flow = new LunchFlow(client, objectMapper, baseUrl, "loadtest-" + (i + 1));
+                futures.add(executor.submit(() -> {
+                    sleepUntil(startAt);
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    boolean measuring = false;
+                    while (System.nanoTime() < end) {
+                        // ramp-up 구간(동시 사용자가 덜 찬 상태)의 기록은 버린다
+                        if (!measuring && System.nanoTime() >= measureStart) {
+                            recorder = new LatencyRecorder();
+                            measuring = true;
+                        }
+                        flow.run(recorder);
+                    }
+                    lastFinish.accumulateAndGet(System.nanoTime(), Math::max);
+                    return measuring ? recorder : new LatencyRecorder();
+                }));
+            }
+
+            LatencyRecorder merged = new LatencyRecorder();
+            for (Future<LatencyRecorder> future : futures) {
+                merged.merge(future.get());
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+
+            // 마지막 반복이 끝날 때까지 걸린 시간으로 나눈다 (duration 을 조금 넘길 수 있음)
+            measuredSeconds = (lastFinish.get() - measureStart) / 1_000_000_000.0;
+            endpoints = merged.summarize(measuredSeconds);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("label", System.getProperty("loadTest.label", ""));
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("target", config.embedded() ? "embedded-h2" : config.baseUrl());
+        report.put("profiles", config.profiles());
+        report.put("virtualThreads", virtualThreads);
+        report.put("concurrency", config.concurrency());
+        report.put("rampUpSeconds", config.rampUp().toSeconds());
+        report.put("durationSeconds", config.duration().toSeconds());
+        report.put("measuredSeconds", Math.round(measuredSeconds * 1000) / 1000.0);
+        report.put("endpoints", endpoints);
+
+        if (config.output().getParent() != null) {
+            Files.createDirectories(config.output().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.output().toFile(), report);
+        print(endpoints);
+        System.out.println("Report: " + config.output().toAbsolutePath());
+
+        // 실패한 요청이 있으면 결과는 남기되 빌드는 실패시킨다
+        long errors = ((Number) endpoints.get("TOTAL").get("errors")).longValue();
+        if (errors > 0) {
+            System.err.println(errors + " requests failed");
+            System.exit(1);
+        }
+    }
+
+    // h2 프로필 (+ loadTest.profiles, 예: replica) + 임의 포트. 앱 로그는 WARN 이상만
+    private static ConfigurableApplicationContext startApplication(String profiles) {
+        SpringApplication application = new SpringApplication(BackendBasic2Application.class);
+        application.setAdditionalProfiles(("h2," + profiles).split(","));
+        return application.run("--server.port=0", "--logging.level.root=WARN");
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private static void print(Map<String, Map<String, Object>> endpoints) {
+        System.out.printf("%-36s %8s %7s %10s %9s %9s %9s%n", "endpoint", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)");
+        endpoints.forEach((endpoint, summary) -> System.out.printf("%-36s %8s %7s %10s %9s %9s %9s%n", endpoint,
+                summary.get("count"), summary.get("errors"), summary.get("throughputPerSec"),
+                summary.get("p50Ms"), summary.get("p95Ms"), summary.get("p99Ms")));
+    }
+}
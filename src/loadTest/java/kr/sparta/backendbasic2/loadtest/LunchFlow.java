@@ -0,0 +1,116 @@
+package kr.sparta.backendbasic2.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// 가상 사용자 한 명이 반복하는 흐름 (backend-basic-2-postman-collection.json 순서)
+// 로그인 -> 토큰 갱신 -> 라운드 생성 -> 메뉴 추가 -> 목록 / 단건 조회 -> 수정 -> 삭제
+// 라운드를 매번 지우므로 오래 돌려도 데이터 양(목록 크기)이 늘지 않는다
+final class LunchFlow {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final LocalDate FIRST_DATE = LocalDate.of(2030, 1, 1);
+    private static final List<String> MENUS = List.of("김치찌개", "된장찌개", "제육볶음");
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String userId;
+    private int iteration;
+
+    LunchFlow(HttpClient client, ObjectMapper objectMapper, String baseUrl, String userId) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.userId = userId;
+    }
+
+    // 한 바퀴. 중간에 실패하면 그 뒤 요청은 건너뛴다 (실패는 recorder 에 error 로 기록됨)
+    void run(LatencyRecorder recorder) throws InterruptedException {
+        // 같은 사용자가 같은 날짜의 라운드를 두 번 만들 수 없으므로 반복마다 날짜를 바꾼다
+        String date = FIRST_DATE.plusDays(iteration++).toString();
+        try {
+            JsonNode tokens = send(recorder, "POST /auth/login", "/auth/login", "POST", Map.of("userId", userId), null);
+            tokens = send(recorder, "POST /auth/refresh", "/auth/refresh", "POST",
+                    Map.of("refreshToken", tokens.path("refreshToken").asText()), null);
+            String token = tokens.path("accessToken").asText();
+
+            JsonNode round = send(recorder, "POST /lunch-rounds", "/lunch-rounds", "POST",
+                    Map.of("date", date, "status", "PLANNING"), token);
+            long roundId = round.path("id").asLong();
+            long teamId = round.path("teamId").asLong();
+
+            long optionId = 0;
+            for (String menu : MENUS) {
+                JsonNode option = send(recorder, "POST /menu-options/{roundId}", "/menu-options/" + roundId, "POST",
+                        Map.of("menu", menu, "type", "MAIN", "price", 8000), token);
+                optionId = option.path("id").asLong();
+            }
+
+            send(recorder, "GET /lunch-rounds", "/lunch-rounds", "GET", null, token);
+            send(recorder, "GET /lunch-rounds/{id}", "/lunch-rounds/" + roundId, "GET", null, token);
+            send(recorder, "GET /menu-options", "/menu-options", "GET", null, token);
+            send(recorder, "GET /menu-options/{roundId}", "/menu-options/" + roundId, "GET", null, token);
+            send(recorder, "GET /menu-options/option/{id}", "/menu-options/option/" + optionId, "GET", null, token);
+
+            send(recorder, "PUT /menu-options/{id}", "/menu-options/" + optionId, "PUT",
+                    Map.of("menu", "부대찌개", "type", "MAIN", "price", 9000), token);
+            send(recorder, "PUT /lunch-rounds/{id}", "/lunch-rounds/" + roundId, "PUT",
+                    Map.of("date", date, "status", "CONFIRMED", "teamId", teamId), token);
+            send(recorder, "PATCH /lunch-rounds/{id}/status", "/lunch-rounds/" + roundId + "/status?status=CONFIRMED",
+                    "PATCH", null, token);
+
+            send(recorder, "DELETE /menu-options/{id}", "/menu-options/" + optionId, "DELETE", null, token);
+            send(recorder, "DELETE /lunch-rounds/{id}", "/lunch-rounds/" + roundId, "DELETE", null, token);
+        } catch (FlowFailedException e) {
+            // 이미 기록됨 - 다음 반복에서 새 날짜로 다시 시작
+        }
+    }
+
+    private JsonNode send(LatencyRecorder recorder, String endpoint, String path, String method,
+                          Object body, String token) throws InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body == null) {
+                builder.method(method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                builder.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            }
+            HttpRequest request = builder.build();
+
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+
+            if (response.statusCode() >= 400) {
+                recorder.error(endpoint);
+                throw new FlowFailedException();
+            }
+            recorder.success(endpoint, elapsed);
+            return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            recorder.error(endpoint);
+            throw new FlowFailedException();
+        }
+    }
+
+    private static final class FlowFailedException extends RuntimeException {
+        private FlowFailedException() {
+            super(null, null, false, false);
+        }
+    }
+}
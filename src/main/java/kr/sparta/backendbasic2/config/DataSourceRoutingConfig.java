@@ -0,0 +1,120 @@
+package kr.sparta.backendbasic2.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// datasource-routing.enabled=true 일 때만 - 서비스의 @Transactional(readOnly = true) 조회를 복제본으로 보낸다
+//  - primary: spring.datasource.*, 복제본: datasource-routing.replica-urls (계정은 primary 와 같음)
+//  - 풀 설정은 둘 다 spring.datasource.hikari.* 를 따르고, 복제본 풀은 readOnly 커넥션
+//  - 복제본이 내려가 있어도 앱은 뜨고 (health check 에서 제외), 복구되면 다시 사용
+@Configuration
+@ConditionalOnProperty(name = "datasource-routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public DataSourceRoutingConfig(DataSourceProperties properties,
+                                   Environment environment,
+                                   @Value("${datasource-routing.replica-urls:}") List<String> replicaUrls,
+                                   @Value("${datasource-routing.sticky-window:3s}") Duration stickyWindow,
+                                   @Value("${datasource-routing.replica-connection-timeout:1s}") Duration replicaConnectionTimeout) {
+        HikariDataSource primary = pool(properties, environment, properties.determineUrl(), "primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = pool(properties, environment, replicaUrls.get(i).trim(), "replica-" + (i + 1));
+            replica.setReadOnly(true);
+            // 복제본이 응답하지 않으면 오래 기다리지 않고 primary 로 넘긴다
+            replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        this.routingDataSource = new ReplicaRoutingDataSource(primary, replicas, stickyWindow);
+        routingDataSource.checkReplicas();
+    }
+
+    // 트랜잭션이 시작될 때가 아니라 첫 SQL 을 실행할 때 커넥션을 얻는다 (그때는 readOnly 여부가 정해져 있음)
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // 쓰기 트랜잭션이 커밋되면 그 사용자의 읽기를 sticky-window 동안 primary 로 (read-your-writes)
+    // 트랜잭션 매니저에 등록된다 (스프링 부트가 TransactionExecutionListener 빈을 붙여줌)
+    @Bean
+    public TransactionExecutionListener stickyWriterListener() {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (commitFailure == null && !transaction.isReadOnly()) {
+                    routingDataSource.stickCurrentUser();
+                }
+            }
+        };
+    }
+
+    // OSIV 로 한 요청 안에서 EntityManager 가 이어져도 트랜잭션이 끝나면 커넥션을 돌려준다
+    // (읽기 트랜잭션에서 얻은 복제본 커넥션을 다음 쓰기 트랜잭션이 이어 쓰지 않도록)
+    // 이 설정 클래스와 같이 라우팅을 켰을 때만 적용된다 (끄면 Hibernate 기본 커넥션 관리 그대로)
+    @Bean
+    @ConditionalOnProperty(name = "datasource-routing.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // datasource.replicas.healthy + 풀별 hikaricp.* (pool=primary | replica-N)
+    @Bean
+    public MeterBinder replicaRoutingMetrics() {
+        return registry -> {
+            Gauge.builder("datasource.replicas.healthy", routingDataSource, ReplicaRoutingDataSource::healthyReplicaCount)
+                    .register(registry);
+            routingDataSource.pools().forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${datasource-routing.health-check-interval:5s}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicas();
+    }
+
+    @PreDestroy
+    public void close() {
+        routingDataSource.close();
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment, String url, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
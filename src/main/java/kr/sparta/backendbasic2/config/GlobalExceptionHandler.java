@@ -1,5 +1,8 @@
 package kr.sparta.backendbasic2.config;
 
+import kr.sparta.backendbasic2.exception.DuplicateResourceException;
+import kr.sparta.backendbasic2.exception.InvalidTokenException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -21,4 +24,35 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
+
+    @ExceptionHandler(DuplicateResourceException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicate(DuplicateResourceException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "이미 존재하는 데이터입니다");
+        response.put("message", e.getMessage());
+        response.put("status", "409");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidToken(InvalidTokenException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "유효하지 않은 토큰입니다");
+        response.put("message", e.getMessage());
+        response.put("status", "401");
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    }
+
+    // 서비스에서 따로 변환하지 않은 제약조건 위반 (예: 수정 시 unique 충돌)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "데이터 제약조건 위반입니다");
+        response.put("message", "중복되었거나 존재하지 않는 데이터를 참조합니다");
+        response.put("status", "409");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
 }
\ No newline at end of file
@@ -1,13 +1,21 @@
 package kr.sparta.backendbasic2.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import kr.sparta.backendbasic2.serivce.CustomUserService;
 import kr.sparta.backendbasic2.serivce.JwtTokenProvider;
+import kr.sparta.backendbasic2.serivce.TokenRevocationList;
+import kr.sparta.backendbasic2.serivce.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -18,10 +26,20 @@ import java.io.IOException;
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
+public class JwtAuthenticationFilter extends OncePerRequestFilter implements MeterBinder {
 
     private final JwtTokenProvider jwtProvider;
     private final CustomUserService userService;
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
+
+    // true 면 DB 조회 없이 JWT 클레임만으로 principal 을 만든다
+    @Value("${auth.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
+    // auth.principal.lookup: 캐시 포함 principal 조회 전체, auth.user.load: 캐시 miss 로 DB 에서 읽은 경우만
+    private volatile Timer principalLookupTimer = principalLookupTimer(new CompositeMeterRegistry());
+    private volatile Timer userLoadTimer = userLoadTimer(new CompositeMeterRegistry());
 
     //controller에 가기 전에
     //jwt가 유효한지를 판별하는거에요.
@@ -44,14 +62,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                String userId = jwtProvider.parse(token).getSubject();
-                var user = userService.loadUserByUsername(userId);
-
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(
-                                user, null, user.getAuthorities()
-                        );
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                Claims claims = jwtProvider.parse(token);
+                // 로그아웃 등으로 폐기된 토큰, 삭제된 사용자의 토큰, access 토큰 자리에 온 refresh 토큰은 거절 (메모리에서만 확인)
+                if (revocationList.isRevoked(claims.getId())
+                        || revocationList.isRevoked(claims.getSubject(), claims.getIssuedAt())
+                        || JwtTokenProvider.REFRESH_TOKEN_TYPE.equals(claims.get(JwtTokenProvider.TOKEN_TYPE_CLAIM))) {
+                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
+                    return;
+                }
+                SecurityContextHolder.getContext().setAuthentication(authenticate(claims));
             } catch (Exception e) {
                 System.out.println(e);
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
@@ -60,4 +79,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken authenticate(Claims claims) {
+        if (statelessPrincipal) {
+            JwtPrincipal principal = JwtPrincipal.from(claims);
+            return new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+        }
+
+        // 캐시에 없을 때만 DB 조회
+        JwtPrincipal principal = principalLookupTimer.record(() -> principalCache.get(claims.getSubject(),
+                userId -> userLoadTimer.record(() -> userService.loadUserByUsername(userId))));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        principalLookupTimer = principalLookupTimer(registry);
+        userLoadTimer = userLoadTimer(registry);
+    }
+
+    private static Timer principalLookupTimer(MeterRegistry registry) {
+        return Timer.builder("auth.principal.lookup").description("JWT 필터의 사용자 조회 (캐시 포함)").register(registry);
+    }
+
+    private static Timer userLoadTimer(MeterRegistry registry) {
+        return Timer.builder("auth.user.load").description("principal 캐시 miss 시 DB 조회").register(registry);
+    }
+
+    void setStatelessPrincipal(boolean statelessPrincipal) {
+        this.statelessPrincipal = statelessPrincipal;
+    }
 }
\ No newline at end of file
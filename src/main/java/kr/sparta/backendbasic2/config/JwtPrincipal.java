@@ -0,0 +1,62 @@
+package kr.sparta.backendbasic2.config;
+
+import io.jsonwebtoken.Claims;
+import kr.sparta.backendbasic2.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// stateless 모드에서 JWT 클레임만으로 만드는 가벼운 principal
+// 기본 모드에서도 DB 에서 읽은 User 를 이 형태로 바꿔서 캐시한다 (UserPrincipalCache)
+// Principal 을 구현하므로 authentication.getName() 은 그대로 userId 를 돌려준다.
+public record JwtPrincipal(String userId, Long teamId, List<GrantedAuthority> authorities) implements Principal {
+
+    public JwtPrincipal {
+        authorities = List.copyOf(authorities);
+    }
+
+    public static JwtPrincipal from(Claims claims) {
+        Number teamId = claims.get("teamId", Number.class);
+        return new JwtPrincipal(
+                claims.getSubject(),
+                teamId == null ? null : teamId.longValue(),
+                parseRoles(claims.get("roles"))
+        );
+    }
+
+    // team 은 lazy 프록시지만 id 는 프록시를 초기화하지 않고 읽힌다
+    public static JwtPrincipal from(User user) {
+        return new JwtPrincipal(
+                user.getUserId(),
+                user.getTeam() == null ? null : user.getTeam().getId(),
+                List.copyOf(user.getAuthorities())
+        );
+    }
+
+    // roles 클레임은 ["ROLE_USER"] 형태, 예전에 발급된 토큰은 [{"authority":"ROLE_USER"}] 형태
+    private static List<GrantedAuthority> parseRoles(Object roles) {
+        if (!(roles instanceof Collection<?> values)) {
+            return List.of();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value instanceof Map<?, ?> map) {
+                value = map.get("authority");
+            }
+            if (value != null) {
+                authorities.add(new SimpleGrantedAuthority(value.toString()));
+            }
+        }
+        return authorities;
+    }
+
+    @Override
+    public String getName() {
+        return userId;
+    }
+}
@@ -0,0 +1,27 @@
+package kr.sparta.backendbasic2.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// /actuator/prometheus 로 나가는 메트릭 중 자동 설정되지 않는 것들
+//  - @Timed 메서드 타이머 (LunchRoundService, MenuOptionService)
+//  - 요청당 SQL 수 (SqlStatementCounter + SqlStatementCountFilter)
+// HikariCP (hikaricp.*), Hibernate Statistics (hibernate.*), http.server.requests 는 Spring Boot 가 자동으로 등록
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+}
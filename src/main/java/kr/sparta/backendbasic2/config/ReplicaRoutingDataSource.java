@@ -0,0 +1,167 @@
+package kr.sparta.backendbasic2.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import kr.sparta.backendbasic2.serivce.PrimaryRead;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// readOnly 트랜잭션 -> 복제본 (정상인 것들 중 round-robin), 나머지 -> primary
+//  - 복제본은 checkReplicas() 로 주기적으로 확인하고, 커넥션을 못 얻으면 바로 제외 + 이번 요청은 primary 로
+//  - read-your-writes: 사용자가 쓰기 트랜잭션을 커밋한 뒤 stickyWindow 동안은 그 사용자의 읽기도 primary 로
+//    (복제 지연 때문에 방금 만든 라운드가 목록에 안 보이는 일이 없도록)
+//    커밋은 트랜잭션 매니저의 리스너가 알려준다 (stickCurrentUser, DataSourceRoutingConfig)
+//  - 공유 캐시를 채우는 읽기 (PrimaryRead.run) 는 readOnly 여도 primary 로
+// 트랜잭션의 readOnly 여부는 커넥션을 실제로 얻을 때 보므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다 (DataSourceRoutingConfig)
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    // 최근에 쓰기를 커밋한 사용자 (stickyWindow 가 지나면 자동으로 빠짐)
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Duration stickyWindow) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.name(), replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // 커넥션을 어디서 얻을지 고르기만 한다 (트랜잭션에 아무것도 등록하지 않음)
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryRead.isActive()) {
+            return PRIMARY;
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return PRIMARY;
+        }
+        Replica replica = nextHealthyReplica();
+        return replica == null ? PRIMARY : replica.name();
+    }
+
+    // 고른 복제본에서 커넥션을 못 얻으면 그 복제본은 다음 health check 까지 제외하고 primary 로
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        Replica replica = replicas.stream().filter(r -> r.name().equals(key)).findFirst().orElseThrow();
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            replica.down(e);
+            return primary.getConnection();
+        }
+    }
+
+    // DataSourceRoutingConfig 에서 datasource-routing.health-check-interval 마다 호출
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(1)) {
+                    replica.up();
+                } else {
+                    replica.down(null);
+                }
+            } catch (SQLException e) {
+                replica.down(e);
+            }
+        }
+    }
+
+    public int healthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    List<HikariDataSource> pools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        pools.add(primary);
+        replicas.forEach(replica -> pools.add(replica.dataSource));
+        return pools;
+    }
+
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // 쓰기 트랜잭션이 커밋되면 그 사용자를 stickyWindow 동안 primary 에 붙인다
+    void stickCurrentUser() {
+        String user = currentUser();
+        if (user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+
+        private void up() {
+            if (!healthy) {
+                log.info("Replica {} is back", name());
+            }
+            healthy = true;
+        }
+
+        private void down(SQLException cause) {
+            if (healthy) {
+                log.warn("Replica {} is down, routing reads to primary", name(), cause);
+            }
+            healthy = false;
+        }
+    }
+}
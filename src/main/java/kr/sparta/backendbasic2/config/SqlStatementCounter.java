@@ -0,0 +1,31 @@
+package kr.sparta.backendbasic2.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate 가 실행하는 SQL 수를 요청(스레드) 단위로 센다
+// SqlStatementCountFilter 가 요청 시작 시 start, 끝날 때 stop 해서 메트릭으로 기록
+// 요청 밖(스케줄러 등)에서는 세지 않는다. JdbcTemplate 으로 직접 실행하는 SQL 은 포함되지 않는다.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    // 지금까지 센 수를 돌려주고 초기화 (start 없이 호출하면 0)
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -1,60 +1,41 @@
 package kr.sparta.backendbasic2.controller;
 
-import io.jsonwebtoken.Claims;
-import kr.sparta.backendbasic2.entity.User;
 import kr.sparta.backendbasic2.dto.AuthRequest;
 import kr.sparta.backendbasic2.dto.AuthResponse;
 import kr.sparta.backendbasic2.dto.RefreshRequest;
-import kr.sparta.backendbasic2.repository.UserRepository;
-import kr.sparta.backendbasic2.serivce.JwtTokenProvider;
+import kr.sparta.backendbasic2.serivce.AuthService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Collections;
-
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final UserRepository userRepo;
-    private final JwtTokenProvider jwt;
+    private final AuthService authService;
 
     @PostMapping("/login")
     public AuthResponse login(@RequestBody AuthRequest request) {
-        User user = userRepo.findByUserId(request.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        String accessToken = jwt.createAccessToken(createAuthentication(user.getUserId()));
-        String refreshToken = jwt.createRefreshToken(user.getUserId());
-
-        return new AuthResponse(accessToken, refreshToken);
+        return authService.login(request.getUserId());
     }
 
+    // refresh 토큰은 한 번만 사용 가능 - 응답의 새 refresh 토큰으로 교체해야 한다
     @PostMapping("/refresh")
     public AuthResponse refresh(@RequestBody RefreshRequest request) {
-        Claims claims = jwt.parse(request.getRefreshToken());
-        String userId = claims.getSubject();
-        User user = userRepo.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        String accessToken = jwt.createAccessToken(createAuthentication(userId));
-        String refreshToken = jwt.createRefreshToken(user.getUserId());
-
-        return new AuthResponse(accessToken, refreshToken);
+        return authService.refresh(request.getRefreshToken());
     }
 
-    private Authentication createAuthentication(String userId) {
-        return new UsernamePasswordAuthenticationToken(
-                userId,
-                null,
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
-        );
+    // Authorization 헤더의 access 토큰 + (있으면) 본문의 refresh 토큰을 폐기
+    @PostMapping("/logout")
+    public void logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                       @RequestBody(required = false) RefreshRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(accessToken, request == null ? null : request.getRefreshToken());
     }
-}
\ No newline at end of file
+}
@@ -1,48 +1,130 @@
 package kr.sparta.backendbasic2.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.sparta.backendbasic2.dto.CursorPage;
+import kr.sparta.backendbasic2.dto.LunchRoundExport;
 import kr.sparta.backendbasic2.dto.LunchRoundRequest;
+import kr.sparta.backendbasic2.dto.LunchRoundResponse;
 import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.serivce.LunchRoundEventHub;
 import kr.sparta.backendbasic2.serivce.LunchRoundService;
+import kr.sparta.backendbasic2.serivce.MenuOptionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/lunch-rounds")
 @RequiredArgsConstructor
 public class LunchRoundController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int EXPORT_FLUSH_EVERY = 100;
+
     private final LunchRoundService lunchRoundService;
+    private final MenuOptionService menuOptionService;
+    private final LunchRoundEventHub lunchRoundEventHub;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity<LunchRound> create(@RequestBody LunchRound round, Authentication authentication) {
+    public ResponseEntity<LunchRoundResponse> create(@RequestBody LunchRound round, Authentication authentication) {
         String userId = authentication.getName();
         var lunchRound =  lunchRoundService.createLunchRound(round, userId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(lunchRound);
+        return ResponseEntity.status(HttpStatus.CREATED).body(LunchRoundResponse.from(lunchRound));
     }
 
+    // GET /lunch-rounds?size=20&cursor=... (최신순 keyset 페이지)
+    // 전체 목록을 한 번에 주지 않는다 - size 가 없으면 CursorPage.DEFAULT_SIZE, 최대 CursorPage.MAX_SIZE
+    // If-None-Match 가 현재 ETag 와 같으면 목록을 읽지 않고 304
+    // ETag 를 본문보다 먼저 계산하므로 사이에 수정이 있어도 클라이언트는 다음 요청에서 다시 받게 된다
     @GetMapping
-    public List<LunchRound> list() {
-        return lunchRoundService.getAllLunchRounds();
+    public CursorPage<LunchRoundResponse> list(@RequestParam(defaultValue = "20") int size,
+                                               @RequestParam(required = false) String cursor,
+                                               WebRequest request) {
+        if (request.checkNotModified(lunchRoundService.getLunchRoundsEtag())) {
+            return null;
+        }
+        return lunchRoundService.getLunchRoundPage(cursor, size);
+    }
+
+    // 전체 라운드 + 메뉴 옵션을 한 줄에 라운드 하나씩 (application/x-ndjson) 응답 스트림에 바로 쓴다
+    @GetMapping("/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ObjectWriter writer = objectMapper.writerFor(LunchRoundExport.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = writer.createGenerator(response.getOutputStream())) {
+            int[] written = {0};
+            lunchRoundService.exportLunchRounds(round -> {
+                try {
+                    writer.writeValue(generator, round);
+                    generator.writeRaw('\n');
+                    if (++written[0] % EXPORT_FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     @GetMapping("/{id}")
-    public LunchRound getById(@PathVariable Long id) {
-        return lunchRoundService.getLunchRoundById(id);
+    public LunchRoundResponse getById(@PathVariable Long id, WebRequest request) {
+        String etag = lunchRoundService.getLunchRoundEtag(id);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        return lunchRoundService.getLunchRoundResponse(id);
+    }
+
+    // 폴링 대신 SSE - 메뉴 추가/수정/삭제, 라운드 상태 변경이 커밋되면 바로 전달
+    // resync 이벤트를 받으면 (너무 느려서 이벤트가 버려짐) GET 으로 다시 읽어야 한다
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable Long id) {
+        if (!lunchRoundService.existsById(id)) {
+            throw new RuntimeException("LunchRound not found with id: " + id);
+        }
+        return lunchRoundEventHub.subscribe(id);
     }
 
     @PutMapping("/{id}")
-    public LunchRound update(@PathVariable Long id, @RequestBody LunchRoundRequest round, Authentication authentication) {
+    public LunchRoundResponse update(@PathVariable Long id, @RequestBody LunchRoundRequest round, Authentication authentication) {
         String userId = authentication.getName();
-        return lunchRoundService.updateLunchRound(userId, id, round);
+        return LunchRoundResponse.from(lunchRoundService.updateLunchRound(userId, id, round));
+    }
+
+    // PATCH /lunch-rounds/{id}/status?status=VOTING - 상태만 변경 (round-status.write-behind.enabled 면 모아서 저장)
+    @PatchMapping("/{id}/status")
+    public LunchRoundResponse updateStatus(@PathVariable Long id, @RequestParam String status) {
+        return lunchRoundService.updateLunchRoundStatus(id, status);
     }
 
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
         lunchRoundService.deleteLunchRound(id);
     }
-}
\ No newline at end of file
+
+    // 라운드의 메뉴 옵션 전체 삭제 (메뉴 단건 삭제와 같이 관리자만)
+    @PreAuthorize("hasRole('admin')")
+    @DeleteMapping("/{id}/menu-options")
+    public void deleteMenuOptions(@PathVariable Long id) {
+        menuOptionService.deleteMenuOptionsByRoundId(id);
+    }
+}
@@ -1,5 +1,8 @@
 package kr.sparta.backendbasic2.controller;
 
+import kr.sparta.backendbasic2.dto.CursorPage;
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import kr.sparta.backendbasic2.dto.MenuSuggestion;
 import kr.sparta.backendbasic2.entity.MenuOption;
 import kr.sparta.backendbasic2.serivce.MenuOptionService;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +10,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,29 +22,55 @@ public class MenuOptionController {
     private final MenuOptionService menuOptionService;
 
     @PostMapping("/{roundId}")
-    public ResponseEntity<MenuOption> add(@PathVariable Long roundId, @RequestBody MenuOption option) {
+    public ResponseEntity<MenuOptionResponse> add(@PathVariable Long roundId, @RequestBody MenuOption option) {
         var menuOption = menuOptionService.addMenuOption(roundId, option);
-        return ResponseEntity.status(HttpStatus.CREATED).body(menuOption);
+        return ResponseEntity.status(HttpStatus.CREATED).body(MenuOptionResponse.from(menuOption));
     }
 
+    // 한 라운드에 메뉴 여러 개를 한 번에 추가 (JDBC 배치 insert)
+    @PostMapping("/{roundId}/batch")
+    public ResponseEntity<List<MenuOptionResponse>> addAll(@PathVariable Long roundId, @RequestBody List<MenuOption> options) {
+        var menuOptions = menuOptionService.addMenuOptions(roundId, options).stream()
+                .map(MenuOptionResponse::from)
+                .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(menuOptions);
+    }
+
+    // GET /menu-options?size=20&cursor=... (id 순 keyset 페이지)
+    // 전체 목록을 한 번에 주지 않는다 - size 가 없으면 CursorPage.DEFAULT_SIZE, 최대 CursorPage.MAX_SIZE
     @GetMapping
-    public List<MenuOption> listAll() {
-        return menuOptionService.getAllMenuOptions();
+    public CursorPage<MenuOptionResponse> page(@RequestParam(defaultValue = "20") int size,
+                                               @RequestParam(required = false) String cursor) {
+        return menuOptionService.getMenuOptionPage(cursor, size);
+    }
+
+    // GET /menu-options/suggest?q=김치&type=KOREAN&maxPrice=10000&limit=10 - 지난 라운드에서 쓴 메뉴 이름 자동완성
+    @GetMapping("/suggest")
+    public List<MenuSuggestion> suggest(@RequestParam String q,
+                                        @RequestParam(required = false) String type,
+                                        @RequestParam(required = false) Integer minPrice,
+                                        @RequestParam(required = false) Integer maxPrice,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        return menuOptionService.suggestMenus(q, type, minPrice, maxPrice, limit);
     }
 
+    // 폴링용 - 메뉴가 그대로면 version 집계 쿼리 한 번 + 빈 본문 304
     @GetMapping("/{roundId}")
-    public List<MenuOption> list(@PathVariable Long roundId) {
-        return menuOptionService.getMenuOptionsByRoundId(roundId);
+    public List<MenuOptionResponse> list(@PathVariable Long roundId, WebRequest request) {
+        if (request.checkNotModified(menuOptionService.getMenuOptionsEtag(roundId))) {
+            return null;
+        }
+        return menuOptionService.getMenuOptionResponses(roundId);
     }
 
     @GetMapping("/option/{id}")
-    public MenuOption getById(@PathVariable Long id) {
-        return menuOptionService.getMenuOptionById(id);
+    public MenuOptionResponse getById(@PathVariable Long id) {
+        return menuOptionService.getMenuOptionResponse(id);
     }
 
     @PutMapping("/{id}")
-    public MenuOption update(@PathVariable Long id, @RequestBody MenuOption option) {
-        return menuOptionService.updateMenuOption(id, option);
+    public MenuOptionResponse update(@PathVariable Long id, @RequestBody MenuOption option) {
+        return MenuOptionResponse.from(menuOptionService.updateMenuOption(id, option));
     }
 
     @PreAuthorize("hasRole('admin')")
@@ -48,4 +78,4 @@ public class MenuOptionController {
     public void delete(@PathVariable Long id) {
         menuOptionService.deleteMenuOption(id);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package kr.sparta.backendbasic2.controller;
+
+import kr.sparta.backendbasic2.dto.CursorPage;
+import kr.sparta.backendbasic2.dto.LunchRoundResponse;
+import kr.sparta.backendbasic2.dto.TeamStats;
+import kr.sparta.backendbasic2.serivce.LunchRoundService;
+import kr.sparta.backendbasic2.serivce.TeamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/teams")
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamService teamService;
+    private final LunchRoundService lunchRoundService;
+
+    // GET /teams/{teamId}/lunch-rounds?from=2024-01-01&to=2024-03-31&size=20&cursor=... (최신순 keyset 페이지)
+    // from / to 는 포함, 생략하면 그쪽으로는 제한 없음
+    @GetMapping("/{teamId}/lunch-rounds")
+    public CursorPage<LunchRoundResponse> lunchRounds(@PathVariable Long teamId,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      @RequestParam(defaultValue = "20") int size,
+                                                      @RequestParam(required = false) String cursor) {
+        return lunchRoundService.getTeamLunchRoundPage(teamId, from, to, cursor, size);
+    }
+
+    // GET /teams/{id}/stats?weeks=12&top=10 - 주별 라운드 수, 메뉴 type 별 가격 (평균 / p50 / p90), 자주 나온 메뉴
+    @GetMapping("/{id}/stats")
+    public TeamStats stats(@PathVariable Long id,
+                           @RequestParam(defaultValue = "12") int weeks,
+                           @RequestParam(defaultValue = "10") int top) {
+        return teamService.getTeamStats(id, weeks, top);
+    }
+
+    // 팀과 팀의 사용자 / 라운드 / 메뉴 옵션 / 투표를 모두 삭제
+    @PreAuthorize("hasRole('admin')")
+    @DeleteMapping("/{id}")
+    public void delete(@PathVariable Long id) {
+        teamService.deleteTeam(id);
+    }
+}
@@ -0,0 +1,29 @@
+package kr.sparta.backendbasic2.controller;
+
+import jakarta.validation.Valid;
+import kr.sparta.backendbasic2.dto.VoteRequest;
+import kr.sparta.backendbasic2.dto.VoteTally;
+import kr.sparta.backendbasic2.serivce.MenuVoteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/lunch-rounds/{roundId}/votes")
+@RequiredArgsConstructor
+public class VoteController {
+
+    private final MenuVoteService menuVoteService;
+
+    // 내 표 (다시 보내면 다른 메뉴로 변경)
+    @PutMapping
+    public VoteTally vote(@PathVariable Long roundId, @Valid @RequestBody VoteRequest request, Authentication authentication) {
+        return menuVoteService.vote(roundId, authentication.getName(), request.menuOptionId());
+    }
+
+    // 실시간 집계 - 메모리에서 바로 응답
+    @GetMapping
+    public VoteTally tally(@PathVariable Long roundId) {
+        return menuVoteService.getTally(roundId);
+    }
+}
@@ -0,0 +1,46 @@
+package kr.sparta.backendbasic2.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// keyset 페이지 응답. nextCursor 가 null 이면 마지막 페이지
+// 커서는 클라이언트 입장에서 불투명한 문자열 (내부적으로는 마지막 행의 정렬 키를 base64url 로 인코딩)
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    // rows 는 size + 1 건까지 조회한 결과. 한 건이 더 있으면 다음 커서를 만든다
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> keyOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(List.copyOf(items), encodeCursor(keyOf.apply(items.get(size - 1))));
+    }
+
+    public static String encodeCursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    public static ResponseStatusException invalidCursor(String cursor) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+    }
+}
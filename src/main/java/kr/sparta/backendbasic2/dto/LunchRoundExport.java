@@ -0,0 +1,15 @@
+package kr.sparta.backendbasic2.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// NDJSON export 한 줄 = 라운드 하나 + 그 라운드의 메뉴 옵션들
+public record LunchRoundExport(
+        Long id,
+        LocalDate date,
+        String status,
+        Long teamId,
+        String creatorId,
+        List<MenuOptionResponse> menuOptions
+) {
+}
@@ -0,0 +1,17 @@
+package kr.sparta.backendbasic2.dto;
+
+import java.time.LocalDate;
+
+// export 쿼리의 한 행 (라운드 x 메뉴 옵션 left join). 메뉴가 없는 라운드는 option 컬럼이 null
+public record LunchRoundExportRow(
+        Long roundId,
+        LocalDate date,
+        String status,
+        Long teamId,
+        String creatorId,
+        Long optionId,
+        String menu,
+        String type,
+        Integer price
+) {
+}
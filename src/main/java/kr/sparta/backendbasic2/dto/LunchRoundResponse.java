@@ -0,0 +1,33 @@
+package kr.sparta.backendbasic2.dto;
+
+import kr.sparta.backendbasic2.entity.LunchRound;
+
+import java.time.LocalDate;
+
+// 라운드 조회 응답. 엔티티 대신 내려서 LAZY 연관관계(team, creator, menuOptions)를 Jackson 이 건드리지 않게 한다
+public record LunchRoundResponse(
+        Long id,
+        LocalDate date,
+        String status,
+        Long teamId,
+        String teamName,
+        String creatorId
+) {
+
+    public LunchRoundResponse withStatus(String status) {
+        return new LunchRoundResponse(id, date, status, teamId, teamName, creatorId);
+    }
+
+    public static LunchRoundResponse from(LunchRound round) {
+        var team = round.getTeam();
+        var creator = round.getCreator();
+        return new LunchRoundResponse(
+                round.getId(),
+                round.getDate(),
+                round.getStatus(),
+                team == null ? null : team.getId(),
+                team == null ? null : team.getName(),
+                creator == null ? null : creator.getUserId()
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package kr.sparta.backendbasic2.dto;
+
+import kr.sparta.backendbasic2.entity.MenuOption;
+
+// 메뉴 옵션 조회 응답 (round 는 id 만)
+public record MenuOptionResponse(
+        Long id,
+        String menu,
+        String type,
+        Integer price,
+        Long roundId
+) {
+
+    public static MenuOptionResponse from(MenuOption option) {
+        var round = option.getRound();
+        return new MenuOptionResponse(
+                option.getId(),
+                option.getMenu(),
+                option.getType(),
+                option.getPrice(),
+                round == null ? null : round.getId()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package kr.sparta.backendbasic2.dto;
+
+// GET /menu-options/suggest 응답 한 줄
+// type / price 는 이 이름으로 가장 많이 등록된 조합 (메뉴 추가 폼 기본값용), count 는 조건에 맞는 등록 횟수
+public record MenuSuggestion(
+        String menu,
+        String type,
+        Integer price,
+        long count
+) {
+}
@@ -0,0 +1,25 @@
+package kr.sparta.backendbasic2.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// 팀 대시보드 - 주별 라운드 수 (최근 주부터, 라운드가 없는 주는 빠짐), 메뉴 type 별 가격, 자주 나온 메뉴
+public record TeamStats(
+        Long teamId,
+        long rounds,
+        List<WeekCount> roundsPerWeek,
+        List<PriceStats> priceByType,
+        List<MenuCount> topMenus
+) {
+
+    // weekStart: 월요일
+    public record WeekCount(LocalDate weekStart, long rounds) {
+    }
+
+    // 가격이 있는 메뉴 옵션만. 백분위는 nearest-rank
+    public record PriceStats(String type, long options, long average, int p50, int p90, int min, int max) {
+    }
+
+    public record MenuCount(String menu, long count) {
+    }
+}
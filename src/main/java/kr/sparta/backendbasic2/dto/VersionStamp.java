@@ -0,0 +1,16 @@
+package kr.sparta.backendbasic2.dto;
+
+// 목록 ETag 계산용 - 행 수, 가장 큰 id, version 합계 (엔티티를 읽지 않는 집계 쿼리 한 번)
+// version 은 수정할 때마다 커지고 id 는 새 행마다 커지므로
+// 추가 -> max id, 수정 -> version 합계, 삭제 -> 행 수 중 하나는 반드시 바뀐다.
+// (max(version) 만 보면 version 이 낮은 행의 수정을 놓친다)
+public record VersionStamp(Long count, Long maxId, Long versionSum) {
+
+    public String etag(String prefix) {
+        return prefix + "-" + count + "-" + valueOf(maxId) + "-" + valueOf(versionSum);
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,10 @@
+package kr.sparta.backendbasic2.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record VoteRequest(
+
+        @NotNull(message = "메뉴 옵션 id 는 필수입니다")
+        Long menuOptionId
+
+) {}
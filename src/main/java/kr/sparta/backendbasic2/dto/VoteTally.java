@@ -0,0 +1,10 @@
+package kr.sparta.backendbasic2.dto;
+
+import java.util.Map;
+
+// 라운드 투표 현황 - 메뉴 옵션 id -> 득표 수 (0표인 메뉴는 빠짐)
+public record VoteTally(
+        Long roundId,
+        Map<Long, Long> counts,
+        long total
+) {}
@@ -9,10 +9,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "lunch_round")
+@Table(name = "lunch_round", indexes = {
+        @Index(name = "idx_lunch_round_date_id", columnList = "date, id"),
+        // 팀 + 날짜 범위 조회 (GET /teams/{teamId}/lunch-rounds). (team_id, date, id) 순서로 정렬된 채 읽고
+        // 뒤의 status, creator_id 까지 인덱스에 있어서 lunch_round 행은 읽지 않는다 (lunch_round 만 커버링 - team / user 는 PK 조인)
+        @Index(name = "idx_lunch_round_team_date", columnList = "team_id, date, id, status, creator_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = LunchRound.UK_CREATOR_DATE, columnNames = {"creator_id", "date"})
+})
 @Getter
 @Setter
 public class LunchRound {
+
+    // 한 사용자는 하루에 라운드 하나만 만들 수 있다
+    public static final String UK_CREATOR_DATE = "uk_lunch_round_creator_date";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,6 +31,11 @@ public class LunchRound {
     private LocalDate date;
     private String status;
 
+    // 낙관적 락 + ETag 용. 수정될 때마다 Hibernate 가 1씩 올린다
+    // null 이면 버전을 올리지 못하므로 primitive + not null (기존 행은 V4 마이그레이션에서 0)
+    @Version
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
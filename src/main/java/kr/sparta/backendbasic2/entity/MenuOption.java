@@ -5,10 +5,19 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "menu_option")
+@Table(name = "menu_option", uniqueConstraints = {
+        @UniqueConstraint(name = MenuOption.UK_ROUND_MENU, columnNames = {"round_id", "menu"})
+})
 @Getter
 @Setter
 public class MenuOption {
+
+    // 한 라운드에 같은 메뉴는 하나만
+    public static final String UK_ROUND_MENU = "uk_menu_option_round_menu";
+    // 없는 라운드에 추가하면 위반 (V1 마이그레이션과 같은 이름)
+    public static final String FK_ROUND = "fk_menu_option_round";
+
+    // 일괄 추가는 Hibernate 대신 JDBC 배치로 insert 한다 (MenuOptionBatchRepository)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -17,8 +26,13 @@ public class MenuOption {
     private String type;
     private Integer price;
 
+    // 낙관적 락 + ETag 용. 수정될 때마다 Hibernate 가 1씩 올린다
+    // null 이면 버전을 올리지 못하므로 primitive + not null (기존 행은 V4 마이그레이션에서 0)
+    @Version
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "round_id")
+    @JoinColumn(name = "round_id", foreignKey = @ForeignKey(name = MenuOption.FK_ROUND))
     private LunchRound round;
 
 }
\ No newline at end of file
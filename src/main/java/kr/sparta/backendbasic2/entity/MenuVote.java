@@ -0,0 +1,50 @@
+package kr.sparta.backendbasic2.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// 메뉴 투표 - 한 사용자는 라운드마다 한 표 (바꾸면 menu_option_id 만 갱신)
+// 투표 요청은 메모리에서 집계하고 MenuVoteService 가 JdbcTemplate 배치로 모아서 쓰므로
+// 이 엔티티는 스키마 정의용. 값은 id 컬럼으로만 쓰고, 연관관계는 FK (on delete cascade) 를 만들기 위한 읽기 전용
+@Entity
+@Table(name = "menu_vote", uniqueConstraints = {
+        @UniqueConstraint(name = MenuVote.UK_ROUND_VOTER, columnNames = {"round_id", "voter_id"})
+}, indexes = {
+        @Index(name = "idx_menu_vote_menu_option", columnList = "menu_option_id")
+})
+@Getter
+@Setter
+public class MenuVote {
+
+    public static final String UK_ROUND_VOTER = "uk_menu_vote_round_voter";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "round_id", nullable = false)
+    private Long roundId;
+
+    // user.user_id (로그인 아이디)
+    @Column(name = "voter_id", nullable = false)
+    private String voterId;
+
+    @Column(name = "menu_option_id", nullable = false)
+    private Long menuOptionId;
+
+    // 메뉴 / 라운드가 지워지면 DB 가 표도 지운다 (V5 마이그레이션과 같은 제약)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "round_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_menu_vote_round"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private LunchRound round;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "menu_option_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_menu_vote_menu_option"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private MenuOption menuOption;
+}
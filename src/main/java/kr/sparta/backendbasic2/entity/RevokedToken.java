@@ -0,0 +1,59 @@
+package kr.sparta.backendbasic2.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// 폐기된 토큰 (사용한 refresh 토큰, 로그아웃한 access / refresh 토큰)
+// allTokens 면 토큰 하나가 아니라 그 사용자에게 revokedAt 이전에 발급된 토큰 전부 (팀 삭제로 사용자가 지워진 경우)
+// 요청마다 조회하지 않고 TokenRevocationList 가 메모리에 들고 있다. 이 테이블은 재시작 / 다른 인스턴스용
+// 토큰이 만료되면 기록도 필요 없으므로 expires_at 이 지나면 지운다 (AuthService.purgeExpiredRevocations)
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RevokedToken implements Persistable<String> {
+
+    // 토큰의 jti
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "all_tokens", nullable = false)
+    private boolean allTokens;
+
+    public RevokedToken(String jti, String userId, Instant expiresAt, Instant revokedAt) {
+        this.jti = jti;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    // 항상 insert (merge 의 select 없이) - 같은 jti 를 두 번 폐기하면 PK 충돌로 알 수 있다
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package kr.sparta.backendbasic2.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+// 팀 통계(GET /teams/{id}/stats)용 카운터 - 팀마다 (kind, stat_key, price) 별 개수
+//  - TOTAL: stat_key = '', 날짜가 있는 라운드 수 (WEEK 는 최근 주만 남기므로 따로)
+//  - WEEK : stat_key = 주 시작일(월요일, yyyy-MM-dd), 그 주의 라운드 수
+//  - PRICE: stat_key = 메뉴 type, price = 가격, 그 가격의 메뉴 옵션 수 (평균 / 백분위 계산용)
+//  - MENU : stat_key = 메뉴 이름, 메뉴 옵션 수
+// TeamLunchStats 가 메모리에서 집계하고 JdbcTemplate 배치로 변경분만 쓰므로 이 엔티티는 스키마 정의용
+@Entity
+@Table(name = "team_stat_counter", uniqueConstraints = {
+        @UniqueConstraint(name = TeamStatCounter.UK_TEAM_COUNTER, columnNames = {"team_id", "kind", "stat_key", "price"})
+})
+@Getter
+@Setter
+public class TeamStatCounter {
+
+    public static final String UK_TEAM_COUNTER = "uk_team_stat_counter";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "kind", nullable = false, length = 8)
+    private String kind;
+
+    @Column(name = "stat_key", nullable = false)
+    private String statKey;
+
+    // PRICE 에서만 사용 (나머지는 0)
+    @Column(name = "price", nullable = false)
+    private int price;
+
+    @Column(name = "cnt", nullable = false)
+    private long cnt;
+}
@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "user")
+@EntityListeners(UserEntityListener.class)
 @Getter
 @Setter
 public class User implements UserDetails {
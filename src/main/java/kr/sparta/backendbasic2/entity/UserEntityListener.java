@@ -0,0 +1,22 @@
+package kr.sparta.backendbasic2.entity;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import kr.sparta.backendbasic2.serivce.UserPrincipalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// User 의 role / team 이 바뀌거나 삭제되면 인증 캐시에서 지운다.
+// (Spring Boot 가 Hibernate 에 SpringBeanContainer 를 넣어주기 때문에 빈 주입이 가능)
+@Component
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final UserPrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        principalCache.evict(user.getUserId());
+    }
+}
@@ -0,0 +1,49 @@
+package kr.sparta.backendbasic2.event;
+
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// 라운드에 생긴 변경 - 서비스가 발행하고, 커밋된 뒤에 SSE 구독자에게 전달된다
+// name 은 SSE event 이름, data 는 JSON 으로 직렬화되는 본문
+public record LunchRoundEvent(Long roundId, String name, Object data) {
+
+    public static final String MENU_OPTION_ADDED = "menu-option-added";
+    public static final String MENU_OPTION_UPDATED = "menu-option-updated";
+    public static final String MENU_OPTION_DELETED = "menu-option-deleted";
+    // 라운드의 메뉴 옵션을 한 번에 모두 삭제 (옵션마다 deleted 이벤트를 보내지 않는다)
+    public static final String MENU_OPTIONS_CLEARED = "menu-options-cleared";
+    public static final String ROUND_UPDATED = "round-updated";
+    public static final String ROUND_DELETED = "round-deleted";
+    // 느린 클라이언트의 버퍼가 넘쳐서 이벤트를 버렸음 -> 클라이언트가 GET 으로 다시 읽어야 함
+    public static final String RESYNC = "resync";
+
+    public static LunchRoundEvent menuOptionAdded(MenuOptionResponse option) {
+        return new LunchRoundEvent(option.roundId(), MENU_OPTION_ADDED, option);
+    }
+
+    public static LunchRoundEvent menuOptionUpdated(MenuOptionResponse option) {
+        return new LunchRoundEvent(option.roundId(), MENU_OPTION_UPDATED, option);
+    }
+
+    public static LunchRoundEvent menuOptionDeleted(Long roundId, Long optionId) {
+        return new LunchRoundEvent(roundId, MENU_OPTION_DELETED, Map.of("id", optionId, "roundId", roundId));
+    }
+
+    public static LunchRoundEvent menuOptionsCleared(Long roundId) {
+        return new LunchRoundEvent(roundId, MENU_OPTIONS_CLEARED, Map.of("roundId", roundId));
+    }
+
+    public static LunchRoundEvent roundUpdated(Long roundId, LocalDate date, String status) {
+        return new LunchRoundEvent(roundId, ROUND_UPDATED, Map.of("id", roundId, "date", String.valueOf(date), "status", String.valueOf(status)));
+    }
+
+    public static LunchRoundEvent roundDeleted(Long roundId) {
+        return new LunchRoundEvent(roundId, ROUND_DELETED, Map.of("id", roundId));
+    }
+
+    public static LunchRoundEvent resync(Long roundId) {
+        return new LunchRoundEvent(roundId, RESYNC, Map.of("roundId", roundId));
+    }
+}
@@ -0,0 +1,29 @@
+package kr.sparta.backendbasic2.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+// unique 제약조건 위반 -> 409 Conflict (GlobalExceptionHandler)
+public class DuplicateResourceException extends RuntimeException {
+
+    public DuplicateResourceException(String message) {
+        super(message);
+    }
+
+    public DuplicateResourceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    // DB 가 알려준 제약조건 이름으로 어떤 제약을 위반했는지 확인 (DB 마다 대소문자가 달라서 무시하고 비교)
+    public static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(constraintName.toLowerCase())) {
+                return true;
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(constraintName.toLowerCase());
+    }
+}
@@ -0,0 +1,13 @@
+package kr.sparta.backendbasic2.exception;
+
+// 잘못되었거나 이미 사용 / 폐기된 토큰 -> 401 Unauthorized (GlobalExceptionHandler)
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+
+    public InvalidTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package kr.sparta.backendbasic2.repository;
+
+import kr.sparta.backendbasic2.dto.LunchRoundExportRow;
+
+import java.util.stream.Stream;
+
+// LunchRoundRepository 의 export 조회 - JPA 쿼리 힌트로는 DB 별 fetch size 를 줄 수 없어서 JdbcTemplate 으로 구현
+public interface LunchRoundExportRepository {
+
+    // 라운드 순으로 정렬해서 같은 라운드의 행이 붙어서 나오게 한다.
+    // 트랜잭션 안에서 소비해야 하고, 반드시 close 할 것 (try-with-resources)
+    Stream<LunchRoundExportRow> streamExportRows();
+}
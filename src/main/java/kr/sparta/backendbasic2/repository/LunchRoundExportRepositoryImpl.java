@@ -0,0 +1,49 @@
+package kr.sparta.backendbasic2.repository;
+
+import kr.sparta.backendbasic2.dto.LunchRoundExportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+// MySQL Connector/J 는 fetch size 를 무시하고 결과 전체를 메모리에 받는다 (URL 의 useCursorFetch 는 모든 쿼리에 적용됨)
+// 그래서 이 쿼리에만 fetch size = Integer.MIN_VALUE 로 행 단위 스트리밍을 켠다.
+// 스트리밍 중에는 같은 커넥션으로 다른 쿼리를 실행할 수 없다 - export 는 이 쿼리 하나만 실행한다
+@RequiredArgsConstructor
+public class LunchRoundExportRepositoryImpl implements LunchRoundExportRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String EXPORT_SQL = """
+            select r.id, r.date, r.status, r.team_id, c.user_id, o.id, o.menu, o.type, o.price
+            from lunch_round r
+                left join user c on c.id = r.creator_id
+                left join menu_option o on o.round_id = r.id
+            order by r.id, o.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Stream<LunchRoundExportRow> streamExportRows() {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            boolean mysql = "MySQL".equals(connection.getMetaData().getDatabaseProductName());
+            statement.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+            return statement;
+        }, (rs, rowNum) -> new LunchRoundExportRow(
+                rs.getLong(1),
+                rs.getObject(2, LocalDate.class),
+                rs.getString(3),
+                rs.getObject(4, Long.class),
+                rs.getString(5),
+                rs.getObject(6, Long.class),
+                rs.getString(7),
+                rs.getString(8),
+                rs.getObject(9, Integer.class)));
+    }
+}
@@ -1,14 +1,101 @@
 package kr.sparta.backendbasic2.repository;
 
+import kr.sparta.backendbasic2.dto.LunchRoundResponse;
+import kr.sparta.backendbasic2.dto.VersionStamp;
 import kr.sparta.backendbasic2.entity.LunchRound;
 import kr.sparta.backendbasic2.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
-public interface LunchRoundRepository extends JpaRepository<LunchRound, Long> {
+public interface LunchRoundRepository extends JpaRepository<LunchRound, Long>, LunchRoundExportRepository {
     List<LunchRound> findByTeamId(Long teamId);
 
+    // 팀 삭제 시 캐시 / SSE 정리용 (엔티티 대신 id 만)
+    @Query("select r.id from LunchRound r where r.team.id = :teamId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId);
+
+    // cascade(menuOptions) 를 타지 않는 DELETE 한 문장 - 메뉴 옵션 / 투표는 먼저 지워야 한다
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from LunchRound r where r.id = :id")
+    int bulkDeleteById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from LunchRound r where r.team.id = :teamId")
+    int bulkDeleteByTeamId(@Param("teamId") Long teamId);
+
     boolean existsByCreatorAndDate(User creator, LocalDate date);
+
+    // 조회용 projection - team / creator 를 조인해서 필요한 컬럼만 한 번에 가져온다
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.LunchRoundResponse(r.id, r.date, r.status, t.id, t.name, c.userId)
+            from LunchRound r left join r.team t left join r.creator c
+            where r.id = :id
+            """)
+    Optional<LunchRoundResponse> findResponseById(@Param("id") Long id);
+
+    // ETag 용 - 엔티티를 읽지 않고 version 컬럼만 (PK 조회)
+    @Query("select r.version from LunchRound r where r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new kr.sparta.backendbasic2.dto.VersionStamp(count(r), max(r.id), sum(r.version)) from LunchRound r")
+    VersionStamp findVersionStamp();
+
+    // keyset 페이지 - (date, id) 최신순. idx_lunch_round_date_id 인덱스를 역방향으로 탄다
+    // date 는 nullable - MySQL / H2 모두 null 을 가장 작은 값으로 보므로 날짜 없는 라운드는 맨 뒤에 id 역순으로 온다
+    // (nulls last 를 쓰면 MySQL 에서는 case 식으로 바뀌어 인덱스 정렬을 못 쓰므로 기본 순서에 맡긴다)
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.LunchRoundResponse(r.id, r.date, r.status, t.id, t.name, c.userId)
+            from LunchRound r left join r.team t left join r.creator c
+            order by r.date desc, r.id desc
+            """)
+    List<LunchRoundResponse> findFirstPage(Limit limit);
+
+    // 날짜 있는 라운드 다음에는 날짜 없는 라운드가 이어진다
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.LunchRoundResponse(r.id, r.date, r.status, t.id, t.name, c.userId)
+            from LunchRound r left join r.team t left join r.creator c
+            where r.date < :date or (r.date = :date and r.id < :id) or r.date is null
+            order by r.date desc, r.id desc
+            """)
+    List<LunchRoundResponse> findPageAfter(@Param("date") LocalDate date, @Param("id") Long id, Limit limit);
+
+    // 커서가 날짜 없는 라운드면 남은 것도 날짜 없는 라운드뿐
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.LunchRoundResponse(r.id, r.date, r.status, t.id, t.name, c.userId)
+            from LunchRound r left join r.team t left join r.creator c
+            where r.date is null and r.id < :id
+            order by r.id desc
+            """)
+    List<LunchRoundResponse> findUndatedPageAfter(@Param("id") Long id, Limit limit);
+
+    // 팀 + 날짜 범위 keyset 페이지 - (date, id) 최신순. 날짜 범위로 거르므로 날짜 없는 라운드는 나오지 않는다
+    // idx_lunch_round_team_date 에서 team_id = ? 이고 date 가 범위 안인 구간만 역방향으로 읽는다
+    // 인덱스만으로 끝나는 것은 lunch_round 쪽뿐 (필요한 lunch_round 컬럼이 모두 인덱스에 있음)
+    // team 은 한 행, creator 는 페이지 크기만큼 PK 조인으로 따로 읽는다
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.LunchRoundResponse(r.id, r.date, r.status, t.id, t.name, c.userId)
+            from LunchRound r join r.team t left join r.creator c
+            where r.team.id = :teamId and r.date between :from and :to
+            order by r.date desc, r.id desc
+            """)
+    List<LunchRoundResponse> findTeamPage(@Param("teamId") Long teamId, @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to, Limit limit);
+
+    // 다음 페이지 - 범위 위쪽 끝을 커서의 날짜로 좁혀서 같은 인덱스 구간만 읽는다
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.LunchRoundResponse(r.id, r.date, r.status, t.id, t.name, c.userId)
+            from LunchRound r join r.team t left join r.creator c
+            where r.team.id = :teamId and r.date between :from and :date
+              and (r.date < :date or r.id < :id)
+            order by r.date desc, r.id desc
+            """)
+    List<LunchRoundResponse> findTeamPageAfter(@Param("teamId") Long teamId, @Param("from") LocalDate from,
+                                               @Param("date") LocalDate date, @Param("id") Long id, Limit limit);
 }
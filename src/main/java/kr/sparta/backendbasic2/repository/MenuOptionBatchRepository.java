@@ -0,0 +1,13 @@
+package kr.sparta.backendbasic2.repository;
+
+import kr.sparta.backendbasic2.entity.MenuOption;
+
+import java.util.List;
+
+// MenuOptionRepository 의 일괄 insert - id 가 IDENTITY 라 Hibernate 는 insert 를 배치로 묶지 못해서 JDBC 배치로 구현
+public interface MenuOptionBatchRepository {
+
+    // round 가 지정된 새 메뉴 옵션들을 한 번의 배치로 insert 하고 생성된 id / version(0) 을 채운다
+    // 영속성 컨텍스트에는 올라가지 않는다
+    void insertAll(List<MenuOption> menuOptions);
+}
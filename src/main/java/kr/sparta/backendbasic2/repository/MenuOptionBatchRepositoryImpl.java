@@ -0,0 +1,50 @@
+package kr.sparta.backendbasic2.repository;
+
+import kr.sparta.backendbasic2.entity.MenuOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+// MySQL 은 rewriteBatchedStatements=true 로 여러 행 INSERT 한 문장이 되고, 생성된 id 는 행 순서대로 돌려받는다
+@RequiredArgsConstructor
+public class MenuOptionBatchRepositoryImpl implements MenuOptionBatchRepository {
+
+    private static final String INSERT_SQL = "insert into menu_option (menu, type, price, version, round_id) values (?, ?, ?, 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<MenuOption> menuOptions) {
+        if (menuOptions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (MenuOption menuOption : menuOptions) {
+                    statement.setString(1, menuOption.getMenu());
+                    statement.setString(2, menuOption.getType());
+                    statement.setObject(3, menuOption.getPrice(), Types.INTEGER);
+                    statement.setLong(4, menuOption.getRound().getId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (MenuOption menuOption : menuOptions) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated id for menu option: " + menuOption.getMenu());
+                        }
+                        menuOption.setId(keys.getLong(1));
+                        menuOption.setVersion(0L);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
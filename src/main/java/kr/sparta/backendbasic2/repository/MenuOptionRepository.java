@@ -1,11 +1,60 @@
 package kr.sparta.backendbasic2.repository;
 
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import kr.sparta.backendbasic2.dto.VersionStamp;
 import kr.sparta.backendbasic2.entity.MenuOption;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface MenuOptionRepository extends JpaRepository<MenuOption, Long> {
+public interface MenuOptionRepository extends JpaRepository<MenuOption, Long>, MenuOptionBatchRepository {
     boolean existsByRoundIdAndMenu(Long roundId, String menu);
     List<MenuOption> findByRoundId(Long roundId);
-}
\ No newline at end of file
+
+    // 라운드 / 팀 단위 삭제 - 엔티티를 하나씩 읽어서 지우지 않고 DELETE 한 문장
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from MenuOption o where o.round.id = :roundId")
+    int bulkDeleteByRoundId(@Param("roundId") Long roundId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from MenuOption o where o.round.id in (select r.id from LunchRound r where r.team.id = :teamId)")
+    int bulkDeleteByTeamId(@Param("teamId") Long teamId);
+
+    // 조회용 projection - round 는 FK 컬럼만 읽으므로 조인 없음
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.MenuOptionResponse(o.id, o.menu, o.type, o.price, o.round.id)
+            from MenuOption o
+            where o.round.id = :roundId
+            order by o.id
+            """)
+    List<MenuOptionResponse> findResponsesByRoundId(@Param("roundId") Long roundId);
+
+    // ETag 용 - (round_id, menu) unique 인덱스로 해당 라운드 행만 집계
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.VersionStamp(count(o), max(o.id), sum(o.version))
+            from MenuOption o
+            where o.round.id = :roundId
+            """)
+    VersionStamp findVersionStampByRoundId(@Param("roundId") Long roundId);
+
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.MenuOptionResponse(o.id, o.menu, o.type, o.price, o.round.id)
+            from MenuOption o
+            where o.id = :id
+            """)
+    Optional<MenuOptionResponse> findResponseById(@Param("id") Long id);
+
+    // keyset 페이지 - PK 순서
+    @Query("""
+            select new kr.sparta.backendbasic2.dto.MenuOptionResponse(o.id, o.menu, o.type, o.price, o.round.id)
+            from MenuOption o
+            where o.id > :id
+            order by o.id
+            """)
+    List<MenuOptionResponse> findPageAfter(@Param("id") Long id, Limit limit);
+}
@@ -0,0 +1,19 @@
+package kr.sparta.backendbasic2.repository;
+
+import kr.sparta.backendbasic2.entity.MenuVote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+// 투표 저장은 MenuVoteService 가 JdbcTemplate 배치로 한다. 여기는 라운드 / 팀 삭제 시 한 번에 지우는 용도
+public interface MenuVoteRepository extends JpaRepository<MenuVote, Long> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from MenuVote v where v.roundId = :roundId")
+    int bulkDeleteByRoundId(@Param("roundId") Long roundId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from MenuVote v where v.roundId in (select r.id from LunchRound r where r.team.id = :teamId)")
+    int bulkDeleteByTeamId(@Param("teamId") Long teamId);
+}
@@ -0,0 +1,33 @@
+package kr.sparta.backendbasic2.repository;
+
+import kr.sparta.backendbasic2.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // 시작할 때 / 주기적으로 메모리(TokenRevocationList) 에 반영할 폐기 기록 - 이미 만료된 토큰은 제외
+    @Query("select t from RevokedToken t where t.revokedAt > :since and t.expiresAt > :now")
+    List<RevokedToken> findActiveRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    // 팀 사용자 전부의 토큰 폐기 - 사용자 수와 상관없이 INSERT ... SELECT 한 문장 (사용자를 지우기 전에)
+    // jti 는 호출마다 다른 prefix + user.id 로 만든다 (prefix 16자 + id 최대 19자 <= 36)
+    @Modifying
+    @Query("""
+            insert into RevokedToken (jti, userId, expiresAt, revokedAt, allTokens)
+            select concat(:prefix, cast(u.id as String)), u.userId, :expiresAt, :now, true
+            from User u where u.team.id = :teamId""")
+    int insertAllTokensRevokedByTeamId(@Param("teamId") Long teamId, @Param("prefix") String prefix,
+                                       @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :now")
+    int bulkDeleteExpired(@Param("now") Instant now);
+}
@@ -2,5 +2,14 @@ package kr.sparta.backendbasic2.repository;
 
 import kr.sparta.backendbasic2.entity.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {}
\ No newline at end of file
+public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    // cascade (users, rounds) 를 타지 않는 DELETE 한 문장 - 딸린 행은 먼저 지워야 한다 (TeamService.deleteTeam)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Team t where t.id = :id")
+    int bulkDeleteById(@Param("id") Long id);
+}
@@ -2,9 +2,21 @@ package kr.sparta.backendbasic2.repository;
 
 import kr.sparta.backendbasic2.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUserId(String userId);
+
+    // 팀 삭제 시 인증 캐시에서 지울 로그인 아이디 (bulk delete 는 UserEntityListener 를 거치지 않는다)
+    @Query("select u.userId from User u where u.team.id = :teamId")
+    List<String> findUserIdsByTeamId(@Param("teamId") Long teamId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.team.id = :teamId")
+    int bulkDeleteByTeamId(@Param("teamId") Long teamId);
 }
\ No newline at end of file
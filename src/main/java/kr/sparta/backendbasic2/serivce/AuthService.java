@@ -1,4 +1,185 @@
 package kr.sparta.backendbasic2.serivce;
 
-public class AuthService {
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import kr.sparta.backendbasic2.dto.AuthResponse;
+import kr.sparta.backendbasic2.entity.RevokedToken;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.exception.InvalidTokenException;
+import kr.sparta.backendbasic2.repository.RevokedTokenRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// 로그인 / refresh 토큰 교체 / 로그아웃
+//  - refresh 토큰은 한 번만 사용 가능: 사용하면 jti 를 revoked_token 에 insert 하고 새 access + refresh 토큰 발급
+//    같은 토큰으로 동시에 두 번 요청해도 PK 충돌로 하나만 성공한다
+//  - 로그아웃하면 access / refresh 토큰 모두 폐기 -> JwtAuthenticationFilter 가 TokenRevocationList 로 거절
+// 폐기 기록은 DB 가 원본이고 TokenRevocationList 는 메모리 사본 (시작할 때 전부, 이후 sync-interval 마다 새로 폐기된 것만)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthService implements SmartInitializingSingleton {
+
+    // 인스턴스 사이 시계 차이 / 늦게 커밋된 행을 놓치지 않도록 조금 겹쳐서 읽는다
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList revocationList;
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public AuthResponse login(String userId) {
+        User user = userRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return issueTokens(user);
+    }
+
+    public AuthResponse refresh(String refreshToken) {
+        Claims claims = parse(refreshToken);
+        if (!JwtTokenProvider.REFRESH_TOKEN_TYPE.equals(claims.get(JwtTokenProvider.TOKEN_TYPE_CLAIM))
+                || claims.getId() == null) {
+            throw new InvalidTokenException("Not a refresh token");
+        }
+        if (revocationList.isRevoked(claims.getId()) || !revoke(claims)) {
+            log.warn("Refresh token reused: user={}, jti={}", claims.getSubject(), claims.getId());
+            throw new InvalidTokenException("Refresh token already used");
+        }
+
+        User user = userRepository.findByUserId(claims.getSubject())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return issueTokens(user);
+    }
+
+    // 만료된 토큰은 이미 쓸 수 없으므로 무시. refreshToken 은 없어도 된다
+    public void logout(String accessToken, String refreshToken) {
+        for (String token : new String[]{accessToken, refreshToken}) {
+            if (token == null || token.isBlank()) {
+                continue;
+            }
+            Claims claims;
+            try {
+                claims = parse(token);
+            } catch (InvalidTokenException e) {
+                if (e.getCause() instanceof ExpiredJwtException) {
+                    continue;
+                }
+                throw e;
+            }
+            if (claims.getId() != null && !revocationList.isRevoked(claims.getId())) {
+                revoke(claims);
+            }
+        }
+    }
+
+    // 처음 전부 읽기 - 빈이 모두 만들어진 뒤 (Flyway 마이그레이션 이후), 웹 서버가 요청을 받기 전
+    @Override
+    public void afterSingletonsInstantiated() {
+        syncRevocations();
+    }
+
+    // 다른 인스턴스에서 폐기한 토큰을 메모리에 반영
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval:5s}",
+            initialDelayString = "${auth.revocation.sync-interval:5s}")
+    public void syncRevocations() {
+        Instant now = Instant.now();
+        Instant since = lastSync == Instant.EPOCH ? Instant.EPOCH : lastSync.minus(SYNC_OVERLAP);
+        for (RevokedToken token : revokedTokenRepository.findActiveRevokedSince(since, now)) {
+            if (token.isAllTokens()) {
+                revocationList.revokeUser(token.getUserId(), token.getRevokedAt(), token.getExpiresAt());
+            } else {
+                revocationList.revoke(token.getJti(), token.getExpiresAt());
+            }
+        }
+        lastSync = now;
+    }
+
+    // 팀이 삭제되면 그 팀 사용자들에게 발급된 토큰을 모두 폐기 (사용자를 지우기 전에 호출)
+    // stateless 모드에서는 요청마다 사용자를 읽지 않으므로 토큰만으로는 삭제를 알 수 없다
+    // revoked_token 기록은 호출한 트랜잭션 안에서, 메모리 반영은 커밋 후에 (다른 인스턴스는 syncRevocations 로)
+    public void revokeTeamMembers(Long teamId, List<String> userIds) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(jwtTokenProvider.maxValidity());
+        String prefix = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        revokedTokenRepository.insertAllTokensRevokedByTeamId(teamId, prefix, expiresAt, now);
+        afterCommit(() -> userIds.forEach(userId -> revocationList.revokeUser(userId, now, expiresAt)));
+    }
+
+    // 토큰이 만료되면 폐기 기록도 지운다 (메모리 + DB)
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval:10m}",
+            initialDelayString = "${auth.revocation.purge-interval:10m}")
+    public void purgeExpiredRevocations() {
+        int removed = revocationList.purgeExpired();
+        int deleted = revokedTokenRepository.bulkDeleteExpired(Instant.now());
+        log.debug("Purged expired revocations: memory={}, db={}", removed, deleted);
+    }
+
+    // revoked_token 에 insert 성공하면 메모리에도 반영. 이미 폐기된 토큰이면 false
+    private boolean revoke(Claims claims) {
+        Instant expiresAt = claims.getExpiration().toInstant();
+        try {
+            revokedTokenRepository.saveAndFlush(
+                    new RevokedToken(claims.getId(), claims.getSubject(), expiresAt, Instant.now()));
+        } catch (DataIntegrityViolationException e) {
+            revocationList.revoke(claims.getId(), expiresAt);
+            return false;
+        }
+        revocationList.revoke(claims.getId(), expiresAt);
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Claims parse(String token) {
+        try {
+            return jwtTokenProvider.parse(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid or expired token", e);
+        }
+    }
+
+    private AuthResponse issueTokens(User user) {
+        String accessToken = jwtTokenProvider.createAccessToken(createAuthentication(user));
+        String refreshToken = jwtTokenProvider.createRefreshToken(user.getUserId());
+        return new AuthResponse(accessToken, refreshToken);
+    }
+
+    // 토큰의 roles / teamId 클레임은 실제 사용자 정보로 채운다 (stateless 모드에서 그대로 사용됨)
+    private Authentication createAuthentication(User user) {
+        Collection<? extends GrantedAuthority> authorities = user.getRole() == null || user.getRole().isBlank()
+                ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+                : user.getAuthorities();
+        return new UsernamePasswordAuthenticationToken(user, null, authorities);
+    }
 }
@@ -0,0 +1,347 @@
+package kr.sparta.backendbasic2.serivce;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+// JwtTokenProvider 가 발급하는 모양의 HS256 토큰만 빠르게 검증하는 전용 verifier
+//  - header 는 항상 {"alg":"HS256"}
+//  - payload 는 jti, sub, roles, teamId, typ, iat, exp 만 사용
+// 바이트 단위로 직접 처리하고 Mac / 버퍼는 pool 에서 빌려 재사용한다.
+// 조금이라도 예상과 다르면 (다른 header, 모르는 클레임, escape 문자, 서명 불일치, 만료 등)
+// null 을 돌려주고 jjwt 파서가 처리하도록 한다. 에러 메시지/예외 종류도 jjwt 그대로 유지됨.
+class Hs256TokenVerifier {
+
+    // base64url({"alg":"HS256"})
+    private static final String EXPECTED_HEADER = "eyJhbGciOiJIUzI1NiJ9";
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final byte[] JTI = ascii("jti");
+    private static final byte[] TYP = ascii(JwtTokenProvider.TOKEN_TYPE_CLAIM);
+    private static final byte[] SUB = ascii("sub");
+    private static final byte[] ROLES = ascii("roles");
+    private static final byte[] TEAM_ID = ascii("teamId");
+    private static final byte[] IAT = ascii("iat");
+    private static final byte[] EXP = ascii("exp");
+
+    private static final int[] BASE64URL = new int[128];
+
+    static {
+        Arrays.fill(BASE64URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    // ThreadLocal 은 가상 스레드(요청마다 새 스레드)에서는 요청마다 새로 만들어지므로 쓰지 않는다.
+    // 검증은 블로킹 없이 끝나므로 동시에 필요한 버퍼 수는 코어 수 정도
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final Key key;
+    private final Queue<Buffers> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    Hs256TokenVerifier(Key key) {
+        this.key = key;
+    }
+
+    // 검증 성공 시 클레임, 이 경로에서 처리할 수 없으면 null
+    Claims verify(String token) {
+        if (token == null || token.length() > MAX_TOKEN_LENGTH || !token.startsWith(EXPECTED_HEADER)) {
+            return null;
+        }
+        int firstDot = EXPECTED_HEADER.length();
+        if (token.length() <= firstDot || token.charAt(firstDot) != '.') {
+            return null;
+        }
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+
+        // pool 이 비어 있으면 새로 만들고, 가득 차 있으면 버린다
+        Buffers buf = pool.poll();
+        if (buf == null) {
+            buf = new Buffers(key);
+        }
+        try {
+            return verify(token, firstDot, secondDot, buf);
+        } finally {
+            pool.offer(buf);
+        }
+    }
+
+    private Claims verify(String token, int firstDot, int secondDot, Buffers buf) {
+        // 1. 서명 검증 (header.payload 의 ASCII 바이트에 대해 HMAC)
+        for (int i = 0; i < secondDot; i++) {
+            char c = token.charAt(i);
+            if (c >= 128) {
+                return null;
+            }
+            buf.scratch[i] = (byte) c;
+        }
+        try {
+            buf.mac.update(buf.scratch, 0, secondDot);
+            buf.mac.doFinal(buf.expected, 0);
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+        int sigLength = decode(token, secondDot + 1, token.length(), buf.actual);
+        if (sigLength != SIGNATURE_LENGTH || !MessageDigest.isEqual(buf.expected, buf.actual)) {
+            return null;
+        }
+
+        // 2. payload 디코딩 후 필요한 클레임만 파싱
+        int payloadLength = decode(token, firstDot + 1, secondDot, buf.scratch);
+        if (payloadLength < 0) {
+            return null;
+        }
+        PayloadParser payload = new PayloadParser(buf.scratch, payloadLength);
+        if (!payload.parse() || payload.subject == null || payload.exp < 0) {
+            return null;
+        }
+        // 만료된 토큰은 jjwt 가 ExpiredJwtException 을 던지도록 넘긴다
+        if (payload.exp * 1000 <= System.currentTimeMillis()) {
+            return null;
+        }
+
+        Claims claims = Jwts.claims().setSubject(payload.subject);
+        if (payload.id != null) {
+            claims.setId(payload.id);
+        }
+        if (payload.roles != null) {
+            claims.put("roles", payload.roles);
+        }
+        if (payload.type != null) {
+            claims.put(JwtTokenProvider.TOKEN_TYPE_CLAIM, payload.type);
+        }
+        if (payload.teamId >= 0) {
+            claims.put("teamId", payload.teamId);
+        }
+        if (payload.iat >= 0) {
+            claims.setIssuedAt(new Date(payload.iat * 1000));
+        }
+        claims.setExpiration(new Date(payload.exp * 1000));
+        return claims;
+    }
+
+    // 패딩 없는 base64url 디코딩. 잘못된 입력이거나 dst 가 작으면 -1
+    private static int decode(String src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1 || (length * 3) / 4 > dst.length) {
+            return -1;
+        }
+        int out = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? BASE64URL[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                dst[out++] = (byte) (bits >> bitCount);
+            }
+        }
+        return out;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Buffers {
+        private final Mac mac;
+        private final byte[] scratch = new byte[MAX_TOKEN_LENGTH];
+        private final byte[] expected = new byte[SIGNATURE_LENGTH];
+        private final byte[] actual = new byte[SIGNATURE_LENGTH];
+
+        private Buffers(Key key) {
+            try {
+                this.mac = Mac.getInstance("HmacSHA256");
+                this.mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    // {"jti":"...","sub":"...","roles":["..."],"teamId":1,"typ":"...","iat":1,"exp":1} 형태만 허용하는 최소 JSON 파서
+    private static final class PayloadParser {
+        private final byte[] json;
+        private final int length;
+        private int pos;
+        private int seen;
+
+        private String id;
+        private String type;
+        private String subject;
+        private List<String> roles;
+        private long teamId = -1;
+        private long iat = -1;
+        private long exp = -1;
+
+        private PayloadParser(byte[] json, int length) {
+            this.json = json;
+            this.length = length;
+        }
+
+        private boolean parse() {
+            skipWhitespace();
+            if (!consume('{')) {
+                return false;
+            }
+            skipWhitespace();
+            if (consume('}')) {
+                return true;
+            }
+            do {
+                skipWhitespace();
+                int keyStart = pos + 1;
+                if (!skipString()) {
+                    return false;
+                }
+                int keyEnd = pos - 1;
+                skipWhitespace();
+                if (!consume(':')) {
+                    return false;
+                }
+                skipWhitespace();
+                if (!parseValue(keyStart, keyEnd)) {
+                    return false;
+                }
+                skipWhitespace();
+            } while (consume(','));
+            if (!consume('}')) {
+                return false;
+            }
+            skipWhitespace();
+            return pos == length;
+        }
+
+        private boolean parseValue(int keyStart, int keyEnd) {
+            int flag = claimFlag(keyStart, keyEnd);
+            // 모르는 클레임 (nbf, aud 등) 이나 중복된 키는 jjwt 가 처리
+            if (flag == 0 || (seen & flag) != 0) {
+                return false;
+            }
+            seen |= flag;
+            return switch (flag) {
+                case 1 -> (subject = readString()) != null;
+                case 2 -> (roles = readStringArray()) != null;
+                case 4 -> (teamId = readLong()) >= 0;
+                case 8 -> (iat = readLong()) >= 0;
+                case 16 -> (exp = readLong()) >= 0;
+                case 32 -> (id = readString()) != null;
+                default -> (type = readString()) != null;
+            };
+        }
+
+        private int claimFlag(int start, int end) {
+            if (keyEquals(start, end, SUB)) return 1;
+            if (keyEquals(start, end, ROLES)) return 2;
+            if (keyEquals(start, end, TEAM_ID)) return 4;
+            if (keyEquals(start, end, IAT)) return 8;
+            if (keyEquals(start, end, EXP)) return 16;
+            if (keyEquals(start, end, JTI)) return 32;
+            if (keyEquals(start, end, TYP)) return 64;
+            return 0;
+        }
+
+        private boolean keyEquals(int start, int end, byte[] key) {
+            return end - start == key.length && Arrays.equals(json, start, end, key, 0, key.length);
+        }
+
+        private String readString() {
+            int start = pos + 1;
+            if (!skipString()) {
+                return null;
+            }
+            return new String(json, start, pos - 1 - start, StandardCharsets.UTF_8);
+        }
+
+        // escape 문자가 있으면 실패 (우리가 발급하는 값에는 없음)
+        private boolean skipString() {
+            if (!consume('"')) {
+                return false;
+            }
+            while (pos < length) {
+                byte b = json[pos++];
+                if (b == '"') {
+                    return true;
+                }
+                if (b == '\\' || (b >= 0 && b < 0x20)) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private List<String> readStringArray() {
+            if (!consume('[')) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(2);
+            skipWhitespace();
+            if (consume(']')) {
+                return values;
+            }
+            do {
+                skipWhitespace();
+                String value = readString();
+                if (value == null) {
+                    return null;
+                }
+                values.add(value);
+                skipWhitespace();
+            } while (consume(','));
+            return consume(']') ? values : null;
+        }
+
+        private long readLong() {
+            int start = pos;
+            long value = 0;
+            while (pos < length && json[pos] >= '0' && json[pos] <= '9') {
+                if (pos - start >= 18) {
+                    return -1;
+                }
+                value = value * 10 + (json[pos++] - '0');
+            }
+            // 소수점 / 지수 표기는 지원하지 않음
+            if (pos == start || (pos < length && (json[pos] == '.' || json[pos] == 'e' || json[pos] == 'E'))) {
+                return -1;
+            }
+            return value;
+        }
+
+        private boolean consume(char c) {
+            if (pos < length && json[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (pos < length && (json[pos] == ' ' || json[pos] == '\n' || json[pos] == '\r' || json[pos] == '\t')) {
+                pos++;
+            }
+        }
+    }
+}
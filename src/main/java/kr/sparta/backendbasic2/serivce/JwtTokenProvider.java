@@ -1,17 +1,39 @@
 package kr.sparta.backendbasic2.serivce;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import kr.sparta.backendbasic2.entity.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 @Component
-public class JwtTokenProvider {
+public class JwtTokenProvider implements MeterBinder {
+
+    // refresh 토큰에만 들어가는 클레임 - access 토큰 자리에 refresh 토큰을 쓰지 못하게 구분
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
 
     // 고정된 비밀 키 문자열로 Key 객체 생성
     private final Key key = Keys.hmacShaKeyFor(
@@ -21,32 +43,169 @@ public class JwtTokenProvider {
     private final long accessValidity = 1000 * 60 * 60;  // 60분
     private final long refreshValidity = 1000L * 60 * 60 * 24; // 1일
 
+    // 이 시간이 지나면 지금 발급된 어떤 토큰도 쓸 수 없다 (사용자 단위 폐기 기록의 보관 기간)
+    public Duration maxValidity() {
+        return Duration.ofMillis(Math.max(accessValidity, refreshValidity));
+    }
+
+    // 파서는 thread-safe 하므로 하나만 만들어 재사용
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    // 한 번 검증된 토큰의 클레임 캐시 (key = 토큰의 SHA-256)
+    // 같은 토큰으로 들어오는 요청은 서명 검증과 JSON 파싱을 건너뛴다.
+    // 항목은 토큰의 exp 이후로는 절대 남지 않는다.
+    private static final int VERIFIED_CACHE_SIZE = 10_000;
+    private final Cache<ByteBuffer, Claims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_CACHE_SIZE)
+            .expireAfter(Expiry.creating((ByteBuffer digest, Claims claims) ->
+                    Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis())))
+            .recordStats()
+            .build();
+
+    // 우리가 발급한 모양의 HS256 토큰 전용 빠른 검증 경로 (실패하면 jjwt 로 fallback)
+    private final Hs256TokenVerifier fastVerifier = new Hs256TokenVerifier(key);
+
+    @Value("${auth.fast-verifier.enabled:true}")
+    private boolean fastVerifierEnabled = true;
+
+    // jwt.sign{token=access|refresh}, jwt.parse{path=cached|fast|jjwt|invalid}
+    // bindTo 전 (테스트 / 벤치마크에서 직접 생성) 에는 아무 데도 기록하지 않는 타이머
+    private volatile Timers timers = new Timers(new CompositeMeterRegistry());
+
+    // ThreadLocal 은 가상 스레드(요청마다 새 스레드)에서는 매번 새로 만들어지므로
+    // 미리 만들어 둔 인스턴스를 clone 해서 쓴다 (getInstance 의 provider 조회를 건너뜀)
+    private static final MessageDigest SHA256;
+
+    static {
+        try {
+            SHA256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public String createAccessToken(Authentication authentication) {
+        Timer.Sample sample = Timer.start();
         String userId = authentication.getName();
-        return Jwts.builder()
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        // jti - 로그아웃 등으로 폐기할 때 토큰을 가리키는 id (TokenRevocationList)
+        var builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
-                .claim("roles", authentication.getAuthorities())
+                .claim("roles", roles);
+        // stateless 모드에서 DB 조회 없이 principal 을 만들 수 있도록 팀 id 도 넣어둔다
+        if (authentication.getPrincipal() instanceof User user && user.getTeam() != null) {
+            builder.claim("teamId", user.getTeam().getId());
+        }
+        String token = builder
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + accessValidity))
                 .signWith(key)
                 .compact();
+        sample.stop(timers.signAccess);
+        return token;
     }
 
-public String createRefreshToken(String userId) {
-        return Jwts.builder()
+    // refresh 토큰은 한 번만 쓸 수 있다 - 사용하면 jti 가 폐기되고 새 토큰을 발급 (AuthService.refresh)
+    public String createRefreshToken(String userId) {
+        Timer.Sample sample = Timer.start();
+        String token = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + refreshValidity))
                 .signWith(key)
                 .compact();
+        sample.stop(timers.signRefresh);
+        return token;
     }
 
     public Claims parse(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (token == null || token.isEmpty()) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+
+        Timer.Sample sample = Timer.start();
+        Timer timer = timers.parseInvalid;
+        try {
+            ByteBuffer digest = digest(token);
+            Claims cached = verifiedTokens.getIfPresent(digest);
+            if (cached != null) {
+                timer = timers.parseCached;
+                return cached;
+            }
+
+            Claims claims = fastVerifierEnabled ? fastVerifier.verify(token) : null;
+            if (claims == null) {
+                claims = parser.parseClaimsJws(token).getBody();
+                timer = timers.parseJjwt;
+            } else {
+                timer = timers.parseFast;
+            }
+            // exp 없는 토큰은 캐시하지 않는다 (우리가 발급한 토큰은 항상 exp 가 있음)
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return claims;
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    private ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = (MessageDigest) SHA256.clone();
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void setFastVerifierEnabled(boolean fastVerifierEnabled) {
+        this.fastVerifierEnabled = fastVerifierEnabled;
+    }
+
+    public Cache<ByteBuffer, Claims> getVerifiedTokenCache() {
+        return verifiedTokens;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        timers = new Timers(registry);
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verifiedTokens");
+    }
+
+    private static final class Timers {
+        private final Timer signAccess;
+        private final Timer signRefresh;
+        private final Timer parseCached;
+        private final Timer parseFast;
+        private final Timer parseJjwt;
+        private final Timer parseInvalid;
+
+        private Timers(MeterRegistry registry) {
+            signAccess = sign(registry, "access");
+            signRefresh = sign(registry, "refresh");
+            parseCached = parse(registry, "cached");
+            parseFast = parse(registry, "fast");
+            parseJjwt = parse(registry, "jjwt");
+            parseInvalid = parse(registry, "invalid");
+        }
+
+        private static Timer sign(MeterRegistry registry, String token) {
+            return Timer.builder("jwt.sign").description("JWT 발급 (서명)").tag("token", token).register(registry);
+        }
+
+        // cached: 검증된 토큰 캐시 hit, fast: Hs256TokenVerifier, jjwt: jjwt 파서, invalid: 검증 실패
+        private static Timer parse(MeterRegistry registry, String path) {
+            return Timer.builder("jwt.parse").description("JWT 검증 / 파싱").tag("path", path).register(registry);
+        }
     }
 
 }
\ No newline at end of file
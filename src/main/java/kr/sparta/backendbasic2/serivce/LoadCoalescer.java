@@ -0,0 +1,48 @@
+package kr.sparta.backendbasic2.serivce;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// 같은 키의 캐시 로딩을 하나로 합친다 (single-flight)
+// cache.get(key, loader) 와 달리 loader 를 락 밖에서 실행하고, 나머지 요청은 future 를 기다린다
+// (future 대기는 park 라서 가상 스레드가 carrier 를 붙잡지 않는다)
+class LoadCoalescer<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // 같은 키를 로딩 중인 요청이 있으면 그 결과를, 없으면 loader 를 직접 실행한 결과를 돌려준다
+    // loader 예외는 기다리던 요청에도 그대로 전달된다
+    V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
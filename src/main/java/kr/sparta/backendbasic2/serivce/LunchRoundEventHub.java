@@ -0,0 +1,203 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// GET /lunch-rounds/{id}/events 구독자 관리 + 이벤트 fan-out
+//  - roundId 별 구독자 목록
+//  - 구독자마다 크기가 정해진 버퍼 + 전송 작업은 한 번에 하나만 (전용 풀 sse.drain 에서)
+//  - 버퍼가 넘치면 쌓인 이벤트를 버리고 resync 이벤트 하나만 보낸다
+// 발행하는 쪽(커밋 후 리스너)은 버퍼에 넣기만 하므로 느린 클라이언트가 다른 구독자나 요청을 막지 않는다.
+@Component
+@Slf4j
+public class LunchRoundEventHub implements DisposableBean {
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int bufferSize;
+    private final Duration timeout;
+
+    @Autowired
+    public LunchRoundEventHub(@Value("${sse.drain.threads:16}") int drainThreads,
+                              @Value("${sse.drain.queue-capacity:1000}") int drainQueueCapacity,
+                              @Value("${sse.buffer-size:64}") int bufferSize,
+                              @Value("${sse.timeout:30m}") Duration timeout) {
+        this(drainExecutor(drainThreads, drainQueueCapacity), bufferSize, timeout);
+    }
+
+    LunchRoundEventHub(Executor executor, int bufferSize, Duration timeout) {
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+    }
+
+    // 스레드 수와 대기열이 정해진 전용 풀 - 다 차면 TaskRejectedException (scheduleDrain 에서 resync 로 대체)
+    // 느린 클라이언트가 스레드를 잡고 있어도 공용 풀의 다른 작업이나 무한 대기열로 번지지 않는다
+    private static ThreadPoolTaskExecutor drainExecutor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("sse-drain-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ThreadPoolTaskExecutor drainExecutor) {
+            drainExecutor.shutdown();
+        }
+    }
+
+    public SseEmitter subscribe(Long roundId) {
+        return subscribe(roundId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long roundId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(roundId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.computeIfAbsent(roundId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    // 서비스에서 발행한 이벤트는 커밋이 끝난 뒤에만 전달 (롤백된 변경은 보내지 않음)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(LunchRoundEvent event) {
+        Set<Subscriber> roundSubscribers = subscribers.get(event.roundId());
+        if (roundSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : roundSubscribers) {
+            subscriber.enqueue(event);
+        }
+        // 삭제된 라운드의 구독은 마지막 이벤트를 보낸 뒤 종료 (drain 에서 complete)
+        if (LunchRoundEvent.ROUND_DELETED.equals(event.name())) {
+            subscribers.remove(event.roundId());
+        }
+    }
+
+    public int subscriberCount(Long roundId) {
+        Set<Subscriber> roundSubscribers = subscribers.get(roundId);
+        return roundSubscribers == null ? 0 : roundSubscribers.size();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.roundId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long roundId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<LunchRoundEvent> buffer;
+        // 전송 작업이 executor 에 올라가 있는지 - 구독자마다 한 번에 하나만
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // 버퍼가 넘쳐서 이벤트를 버렸는지 - 다음 전송 때 resync 를 보낸다
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long roundId, SseEmitter emitter, BlockingQueue<LunchRoundEvent> buffer) {
+            this.roundId = roundId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        private void enqueue(LunchRoundEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                // 어차피 다시 읽어야 하므로 쌓인 이벤트는 필요 없다
+                overflowed.set(true);
+                buffer.clear();
+                if (LunchRoundEvent.ROUND_DELETED.equals(event.name())) {
+                    buffer.offer(event);
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // 실행할 스레드가 없으면 이번 이벤트들은 버리고 resync 로 대체
+                log.warn("SSE drain rejected for round {}", roundId);
+                overflowed.set(true);
+                buffer.clear();
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    if (overflowed.getAndSet(false)) {
+                        send(LunchRoundEvent.resync(roundId));
+                        continue;
+                    }
+                    LunchRoundEvent event = buffer.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    send(event);
+                    if (LunchRoundEvent.ROUND_DELETED.equals(event.name())) {
+                        close();
+                        emitter.complete();
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // drain 을 끝내는 사이에 들어온 이벤트가 있으면 다시 예약 (놓치지 않도록)
+            if (!closed && (!buffer.isEmpty() || overflowed.get())) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(LunchRoundEvent event) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(event.name())
+                        .data(event.data(), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // 연결이 끊긴 클라이언트
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void close() {
+            closed = true;
+            buffer.clear();
+            remove(this);
+        }
+    }
+}
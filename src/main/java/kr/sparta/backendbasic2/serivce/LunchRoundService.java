@@ -2,45 +2,192 @@ package kr.sparta.backendbasic2.serivce;
 
 import kr.sparta.backendbasic2.entity.LunchRound;
 import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import kr.sparta.backendbasic2.exception.DuplicateResourceException;
+import kr.sparta.backendbasic2.dto.CursorPage;
+import kr.sparta.backendbasic2.dto.LunchRoundExport;
+import kr.sparta.backendbasic2.dto.LunchRoundExportRow;
 import kr.sparta.backendbasic2.dto.LunchRoundRequest;
+import kr.sparta.backendbasic2.dto.LunchRoundResponse;
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
 import kr.sparta.backendbasic2.repository.LunchRoundRepository;
+import kr.sparta.backendbasic2.repository.MenuOptionRepository;
+import kr.sparta.backendbasic2.repository.MenuVoteRepository;
 import kr.sparta.backendbasic2.repository.TeamRepository;
 import kr.sparta.backendbasic2.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// service.method{class, method} - public 메서드마다 타이머
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("service.method")
 public class LunchRoundService {
 
+    // 팀 라운드 조회에서 from / to 가 없을 때 (MySQL DATE 범위)
+    private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    // 날짜 없는 라운드의 커서 (last.date() + ":" + last.id() 가 만드는 그대로)
+    private static final String NULL_DATE = "null";
+
     private final LunchRoundRepository lunchRoundRepository;
+    private final MenuOptionRepository menuOptionRepository;
+    private final MenuVoteRepository menuVoteRepository;
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
+    private final MenuOptionCache menuOptionCache;
+    private final MenuSuggestIndex menuSuggestIndex;
+    private final LunchRoundStatusWriteBehind statusWriteBehind;
+    private final TeamLunchStats teamLunchStats;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // 하루 한 번 제한은 (creator_id, date) unique 제약에 맡긴다 -> 미리 확인하는 쿼리 없이 insert 한 번
+    // 동시에 들어온 요청도 DB 가 하나만 통과시킨다
     @Transactional
     public LunchRound createLunchRound(LunchRound lunchRound, String userId) {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with userId: " + userId));
 
-        if (lunchRoundRepository.existsByCreatorAndDate(user, lunchRound.getDate())) {
-            throw new RuntimeException("User can only create one lunch round per day");
-        }
-
         lunchRound.setCreator(user);
         lunchRound.setTeam(user.getTeam());
-        return lunchRoundRepository.save(lunchRound);
+        try {
+            LunchRound saved = lunchRoundRepository.saveAndFlush(lunchRound);
+            teamLunchStats.roundCreated(saved.getId(), user.getTeam() != null ? user.getTeam().getId() : null, saved.getDate());
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateResourceException.violates(e, LunchRound.UK_CREATOR_DATE)) {
+                throw new DuplicateResourceException("User can only create one lunch round per day", e);
+            }
+            throw e;
+        }
     }
 
     public List<LunchRound> getAllLunchRounds() {
         return lunchRoundRepository.findAll();
     }
 
+    // 커서: "yyyy-MM-dd:id" (마지막으로 받은 라운드), 날짜 없는 라운드면 "null:id"
+    public CursorPage<LunchRoundResponse> getLunchRoundPage(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<LunchRoundResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = lunchRoundRepository.findFirstPage(limit);
+        } else {
+            RoundKey key = parseCursor(cursor);
+            rows = key.date() == null
+                    ? lunchRoundRepository.findUndatedPageAfter(key.id(), limit)
+                    : lunchRoundRepository.findPageAfter(key.date(), key.id(), limit);
+        }
+        return CursorPage.of(statusWriteBehind.overlay(rows), pageSize, last -> last.date() + ":" + last.id());
+    }
+
+    // 팀 라운드를 날짜 범위로 - 최신순 keyset 페이지, 커서는 getLunchRoundPage 와 같은 "yyyy-MM-dd:id"
+    // from / to 는 포함, 없으면 그쪽으로는 제한 없음
+    public CursorPage<LunchRoundResponse> getTeamLunchRoundPage(Long teamId, LocalDate from, LocalDate to, String cursor, int size) {
+        LocalDate lower = from != null ? from : MIN_DATE;
+        LocalDate upper = to != null ? to : MAX_DATE;
+        if (lower.isAfter(upper)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to: " + from + " > " + to);
+        }
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<LunchRoundResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = lunchRoundRepository.findTeamPage(teamId, lower, upper, limit);
+        } else {
+            RoundKey key = parseCursor(cursor);
+            // 날짜 범위 조회는 날짜 없는 라운드를 돌려주지 않으므로 그런 커서는 만들어지지 않는다
+            if (key.date() == null) {
+                throw CursorPage.invalidCursor(cursor);
+            }
+            // to 를 줄여서 다시 요청한 경우 - 커서가 범위 밖이면 to 부터
+            if (key.date().isAfter(upper)) {
+                key = new RoundKey(upper, Long.MAX_VALUE);
+            }
+            rows = lunchRoundRepository.findTeamPageAfter(teamId, lower, key.date(), key.id(), limit);
+        }
+        return CursorPage.of(statusWriteBehind.overlay(rows), pageSize, last -> last.date() + ":" + last.id());
+    }
+
+    // 커서 파싱만 400 으로 - 조회 중 DB 오류까지 잘못된 커서로 바꾸지 않도록 try 는 여기까지
+    private static RoundKey parseCursor(String cursor) {
+        String[] key = CursorPage.decodeCursor(cursor).split(":", 2);
+        try {
+            return new RoundKey(NULL_DATE.equals(key[0]) ? null : LocalDate.parse(key[0]), Long.valueOf(key[1]));
+        } catch (RuntimeException e) {
+            throw CursorPage.invalidCursor(cursor);
+        }
+    }
+
+    private record RoundKey(LocalDate date, Long id) {
+    }
+
+    // 조건부 GET 용 ETag - 없는 라운드면 null (본문 조회에서 404 처리)
+    // 아직 저장하지 않은 상태 변경이 있으면 ETag 에도 반영
+    public String getLunchRoundEtag(Long id) {
+        return lunchRoundRepository.findVersionById(id)
+                .map(version -> statusWriteBehind.etag(id, "lunch-round-" + id + "-" + version))
+                .orElse(null);
+    }
+
+    public String getLunchRoundsEtag() {
+        return statusWriteBehind.etag(lunchRoundRepository.findVersionStamp().etag("lunch-rounds"));
+    }
+
+    public LunchRoundResponse getLunchRoundResponse(Long id) {
+        return lunchRoundRepository.findResponseById(id)
+                .map(statusWriteBehind::overlay)
+                .orElseThrow(() -> new RuntimeException("LunchRound not found with id: " + id));
+    }
+
+    // 전체 라운드 + 메뉴 옵션을 라운드 단위로 하나씩 넘긴다 (NDJSON export 용)
+    // 스트림으로 읽고 DTO projection 이라 영속성 컨텍스트에 엔티티가 쌓이지 않으므로 메모리 사용량이 테이블 크기와 무관하다
+    public void exportLunchRounds(Consumer<LunchRoundExport> sink) {
+        try (Stream<LunchRoundExportRow> rows = lunchRoundRepository.streamExportRows()) {
+            LunchRoundExportRow current = null;
+            List<MenuOptionResponse> options = new ArrayList<>();
+
+            for (Iterator<LunchRoundExportRow> it = rows.iterator(); it.hasNext(); ) {
+                LunchRoundExportRow row = it.next();
+                if (current != null && !current.roundId().equals(row.roundId())) {
+                    sink.accept(toExport(current, options));
+                    options = new ArrayList<>();
+                }
+                current = row;
+                if (row.optionId() != null) {
+                    options.add(new MenuOptionResponse(row.optionId(), row.menu(), row.type(), row.price(), row.roundId()));
+                }
+            }
+            if (current != null) {
+                sink.accept(toExport(current, options));
+            }
+        }
+    }
+
+    private LunchRoundExport toExport(LunchRoundExportRow row, List<MenuOptionResponse> options) {
+        String status = statusWriteBehind.pendingStatus(row.roundId());
+        return new LunchRoundExport(row.roundId(), row.date(), status != null ? status : row.status(), row.teamId(), row.creatorId(), options);
+    }
+
     public LunchRound getLunchRoundById(Long id) {
         return lunchRoundRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("LunchRound not found with id: " + id));
@@ -51,6 +198,9 @@ public class LunchRoundService {
         //이 사용자가 등록한 lunch_round
 
         LunchRound existing = getLunchRoundById(id);
+        // 팀 통계에서 이전 팀 / 주의 카운터를 빼기 위해
+        Long previousTeamId = existing.getTeam() != null ? existing.getTeam().getId() : null;
+        LocalDate previousDate = existing.getDate();
         existing.setStatus(lunchRound.status());
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -61,26 +211,51 @@ public class LunchRoundService {
         existing.setTeam(team);
 
         existing.setCreator(getUser(userId));
-        return lunchRoundRepository.save(existing);
+        // 요청에 상태가 같이 오므로 대기 중인 상태 변경은 버린다
+        statusWriteBehind.discard(id);
+        LunchRound saved = lunchRoundRepository.save(existing);
+        teamLunchStats.roundUpdated(id, previousTeamId, previousDate, team.getId(), saved.getDate());
+        eventPublisher.publishEvent(LunchRoundEvent.roundUpdated(id, saved.getDate(), saved.getStatus()));
+        return saved;
     }
 
     private User getUser(String userId) {
         return userRepository.findByUserId(userId).orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    // write-behind 모드: 메모리에만 기록하고 바로 응답 (DB 는 LunchRoundStatusWriteBehind 가 모아서 UPDATE)
+    // 조회 / ETag / SSE 는 지금 바뀐 상태를 바로 보고, 저장은 flush 주기만큼 늦게 된다
     @Transactional
-    public LunchRound updateLunchRoundStatus(Long id, String status) {
+    public LunchRoundResponse updateLunchRoundStatus(Long id, String status) {
+        if (statusWriteBehind.isEnabled()) {
+            LunchRoundResponse current = getLunchRoundResponse(id);
+            statusWriteBehind.accept(id, status);
+            eventPublisher.publishEvent(LunchRoundEvent.roundUpdated(id, current.date(), status));
+            return current.withStatus(status);
+        }
         LunchRound existing = getLunchRoundById(id);
         existing.setStatus(status);
-        return lunchRoundRepository.save(existing);
+        LunchRound saved = lunchRoundRepository.save(existing);
+        eventPublisher.publishEvent(LunchRoundEvent.roundUpdated(id, saved.getDate(), saved.getStatus()));
+        return LunchRoundResponse.from(saved);
     }
 
+    // 엔티티 cascade (라운드 읽기 -> 메뉴 옵션 하나씩 읽고 삭제) 대신 DELETE 세 문장: 투표 -> 메뉴 옵션 -> 라운드
+    // 없는 라운드면 예외로 롤백 (앞의 두 문장은 지운 행이 없다)
+    // 팀 통계 / 자동완성에서 뺄 메뉴는 지우기 전에 각각 SELECT 한 번으로 읽는다
     @Transactional
     public void deleteLunchRound(Long id) {
-        if (!lunchRoundRepository.existsById(id)) {
+        teamLunchStats.roundDeleting(id);
+        menuSuggestIndex.roundClearing(id);
+        menuVoteRepository.bulkDeleteByRoundId(id);
+        menuOptionRepository.bulkDeleteByRoundId(id);
+        if (lunchRoundRepository.bulkDeleteById(id) == 0) {
             throw new RuntimeException("LunchRound not found with id: " + id);
         }
-        lunchRoundRepository.deleteById(id);
+        statusWriteBehind.discard(id);
+        // 라운드와 함께 메뉴 옵션도 지워졌으므로 캐시도 비운다
+        menuOptionCache.evict(id);
+        eventPublisher.publishEvent(LunchRoundEvent.roundDeleted(id));
     }
 
     public boolean existsById(Long id) {
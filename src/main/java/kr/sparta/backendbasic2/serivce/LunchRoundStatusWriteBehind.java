@@ -0,0 +1,203 @@
+package kr.sparta.backendbasic2.serivce;
+
+import jakarta.annotation.PreDestroy;
+import kr.sparta.backendbasic2.dto.LunchRoundResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 라운드 상태(PLANNING -> VOTING -> CLOSED ...) 변경을 바로 쓰지 않고 모아뒀다가 한 번에 저장
+//  - 라운드별로 마지막 상태만 남긴다 (짧은 시간에 여러 번 바뀌어도 UPDATE 는 한 번)
+//  - 조회 / ETag 는 저장 전이라도 여기 있는 상태를 덮어써서 응답
+//  - round-status.write-behind.flush-interval 마다 모인 라운드 전부를 UPDATE ... CASE 한 문장으로 저장 (version + 1)
+// 정상 종료 시에는 남은 상태를 저장하고 끝난다. 비정상 종료 시에는 마지막 flush 이후의 상태 변경이 유실될 수 있다.
+// 기본은 꺼져 있다 (round-status.write-behind.enabled=true 로 켬) - 꺼져 있으면 상태 변경은 바로 UPDATE
+@Component
+@Slf4j
+public class LunchRoundStatusWriteBehind {
+
+    // IN (...) 파라미터 수 제한을 넘지 않도록 나눠서 UPDATE
+    private static final int CHUNK_SIZE = 500;
+    // lunch_round.status varchar(255) - 넘는 값은 받을 때 거절 (flush 에서 배치 전체를 실패시키지 않도록)
+    private static final int STATUS_MAX_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    // roundId -> 아직 저장하지 않은 상태
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    // 대기 목록이 바뀔 때마다 증가 - ETag 에 붙여서 저장 전 변경도 구분한다
+    private final AtomicLong sequence = new AtomicLong();
+    // 스케줄러 / 종료 시 flush 와 discard 가 겹치지 않도록. 락을 잡은 채 UPDATE 를 기다리므로 ReentrantLock
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public LunchRoundStatusWriteBehind(JdbcTemplate jdbcTemplate,
+                                       @Value("${round-status.write-behind.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void accept(Long roundId, String status) {
+        if (status == null || status.isBlank() || status.length() > STATUS_MAX_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status: " + status);
+        }
+        pending.put(roundId, new Pending(status, sequence.incrementAndGet()));
+    }
+
+    // 라운드 전체 수정 / 삭제 시 - 대기 중인 상태가 나중에 덮어쓰지 않도록 버린다
+    // 지금 한 번 (진행 중인 flush 가 끝난 뒤), 트랜잭션 안이면 커밋 후에 한 번 더 -
+    // 커밋 전에 들어온 상태 변경이 커밋된 값을 덮어쓰지 않도록
+    public void discard(Long roundId) {
+        discardNow(roundId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    discardNow(roundId);
+                }
+            });
+        }
+    }
+
+    // flush 가 목록을 읽은 뒤 UPDATE 하기 전에 끼어들지 않도록 flushLock 안에서 지운다
+    private void discardNow(Long roundId) {
+        flushLock.lock();
+        try {
+            if (pending.remove(roundId) != null) {
+                sequence.incrementAndGet();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public String pendingStatus(Long roundId) {
+        Pending entry = pending.get(roundId);
+        return entry == null ? null : entry.status();
+    }
+
+    public LunchRoundResponse overlay(LunchRoundResponse response) {
+        Pending entry = pending.get(response.id());
+        return entry == null ? response : response.withStatus(entry.status());
+    }
+
+    public List<LunchRoundResponse> overlay(List<LunchRoundResponse> responses) {
+        if (pending.isEmpty()) {
+            return responses;
+        }
+        return responses.stream().map(this::overlay).toList();
+    }
+
+    // DB version 기반 ETag 에 대기 중인 변경을 덧붙인다 (없으면 그대로)
+    public String etag(Long roundId, String etag) {
+        Pending entry = pending.get(roundId);
+        return entry == null ? etag : etag + "-p" + entry.sequence();
+    }
+
+    public String etag(String etag) {
+        return pending.isEmpty() ? etag : etag + "-p" + sequence.get();
+    }
+
+    @Scheduled(fixedDelayString = "${round-status.write-behind.flush-interval:500ms}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<Map.Entry<Long, Pending>> batch = new ArrayList<>(new HashMap<>(pending).entrySet());
+            for (int from = 0; from < batch.size(); from += CHUNK_SIZE) {
+                // 읽은 뒤에 버려졌거나 다시 바뀐 라운드는 이번에 쓰지 않는다
+                List<Map.Entry<Long, Pending>> chunk = batch.subList(from, Math.min(from + CHUNK_SIZE, batch.size())).stream()
+                        .filter(entry -> entry.getValue().equals(pending.get(entry.getKey())))
+                        .toList();
+                if (chunk.isEmpty()) {
+                    continue;
+                }
+                try {
+                    jdbcTemplate.update(bulkUpdateSql(chunk.size()), bulkUpdateArgs(chunk));
+                } catch (DataIntegrityViolationException e) {
+                    // 한 행 때문에 문장 전체가 실패 - 한 건씩 다시 저장하고 실패한 행만 버린다
+                    chunk.forEach(this::flushOne);
+                    continue;
+                }
+                // 저장한 뒤에만 지운다 (그 사이 조회는 DB 에 있든 대기 목록에 있든 새 상태를 본다)
+                // 저장하는 동안 다시 바뀐 라운드는 남겨둔다 (다음 flush 에서 저장)
+                chunk.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // DB 가 받지 않는 값은 다시 시도해도 실패하므로 버린다 (연결 오류 등은 그대로 던져서 다음 flush 에서 다시)
+    private void flushOne(Map.Entry<Long, Pending> entry) {
+        try {
+            jdbcTemplate.update(bulkUpdateSql(1), bulkUpdateArgs(List.of(entry)));
+        } catch (DataIntegrityViolationException e) {
+            log.error("Dropping round status update that the database rejected: round={}, status={}",
+                    entry.getKey(), entry.getValue().status(), e);
+            sequence.incrementAndGet();
+        }
+        pending.remove(entry.getKey(), entry.getValue());
+    }
+
+    // 종료 직전에 남은 상태를 저장
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} pending round status updates on shutdown", pending.size(), e);
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    // update lunch_round set status = case id when ? then ? ... end, version = version + 1 where id in (?, ...)
+    private static String bulkUpdateSql(int size) {
+        return "update lunch_round set status = case id"
+                + " when ? then ?".repeat(size)
+                + " end, version = version + 1 where id in ("
+                + String.join(", ", Collections.nCopies(size, "?"))
+                + ")";
+    }
+
+    private static Object[] bulkUpdateArgs(List<Map.Entry<Long, Pending>> chunk) {
+        Object[] args = new Object[chunk.size() * 3];
+        int i = 0;
+        for (Map.Entry<Long, Pending> entry : chunk) {
+            args[i++] = entry.getKey();
+            args[i++] = entry.getValue().status();
+        }
+        for (Map.Entry<Long, Pending> entry : chunk) {
+            args[i++] = entry.getKey();
+        }
+        return args;
+    }
+
+    private record Pending(String status, long sequence) {
+    }
+}
@@ -0,0 +1,99 @@
+package kr.sparta.backendbasic2.serivce;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// GET /menu-options/{roundId} 는 팀원 모두가 메뉴를 고르는 동안 계속 새로고침하는 API
+// roundId -> 메뉴 옵션 목록(불변 List) 을 들고 있다가 메뉴가 바뀐 라운드만 지운다
+@Component
+public class MenuOptionCache implements MeterBinder {
+
+    private final Cache<Long, List<MenuOptionResponse>> cache;
+    // evict 횟수 - 로딩하는 동안 evict 가 있었는지 확인용
+    private final AtomicLong evictions = new AtomicLong();
+    private final LoadCoalescer<Long, List<MenuOptionResponse>> loads = new LoadCoalescer<>();
+
+    public MenuOptionCache(@Value("${menu-option-cache.max-size:1000}") long maxSize,
+                           @Value("${menu-option-cache.ttl:1m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // 캐시에 있으면 그대로, 없으면 loader(DB 조회) 결과를 복사해서 채운다.
+    // 꺼내 간 쪽에서 목록을 바꿀 수 없도록 List.copyOf 로 불변 스냅샷만 저장
+    // DB 조회는 compute 락 밖에서 한다 (UserPrincipalCache 참고 - 가상 스레드 pinning 방지)
+    // 같은 라운드를 동시에 놓치면 한 요청만 DB 를 조회하고 나머지는 그 결과를 기다린다
+    // 모든 사용자가 보는 값이므로 복제본이 아니라 primary 에서 읽는다 (PrimaryRead)
+    public List<MenuOptionResponse> get(Long roundId, Function<Long, List<MenuOptionResponse>> loader) {
+        List<MenuOptionResponse> options = cache.getIfPresent(roundId);
+        if (options != null) {
+            return options;
+        }
+        return loads.load(roundId, () -> {
+            long before = evictions.get();
+            List<MenuOptionResponse> loaded = List.copyOf(PrimaryRead.run(() -> loader.apply(roundId)));
+            cache.put(roundId, loaded);
+            // 로딩 중에 evict 가 있었다면 커밋 전 목록일 수 있으므로 다시 지운다
+            if (evictions.get() != before) {
+                cache.invalidate(roundId);
+            }
+            return loaded;
+        });
+    }
+
+    // 메뉴 추가/수정/삭제, 라운드 삭제 시 호출
+    // 커밋 전에 다른 요청이 옛날 목록을 다시 채울 수 있으므로 트랜잭션이 끝난 뒤에 한 번 더 지운다.
+    public void evict(Long roundId) {
+        if (roundId == null) {
+            return;
+        }
+        evictions.incrementAndGet();
+        cache.invalidate(roundId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictions.incrementAndGet();
+                    cache.invalidate(roundId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // hit / miss / eviction 카운트
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Cache<Long, List<MenuOptionResponse>> getCache() {
+        return cache;
+    }
+
+    // cache.gets{cache=menuOptions,result=hit|miss}, cache.evictions, cache.size 로 노출
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "menuOptions");
+    }
+}
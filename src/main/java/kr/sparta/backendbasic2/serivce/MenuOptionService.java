@@ -1,30 +1,110 @@
 package kr.sparta.backendbasic2.serivce;
 
+import kr.sparta.backendbasic2.dto.CursorPage;
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import kr.sparta.backendbasic2.dto.MenuSuggestion;
+import kr.sparta.backendbasic2.entity.LunchRound;
 import kr.sparta.backendbasic2.entity.MenuOption;
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import kr.sparta.backendbasic2.exception.DuplicateResourceException;
 import kr.sparta.backendbasic2.repository.LunchRoundRepository;
 import kr.sparta.backendbasic2.repository.MenuOptionRepository;
+import kr.sparta.backendbasic2.repository.MenuVoteRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+// service.method{class, method} - public 메서드마다 타이머
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("service.method")
 public class MenuOptionService {
 
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final MenuOptionRepository menuOptionRepository;
     private final LunchRoundRepository lunchRoundRepository;
+    private final MenuVoteRepository menuVoteRepository;
+    private final MenuOptionCache menuOptionCache;
+    private final MenuSuggestIndex menuSuggestIndex;
+    private final TeamLunchStats teamLunchStats;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // 중복 확인을 따로 하지 않고 (round_id, menu) unique 제약에 맡긴다 -> insert 한 번
+    // 라운드는 FK 만 필요하므로 프록시만 참조 (select 없음). 없는 라운드면 FK 위반
     @Transactional
     public MenuOption addMenuOption(Long roundId, MenuOption menuOption) {
-        if (menuOptionRepository.existsByRoundIdAndMenu(roundId, menuOption.getMenu())) {
-            throw new RuntimeException("Duplicate menu option for round: " + roundId + " and menu: " + menuOption.getMenu());
+        menuOption.setRound(lunchRoundRepository.getReferenceById(roundId));
+        try {
+            MenuOption saved = menuOptionRepository.saveAndFlush(menuOption);
+            menuOptionCache.evict(roundId);
+            menuSuggestIndex.added(saved.getMenu(), saved.getType(), saved.getPrice());
+            teamLunchStats.menuOptionAdded(roundId, saved.getMenu(), saved.getType(), saved.getPrice());
+            eventPublisher.publishEvent(LunchRoundEvent.menuOptionAdded(MenuOptionResponse.from(saved)));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, roundId, menuOption.getMenu());
         }
-        var round = lunchRoundRepository.findById(roundId).orElseThrow(() -> new RuntimeException("Round not found"));
-        menuOption.setRound(round);
-        return menuOptionRepository.save(menuOption);
+    }
+
+    // 메뉴 여러 개를 한 번에 추가 - JDBC 배치 insert 한 번으로 끝난다 (id 는 IDENTITY 로 생성)
+    @Transactional
+    public List<MenuOption> addMenuOptions(Long roundId, List<MenuOption> menuOptions) {
+        if (menuOptions.isEmpty()) {
+            return List.of();
+        }
+        if (menuOptions.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Too many menu options in one request: " + menuOptions.size() + " (max " + MAX_BATCH_SIZE + ")");
+        }
+
+        // 요청 안의 중복도 DB 의 unique 위반과 같은 409
+        Set<String> menus = new HashSet<>();
+        for (MenuOption menuOption : menuOptions) {
+            if (!menus.add(menuOption.getMenu())) {
+                throw new DuplicateResourceException("Duplicate menu option in request for round: " + roundId + " and menu: " + menuOption.getMenu());
+            }
+        }
+
+        LunchRound round = lunchRoundRepository.getReferenceById(roundId);
+        for (MenuOption menuOption : menuOptions) {
+            menuOption.setRound(round);
+        }
+        try {
+            menuOptionRepository.insertAll(menuOptions);
+            menuOptionCache.evict(roundId);
+            for (MenuOption menuOption : menuOptions) {
+                menuSuggestIndex.added(menuOption.getMenu(), menuOption.getType(), menuOption.getPrice());
+                teamLunchStats.menuOptionAdded(roundId, menuOption.getMenu(), menuOption.getType(), menuOption.getPrice());
+                eventPublisher.publishEvent(LunchRoundEvent.menuOptionAdded(MenuOptionResponse.from(menuOption)));
+            }
+            return menuOptions;
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, roundId, String.join(", ", menus));
+        }
+    }
+
+    // (round_id, menu) unique -> 409, round_id FK -> 없는 라운드
+    // 그 밖의 위반 (not null, 길이 등) 은 라운드 문제가 아니므로 그대로 던진다
+    private RuntimeException translate(DataIntegrityViolationException e, Long roundId, String menu) {
+        if (DuplicateResourceException.violates(e, MenuOption.UK_ROUND_MENU)) {
+            return new DuplicateResourceException("Duplicate menu option for round: " + roundId + " and menu: " + menu, e);
+        }
+        if (DuplicateResourceException.violates(e, MenuOption.FK_ROUND)) {
+            return new RuntimeException("Round not found with id: " + roundId, e);
+        }
+        return e;
     }
 
     public List<MenuOption> getMenuOptionsByRoundId(Long roundId) {
@@ -35,6 +115,43 @@ public class MenuOptionService {
         return menuOptionRepository.findAll();
     }
 
+    // 커서: 마지막으로 받은 메뉴 옵션 id
+    public CursorPage<MenuOptionResponse> getMenuOptionPage(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.parseLong(CursorPage.decodeCursor(cursor));
+            } catch (NumberFormatException e) {
+                throw CursorPage.invalidCursor(cursor);
+            }
+        }
+        List<MenuOptionResponse> rows = menuOptionRepository.findPageAfter(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, last -> String.valueOf(last.id()));
+    }
+
+    // 가장 많이 호출되는 조회 - 라운드별 캐시를 먼저 본다
+    public List<MenuOptionResponse> getMenuOptionResponses(Long roundId) {
+        return menuOptionCache.get(roundId, menuOptionRepository::findResponsesByRoundId);
+    }
+
+    // 조건부 GET 용 ETag - 캐시가 아니라 DB 의 version 으로 계산
+    // 캐시와 같은 primary 에서 읽는다 - 복제본의 옛날 ETag 가 새 목록과 짝지어지지 않도록
+    public String getMenuOptionsEtag(Long roundId) {
+        return PrimaryRead.run(() -> menuOptionRepository.findVersionStampByRoundId(roundId))
+                .etag("menu-options-" + roundId);
+    }
+
+    // 메뉴 이름 자동완성 - DB 를 거치지 않는다
+    public List<MenuSuggestion> suggestMenus(String q, String type, Integer minPrice, Integer maxPrice, int limit) {
+        return menuSuggestIndex.suggest(q, type, minPrice, maxPrice, limit);
+    }
+
+    public MenuOptionResponse getMenuOptionResponse(Long id) {
+        return menuOptionRepository.findResponseById(id)
+                .orElseThrow(() -> new RuntimeException("MenuOption not found with id: " + id));
+    }
+
     public MenuOption getMenuOptionById(Long id) {
         return menuOptionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("MenuOption not found with id: " + id));
@@ -43,20 +160,63 @@ public class MenuOptionService {
     @Transactional
     public MenuOption updateMenuOption(Long id, MenuOption menuOption) {
         MenuOption existing = getMenuOptionById(id);
+        // 라운드가 바뀌면 이전 라운드 / 새 라운드 둘 다 지워야 한다
+        Long previousRoundId = existing.getRound() != null ? existing.getRound().getId() : null;
+        menuOptionCache.evict(previousRoundId);
+        String previousMenu = existing.getMenu();
+        String previousType = existing.getType();
+        Integer previousPrice = existing.getPrice();
         existing.setMenu(menuOption.getMenu());
         existing.setType(menuOption.getType());
         existing.setPrice(menuOption.getPrice());
         if (menuOption.getRound() != null) {
             existing.setRound(menuOption.getRound());
+            menuOptionCache.evict(menuOption.getRound().getId());
+        }
+        MenuOption saved = menuOptionRepository.save(existing);
+        menuSuggestIndex.removed(previousMenu, previousType, previousPrice);
+        menuSuggestIndex.added(saved.getMenu(), saved.getType(), saved.getPrice());
+
+        MenuOptionResponse response = MenuOptionResponse.from(saved);
+        teamLunchStats.menuOptionRemoved(previousRoundId, previousMenu, previousType, previousPrice);
+        teamLunchStats.menuOptionAdded(response.roundId(), saved.getMenu(), saved.getType(), saved.getPrice());
+        if (previousRoundId != null && !previousRoundId.equals(response.roundId())) {
+            // 다른 라운드로 옮겨졌으면 이전 라운드에서는 삭제, 새 라운드에서는 추가
+            eventPublisher.publishEvent(LunchRoundEvent.menuOptionDeleted(previousRoundId, id));
+            eventPublisher.publishEvent(LunchRoundEvent.menuOptionAdded(response));
+        } else {
+            eventPublisher.publishEvent(LunchRoundEvent.menuOptionUpdated(response));
         }
-        return menuOptionRepository.save(existing);
+        return saved;
     }
 
     @Transactional
     public void deleteMenuOption(Long id) {
-        if (!menuOptionRepository.existsById(id)) {
-            throw new RuntimeException("MenuOption not found with id: " + id);
+        // 어느 라운드의 캐시를 지울지 알아야 하므로 existsById 대신 엔티티를 읽는다
+        MenuOption existing = getMenuOptionById(id);
+        menuOptionRepository.delete(existing);
+        menuSuggestIndex.removed(existing.getMenu(), existing.getType(), existing.getPrice());
+        Long roundId = existing.getRound() != null ? existing.getRound().getId() : null;
+        menuOptionCache.evict(roundId);
+        teamLunchStats.menuOptionRemoved(roundId, existing.getMenu(), existing.getType(), existing.getPrice());
+        if (roundId != null) {
+            eventPublisher.publishEvent(LunchRoundEvent.menuOptionDeleted(roundId, id));
+        }
+    }
+
+    // 라운드의 메뉴 옵션 전체 삭제 - 옵션 수와 상관없이 DELETE 두 문장 (투표 -> 메뉴 옵션)
+    // 옵션마다 삭제 이벤트를 보내지 않고 menu-options-cleared 하나만 보낸다
+    @Transactional
+    public int deleteMenuOptionsByRoundId(Long roundId) {
+        // 팀 통계 / 자동완성에서 뺄 메뉴를 지우기 전에 읽는다 (각각 SELECT 한 번)
+        teamLunchStats.menuOptionsClearing(roundId);
+        menuSuggestIndex.roundClearing(roundId);
+        menuVoteRepository.bulkDeleteByRoundId(roundId);
+        int deleted = menuOptionRepository.bulkDeleteByRoundId(roundId);
+        menuOptionCache.evict(roundId);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(LunchRoundEvent.menuOptionsCleared(roundId));
         }
-        menuOptionRepository.deleteById(id);
+        return deleted;
     }
 }
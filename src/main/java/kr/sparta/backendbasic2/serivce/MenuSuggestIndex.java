@@ -0,0 +1,340 @@
+package kr.sparta.backendbasic2.serivce;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.sparta.backendbasic2.dto.MenuSuggestion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// 메뉴 이름 자동완성 (GET /menu-options/suggest) - LIKE '%q%' 로 menu_option 을 훑지 않도록 메모리 인덱스
+//  - 서로 다른 메뉴 이름마다 (type, price) 조합별 등록 횟수
+//  - 검색어는 소문자 + 공백 제거 후 부분 일치. 1글자는 글자 인덱스, 2글자 이상은 bigram 인덱스에서
+//    가장 작은 후보 집합만 골라 확인하므로 이름 수가 늘어도 조회는 후보 수만큼만 걸린다
+//  - 이름 수는 max-names 까지 (넘치면 새 이름은 다음 재구성 때까지 빠짐), 이름은 앞 MAX_NAME_LENGTH 글자만 색인
+// 시작할 때 menu_option 을 (menu, type, price) 로 묶어서 스트리밍으로 읽어 만들고, 이후에는 메뉴 옵션
+// 추가 / 수정 / 삭제와 라운드 / 팀 단위 일괄 삭제를 커밋 후에 반영한다. rebuild-interval 마다 다시 만들어서
+// max-names 때문에 빠졌던 이름을 채운다 (다시 읽는 동안 들어온 변경분은 새 인덱스에 다시 적용)
+@Component
+@Slf4j
+public class MenuSuggestIndex implements MeterBinder {
+
+    private static final int MAX_NAME_LENGTH = 50;
+    private static final int MAX_LIMIT = 20;
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String SCAN_SQL = "select menu, type, price, count(*) from menu_option"
+            + " where menu is not null group by menu, type, price order by count(*) desc";
+    // 일괄 삭제 전에 빠질 등록 횟수를 읽어 둔다
+    private static final String ROUND_SQL = "select menu, type, price, count(*) from menu_option"
+            + " where round_id = ? and menu is not null group by menu, type, price";
+    private static final String TEAM_SQL = "select o.menu, o.type, o.price, count(*) from menu_option o"
+            + " join lunch_round r on r.id = o.round_id where r.team_id = ? and o.menu is not null"
+            + " group by o.menu, o.type, o.price";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxNames;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Index index;
+    // 변경분 반영과 인덱스 교체를 묶는 lock. 재구성 중이면 변경분을 rebuildLog 에도 남긴다
+    private final Object deltaLock = new Object();
+    private List<Delta> rebuildLog;
+
+    public MenuSuggestIndex(JdbcTemplate jdbcTemplate,
+                            @Value("${menu-suggest.max-names:10000}") int maxNames) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxNames = maxNames;
+        this.index = new Index();
+    }
+
+    // q 를 포함하는 메뉴 이름 - 앞부분이 일치하는 이름 먼저, 그다음 등록 횟수 순
+    // type / minPrice / maxPrice 가 있으면 그 조건에 맞는 등록만 센다
+    public List<MenuSuggestion> suggest(String q, String type, Integer minPrice, Integer maxPrice, int limit) {
+        String query = normalize(q);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        Index current = index;
+        Set<String> candidates = current.candidates(query);
+        if (candidates == null) {
+            return List.of();
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (String name : candidates) {
+            Entry entry = current.names.get(name);
+            if (entry == null) {
+                continue;
+            }
+            int position = entry.normalized.indexOf(query);
+            if (position < 0) {
+                continue;
+            }
+            Match match = entry.match(type, minPrice, maxPrice, position == 0);
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+        matches.sort(Comparator.comparing(Match::prefix).reversed()
+                .thenComparing(Comparator.comparingLong(Match::count).reversed())
+                .thenComparing(Match::menu));
+        return matches.stream()
+                .limit(Math.max(1, Math.min(limit, MAX_LIMIT)))
+                .map(match -> new MenuSuggestion(match.menu(), match.type(), match.price(), match.count()))
+                .toList();
+    }
+
+    // 메뉴 옵션이 추가되면 (트랜잭션 안이면 커밋 후에)
+    public void added(String menu, String type, Integer price) {
+        afterCommit(() -> apply(menu, type, price, 1));
+    }
+
+    // 메뉴 옵션이 삭제되거나 수정 전 값이 사라지면 (트랜잭션 안이면 커밋 후에)
+    public void removed(String menu, String type, Integer price) {
+        afterCommit(() -> apply(menu, type, price, -1));
+    }
+
+    // 라운드의 메뉴 옵션을 한 번에 지우기 전에 호출 (SELECT 한 번, 커밋 후에 빠진다)
+    public void roundClearing(Long roundId) {
+        clearing(ROUND_SQL, roundId);
+    }
+
+    // 팀의 라운드 / 메뉴 옵션을 한 번에 지우기 전에 호출
+    public void teamClearing(Long teamId) {
+        clearing(TEAM_SQL, teamId);
+    }
+
+    // menu_option 을 다시 읽어서 새 인덱스로 교체. 읽는 동안에도 이전 인덱스로 조회된다
+    // 읽는 동안 커밋된 변경분은 이전 인덱스에 적용되면서 rebuildLog 에 쌓이고, 교체 직전에 새 인덱스에 다시 적용된다
+    // (SELECT 가 이미 본 커밋이 afterCommit 을 늦게 실행하면 한 번 더 셀 수 있지만 다음 재구성에서 맞춰진다)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${menu-suggest.rebuild-interval:1h}",
+            initialDelayString = "${menu-suggest.rebuild-interval:1h}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        Index rebuilt = new Index();
+        List<Delta> changes = new ArrayList<>();
+        synchronized (deltaLock) {
+            rebuildLog = changes;
+        }
+        try {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(SCAN_SQL);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                rebuilt.add(rs.getString(1), rs.getString(2), rs.getObject(3, Integer.class), rs.getLong(4), maxNames);
+            });
+            synchronized (deltaLock) {
+                changes.forEach(change -> rebuilt.add(change.menu(), change.type(), change.price(), change.delta(), maxNames));
+                index = rebuilt;
+            }
+        } finally {
+            synchronized (deltaLock) {
+                rebuildLog = null;
+            }
+        }
+        log.info("Menu suggest index rebuilt: {} names in {} ms", rebuilt.names.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public int size() {
+        return index.names.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("menu.suggest.names", this, MenuSuggestIndex::size)
+                .description("자동완성 인덱스의 메뉴 이름 수")
+                .register(registry);
+        Gauge.builder("menu.suggest.dropped", dropped, AtomicLong::get)
+                .description("max-names 를 넘어서 색인하지 못한 새 이름 수")
+                .register(registry);
+    }
+
+    private void clearing(String sql, Long id) {
+        if (id == null) {
+            return;
+        }
+        List<Delta> removed = jdbcTemplate.query(sql,
+                (rs, rowNum) -> new Delta(rs.getString(1), rs.getString(2), rs.getObject(3, Integer.class), -rs.getLong(4)), id);
+        afterCommit(() -> removed.forEach(change -> apply(change.menu(), change.type(), change.price(), change.delta())));
+    }
+
+    private void apply(String menu, String type, Integer price, long delta) {
+        if (menu == null) {
+            return;
+        }
+        synchronized (deltaLock) {
+            if (rebuildLog != null) {
+                rebuildLog.add(new Delta(menu, type, price, delta));
+            }
+            if (!index.add(menu, type, price, delta, maxNames)) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(Math.min(value.length(), MAX_NAME_LENGTH));
+        for (int i = 0; i < value.length() && normalized.length() < MAX_NAME_LENGTH; i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private record Variant(String type, Integer price) {
+    }
+
+    private record Delta(String menu, String type, Integer price, long delta) {
+    }
+
+    private record Match(String menu, String type, Integer price, long count, boolean prefix) {
+    }
+
+    private static final class Entry {
+        private final String menu;
+        private final String normalized;
+        // (type, price) -> 등록 횟수 (Index 의 lock 안에서만 바뀜)
+        private final Map<Variant, Long> variants = new ConcurrentHashMap<>();
+
+        private Entry(String menu) {
+            this.menu = menu;
+            this.normalized = normalize(menu);
+        }
+
+        private Match match(String type, Integer minPrice, Integer maxPrice, boolean prefix) {
+            long count = 0;
+            Variant top = null;
+            long topCount = 0;
+            for (Map.Entry<Variant, Long> variant : variants.entrySet()) {
+                Variant v = variant.getKey();
+                if (type != null && !type.equalsIgnoreCase(v.type())) {
+                    continue;
+                }
+                if ((minPrice != null || maxPrice != null) && v.price() == null) {
+                    continue;
+                }
+                if (minPrice != null && v.price() < minPrice || maxPrice != null && v.price() > maxPrice) {
+                    continue;
+                }
+                count += variant.getValue();
+                if (variant.getValue() > topCount) {
+                    top = v;
+                    topCount = variant.getValue();
+                }
+            }
+            return top == null ? null : new Match(menu, top.type(), top.price(), count, prefix);
+        }
+    }
+
+    // 이름 -> Entry, 글자 / bigram -> 이름 목록. 쓰기는 lock 안에서, 읽기는 lock 없이
+    private static final class Index {
+        private final Map<String, Entry> names = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> grams = new ConcurrentHashMap<>();
+        private final Object lock = new Object();
+
+        // 1글자 검색은 글자 인덱스, 그 이상은 검색어의 bigram 중 가장 적은 이름을 가진 목록
+        private Set<String> candidates(String query) {
+            if (query.length() == 1) {
+                return grams.get(query);
+            }
+            Set<String> smallest = null;
+            for (int i = 0; i + 2 <= query.length(); i++) {
+                Set<String> postings = grams.get(query.substring(i, i + 2));
+                if (postings == null) {
+                    return null;
+                }
+                if (smallest == null || postings.size() < smallest.size()) {
+                    smallest = postings;
+                }
+            }
+            return smallest;
+        }
+
+        // 새 이름인데 maxNames 가 찼으면 false
+        private boolean add(String menu, String type, Integer price, long delta, int maxNames) {
+            synchronized (lock) {
+                Entry entry = names.get(menu);
+                if (entry == null) {
+                    if (delta <= 0) {
+                        return true;
+                    }
+                    if (names.size() >= maxNames) {
+                        return false;
+                    }
+                    entry = new Entry(menu);
+                    names.put(menu, entry);
+                    forEachGram(entry.normalized, gram -> grams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(menu));
+                }
+
+                Variant variant = new Variant(type, price);
+                long count = entry.variants.getOrDefault(variant, 0L) + delta;
+                if (count > 0) {
+                    entry.variants.put(variant, count);
+                } else {
+                    entry.variants.remove(variant);
+                }
+                if (entry.variants.isEmpty()) {
+                    names.remove(menu);
+                    forEachGram(entry.normalized, gram -> grams.computeIfPresent(gram, (key, postings) -> {
+                        postings.remove(menu);
+                        return postings.isEmpty() ? null : postings;
+                    }));
+                }
+                return true;
+            }
+        }
+
+        private static void forEachGram(String normalized, Consumer<String> action) {
+            Map<String, Boolean> seen = new HashMap<>();
+            for (int i = 0; i < normalized.length(); i++) {
+                String unigram = normalized.substring(i, i + 1);
+                if (seen.putIfAbsent(unigram, Boolean.TRUE) == null) {
+                    action.accept(unigram);
+                }
+                if (i + 2 <= normalized.length()) {
+                    String bigram = normalized.substring(i, i + 2);
+                    if (seen.putIfAbsent(bigram, Boolean.TRUE) == null) {
+                        action.accept(bigram);
+                    }
+                }
+            }
+        }
+    }
+}
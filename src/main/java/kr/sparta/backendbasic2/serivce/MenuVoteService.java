@@ -0,0 +1,253 @@
+package kr.sparta.backendbasic2.serivce;
+
+import jakarta.annotation.PreDestroy;
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import kr.sparta.backendbasic2.dto.VoteTally;
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// 점심 직전에 모두가 한꺼번에 투표해도 DB 의 한 행(카운터)에 락이 몰리지 않도록
+//  - 투표는 메모리에서만 처리: 사용자별 표(ballots) + 메뉴별 LongAdder 카운터
+//  - 바뀐 표만 pending 에 모아뒀다가 주기적으로 menu_vote 에 배치 insert / update (PendingUpserts)
+//  - 카운터는 저장하지 않고 표에서 다시 계산하므로 DB 와 어긋날 일이 없다
+// 재시작(비정상 종료 포함) 후에는 라운드를 처음 조회할 때 menu_vote 에서 표를 다시 읽어 집계한다.
+// vote.tally-idle-ttl 동안 쓰지 않은 라운드 집계는 메모리에서 내린다 (저장 대기 중인 표가 없을 때만, 다시 쓰면 위처럼 복구)
+// 마지막 flush 이후 (최대 vote.flush-interval) 의 투표는 비정상 종료 시 유실될 수 있다.
+@Service
+@Slf4j
+public class MenuVoteService {
+
+    private static final String SELECT_SQL = "select voter_id, menu_option_id from menu_vote where round_id = ?";
+    private static final String INSERT_SQL = "insert into menu_vote (round_id, voter_id, menu_option_id) values (?, ?, ?)";
+    private static final String STORED_SQL = "select voter_id from menu_vote where round_id = ?";
+    private static final String UPDATE_SQL = "update menu_vote set menu_option_id = ? where round_id = ? and voter_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MenuOptionService menuOptionService;
+
+    // 최근에 쓴 라운드만 (evictIdleTallies)
+    private final Map<Long, RoundTally> tallies = new ConcurrentHashMap<>();
+    // 아직 DB 에 쓰지 않은 표 (같은 사용자가 여러 번 바꾸면 마지막 것만 남는다)
+    private final PendingUpserts<Ballot> pending;
+
+    public MenuVoteService(JdbcTemplate jdbcTemplate, MenuOptionService menuOptionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.menuOptionService = menuOptionService;
+        this.pending = PendingUpserts.latest(jdbcTemplate,
+                INSERT_SQL, (ps, ballot, optionId) -> {
+                    ps.setLong(1, ballot.roundId());
+                    ps.setString(2, ballot.voterId());
+                    ps.setLong(3, optionId);
+                },
+                UPDATE_SQL, (ps, ballot, optionId) -> {
+                    ps.setLong(1, optionId);
+                    ps.setLong(2, ballot.roundId());
+                    ps.setString(3, ballot.voterId());
+                });
+    }
+
+    // 투표 / 투표 변경 - DB 를 거치지 않는다 (메뉴 목록은 MenuOptionCache 에서)
+    public VoteTally vote(Long roundId, String voterId, Long menuOptionId) {
+        boolean inRound = menuOptionService.getMenuOptionResponses(roundId).stream()
+                .anyMatch(option -> option.id().equals(menuOptionId));
+        if (!inRound) {
+            throw new RuntimeException("MenuOption " + menuOptionId + " not found in round: " + roundId);
+        }
+
+        while (true) {
+            RoundTally tally = tally(roundId);
+            Long[] replaced = new Long[1];
+            // 같은 사용자의 동시 요청끼리만 직렬화된다 (compute 는 키 단위 락)
+            tally.ballots.compute(voterId, (voter, previous) -> {
+                if (!menuOptionId.equals(previous)) {
+                    if (previous != null) {
+                        tally.add(previous, -1);
+                    }
+                    tally.add(menuOptionId, 1);
+                    pending.add(new Ballot(roundId, voter), menuOptionId);
+                    replaced[0] = previous;
+                }
+                return menuOptionId;
+            });
+            // 메뉴 확인(캐시) 과 표 반영 사이에 그 메뉴가 지워졌으면 (onRoundEvent 가 먼저 정리) 되돌린다
+            if (tally.deletedOptions.contains(menuOptionId)) {
+                undo(tally, roundId, voterId, menuOptionId, replaced[0]);
+                throw new RuntimeException("MenuOption " + menuOptionId + " not found in round: " + roundId);
+            }
+            // 그 사이 집계가 메모리에서 내려갔으면 새로 읽은 집계에 다시 반영 (pending 의 표는 그대로 저장된다)
+            if (tallies.get(roundId) == tally) {
+                return tally.snapshot(roundId);
+            }
+        }
+    }
+
+    // 지워진 메뉴에 들어간 표를 빼고 이전 표로 (이전 표도 지워진 메뉴면 표 없음)
+    private void undo(RoundTally tally, Long roundId, String voterId, Long menuOptionId, Long previous) {
+        Ballot ballot = new Ballot(roundId, voterId);
+        tally.ballots.computeIfPresent(voterId, (voter, current) -> {
+            if (!menuOptionId.equals(current)) {
+                return current;
+            }
+            tally.add(menuOptionId, -1);
+            if (previous != null && !tally.deletedOptions.contains(previous)) {
+                tally.add(previous, 1);
+                pending.add(ballot, previous);
+                return previous;
+            }
+            return null;
+        });
+        // onRoundEvent 가 표를 먼저 지웠어도 저장 대기 목록에는 남아 있을 수 있다
+        pending.remove(ballot, menuOptionId);
+    }
+
+    public VoteTally getTally(Long roundId) {
+        return tally(roundId).snapshot(roundId);
+    }
+
+    // 바뀐 표를 배치로 저장. DB 에 이미 있는 표는 update, 처음 투표한 사용자는 insert
+    @Scheduled(fixedDelayString = "${vote.flush-interval:1s}")
+    public void flush() {
+        pending.flush(ballot -> {
+            RoundTally tally = tallies.get(ballot.roundId());
+            return tally != null && tally.stored.contains(ballot.voterId());
+        }, ballot -> {
+            RoundTally tally = tallies.get(ballot.roundId());
+            if (tally != null) {
+                tally.stored.add(ballot.voterId());
+            }
+        });
+    }
+
+    // 한 주기 동안 쓰지 않은 라운드 집계를 내린다 (표는 menu_vote 에 있으므로 다음에 쓸 때 다시 읽는다)
+    // 저장 대기 중인 표가 있는 라운드는 flush 가 끝난 다음 주기까지 남겨둔다
+    @Scheduled(fixedDelayString = "${vote.tally-idle-ttl:30m}", initialDelayString = "${vote.tally-idle-ttl:30m}")
+    public void evictIdleTallies() {
+        Set<Long> pendingRounds = pending.keys().stream()
+                .map(Ballot::roundId)
+                .collect(Collectors.toSet());
+        tallies.forEach((roundId, tally) -> {
+            if (!tally.touched.getAndSet(false) && !pendingRounds.contains(roundId)) {
+                tallies.remove(roundId, tally);
+            }
+        });
+    }
+
+    // 종료 직전에 남은 표를 저장
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} pending votes on shutdown", pending.size(), e);
+        }
+    }
+
+    // 메뉴 / 라운드가 지워지면 그 표도 지운다 (커밋 후)
+    // menu_vote 행은 DB 가 지운다 - 메뉴 단건 삭제는 FK 의 on delete cascade, 메뉴 전체 / 라운드 삭제는 같은 트랜잭션의 DELETE
+    // 메모리 정리는 flush 와 겹치지 않도록 pending 락 안에서 (꺼내서 저장 중인 표가 지워진 메뉴로 쓰이는 일이 없도록)
+    // 그래도 늦게 저장되는 표는 FK 위반으로 DB 가 거절하고 PendingUpserts 가 버린다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoundEvent(LunchRoundEvent event) {
+        if (LunchRoundEvent.MENU_OPTION_DELETED.equals(event.name())) {
+            Long roundId = event.roundId();
+            Long optionId = (Long) ((Map<?, ?>) event.data()).get("id");
+            pending.locked(() -> {
+                RoundTally tally = tallies.get(roundId);
+                if (tally != null) {
+                    tally.deletedOptions.add(optionId);
+                    tally.ballots.forEach((voter, option) -> {
+                        if (optionId.equals(option) && tally.ballots.remove(voter, option)) {
+                            tally.add(option, -1);
+                        }
+                    });
+                    // cascade 로 지워진 행이 있으므로 insert / update 구분을 DB 기준으로 다시
+                    tally.stored.retainAll(new HashSet<>(jdbcTemplate.queryForList(STORED_SQL, String.class, roundId)));
+                }
+                pending.removeIf((ballot, option) -> ballot.roundId().equals(roundId) && optionId.equals(option));
+            });
+        } else if (LunchRoundEvent.MENU_OPTIONS_CLEARED.equals(event.name())
+                || LunchRoundEvent.ROUND_DELETED.equals(event.name())) {
+            tallies.remove(event.roundId());
+            pending.removeIf(ballot -> ballot.roundId().equals(event.roundId()));
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    int tallyCount() {
+        return tallies.size();
+    }
+
+    // 라운드 집계를 처음 쓸 때 menu_vote 에서 복구. 지금은 없는 메뉴에 대한 표는 세지 않는다
+    // (DB 조회는 computeIfAbsent 밖에서 - 가상 스레드 pinning 방지)
+    private RoundTally tally(Long roundId) {
+        RoundTally tally = tallies.get(roundId);
+        if (tally != null) {
+            tally.touched.set(true);
+            return tally;
+        }
+        Set<Long> options = menuOptionService.getMenuOptionResponses(roundId).stream()
+                .map(MenuOptionResponse::id)
+                .collect(Collectors.toSet());
+        RoundTally loaded = new RoundTally();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            String voterId = rs.getString(1);
+            long optionId = rs.getLong(2);
+            loaded.stored.add(voterId);
+            if (options.contains(optionId)) {
+                loaded.ballots.put(voterId, optionId);
+                loaded.add(optionId, 1);
+            }
+        }, roundId);
+        RoundTally existing = tallies.putIfAbsent(roundId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private record Ballot(Long roundId, String voterId) {
+    }
+
+    private static final class RoundTally {
+        // voterId -> menuOptionId
+        private final Map<String, Long> ballots = new ConcurrentHashMap<>();
+        // menuOptionId -> 득표 수 (스레드별로 나눠서 더하므로 경합이 적다)
+        private final Map<Long, LongAdder> counts = new ConcurrentHashMap<>();
+        // menu_vote 에 행이 있는 사용자 (flush 때 insert / update 구분)
+        private final Set<String> stored = ConcurrentHashMap.newKeySet();
+        // 이 집계를 읽은 뒤에 지워진 메뉴 (vote 가 캐시로 확인한 뒤 늦게 들어온 표를 되돌리는 데 사용)
+        private final Set<Long> deletedOptions = ConcurrentHashMap.newKeySet();
+        // 지난 evictIdleTallies 이후에 쓰였는지
+        private final AtomicBoolean touched = new AtomicBoolean(true);
+
+        private void add(Long optionId, long delta) {
+            counts.computeIfAbsent(optionId, id -> new LongAdder()).add(delta);
+        }
+
+        private VoteTally snapshot(Long roundId) {
+            Map<Long, Long> result = new TreeMap<>();
+            long total = 0;
+            for (Map.Entry<Long, LongAdder> entry : counts.entrySet()) {
+                long count = entry.getValue().sum();
+                if (count > 0) {
+                    result.put(entry.getKey(), count);
+                    total += count;
+                }
+            }
+            return new VoteTally(roundId, result, total);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package kr.sparta.backendbasic2.serivce;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// 메모리에서 바뀐 값을 키별로 모아뒀다가 insert / update 배치로 저장하는 write-behind 공통 부분 (MenuVoteService, TeamLunchStats)
+//  - latest: 같은 키는 마지막 값만 남는다 (표). 다시 써도 결과가 같으므로 트랜잭션 없이
+//  - additive: 변경분을 더한다 (카운터, 합이 0 이면 지움). update 는 cnt = cnt + ? 이므로 한 트랜잭션으로
+// flush 는 대기 목록을 꺼내서 DB 에 행이 있는 키는 update, 없는 키는 insert 하고, 실패하면 꺼낸 값을 다시 넣는다.
+// 배치가 제약 위반으로 실패하면 한 건씩 다시 쓴다 (additive 는 배치에서 이미 들어간 행이 두 번 더해지지 않도록 savepoint 로 되돌린 뒤에)
+//  - 중복 키 (다른 인스턴스가 먼저 만들었거나 이전 flush 가 중간에 실패): insert -> 실패하면 update
+//  - 그 밖의 위반 (예: 저장 직전에 지워진 메뉴를 가리키는 표 -> FK 위반): 그 행만 버리고 로그를 남긴다
+//    다시 넣어도 계속 실패하므로 나머지 행까지 막지 않도록
+@Slf4j
+final class PendingUpserts<K> {
+
+    private static final int BATCH_SIZE = 500;
+
+    // 키와 값을 SQL 파라미터로
+    interface Binder<K> {
+        void bind(PreparedStatement ps, K key, long value) throws SQLException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactions;
+    private final boolean additive;
+    private final BinaryOperator<Long> combine;
+    private final String insertSql;
+    private final Binder<K> insertBinder;
+    private final String updateSql;
+    private final Binder<K> updateBinder;
+
+    // 아직 DB 에 쓰지 않은 값
+    private final Map<K, Long> pending = new ConcurrentHashMap<>();
+    // flush 가 꺼내서 저장하고 있는 값
+    private volatile Map<K, Long> flushing = Map.of();
+    // flush 와 호출하는 쪽의 다른 DB 쓰기를 한 번에 하나씩 - JDBC 호출을 감싸므로 synchronized 대신 (가상 스레드 pinning 방지)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private PendingUpserts(JdbcTemplate jdbcTemplate, TransactionOperations transactions, boolean additive,
+                           String insertSql, Binder<K> insertBinder, String updateSql, Binder<K> updateBinder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = transactions;
+        this.additive = additive;
+        this.combine = additive ? PendingUpserts::sum : (previous, next) -> next;
+        this.insertSql = insertSql;
+        this.insertBinder = insertBinder;
+        this.updateSql = updateSql;
+        this.updateBinder = updateBinder;
+    }
+
+    static <K> PendingUpserts<K> latest(JdbcTemplate jdbcTemplate,
+                                        String insertSql, Binder<K> insertBinder, String updateSql, Binder<K> updateBinder) {
+        return new PendingUpserts<>(jdbcTemplate, TransactionOperations.withoutTransaction(), false,
+                insertSql, insertBinder, updateSql, updateBinder);
+    }
+
+    static <K> PendingUpserts<K> additive(JdbcTemplate jdbcTemplate, TransactionOperations transactions,
+                                          String insertSql, Binder<K> insertBinder, String updateSql, Binder<K> updateBinder) {
+        return new PendingUpserts<>(jdbcTemplate, transactions, true, insertSql, insertBinder, updateSql, updateBinder);
+    }
+
+    void add(K key, long value) {
+        pending.merge(key, value, combine);
+    }
+
+    // 저장하기 전에 값이 그대로일 때만 지운다
+    boolean remove(K key, long value) {
+        return pending.remove(key, value);
+    }
+
+    void removeIf(Predicate<K> filter) {
+        pending.keySet().removeIf(filter);
+    }
+
+    void removeIf(BiPredicate<K, Long> filter) {
+        pending.entrySet().removeIf(entry -> filter.test(entry.getKey(), entry.getValue()));
+    }
+
+    // 대기 중이거나 저장 중인 키
+    Set<K> keys() {
+        Set<K> keys = new HashSet<>(pending.keySet());
+        keys.addAll(flushing.keySet());
+        return keys;
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    // flush 와 겹치면 안 되는 DB 쓰기 (재계산으로 행을 덮어쓰기 등)
+    void locked(Runnable action) {
+        writeLock.lock();
+        try {
+            action.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // stored: DB 에 이미 행이 있는 키인지 (update / insert 구분), onStored: 저장이 끝난 키
+    void flush(Predicate<K> stored, Consumer<K> onStored) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Map<K, Long> drained = new HashMap<>();
+            for (K key : List.copyOf(pending.keySet())) {
+                // 꺼내는 사이에 들어온 값은 새 항목으로 쌓여서 다음 flush 에서 저장된다
+                Long value = pending.remove(key);
+                if (value != null) {
+                    drained.put(key, value);
+                }
+            }
+            flushing = drained;
+
+            List<Map.Entry<K, Long>> inserts = new ArrayList<>();
+            List<Map.Entry<K, Long>> updates = new ArrayList<>();
+            drained.entrySet().forEach(entry -> (stored.test(entry.getKey()) ? updates : inserts).add(entry));
+            try {
+                transactions.executeWithoutResult(status -> {
+                    Object savepoint = additive ? status.createSavepoint() : null;
+                    try {
+                        if (!updates.isEmpty()) {
+                            jdbcTemplate.batchUpdate(updateSql, updates, BATCH_SIZE,
+                                    (ps, entry) -> updateBinder.bind(ps, entry.getKey(), entry.getValue()));
+                        }
+                        if (!inserts.isEmpty()) {
+                            jdbcTemplate.batchUpdate(insertSql, inserts, BATCH_SIZE,
+                                    (ps, entry) -> insertBinder.bind(ps, entry.getKey(), entry.getValue()));
+                        }
+                    } catch (DataIntegrityViolationException e) {
+                        if (savepoint != null) {
+                            status.rollbackToSavepoint(savepoint);
+                        }
+                        updates.forEach(this::update);
+                        inserts.forEach(this::upsert);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // 꺼낸 뒤에 들어온 값이 있으면 그 위에 (latest 는 새 값이 남는다)
+                drained.forEach((key, value) -> pending.merge(key, value, (newer, older) -> combine.apply(older, newer)));
+                throw e;
+            }
+            drained.keySet().forEach(onStored);
+        } finally {
+            flushing = Map.of();
+            writeLock.unlock();
+        }
+    }
+
+    // 한 건씩 - 실패한 문장만 취소되고 트랜잭션은 이어진다 (MySQL / H2)
+    private void upsert(Map.Entry<K, Long> entry) {
+        try {
+            jdbcTemplate.update(insertSql, ps -> insertBinder.bind(ps, entry.getKey(), entry.getValue()));
+        } catch (DuplicateKeyException e) {
+            update(entry);
+        } catch (DataIntegrityViolationException e) {
+            rejected(entry, e);
+        }
+    }
+
+    private void update(Map.Entry<K, Long> entry) {
+        try {
+            jdbcTemplate.update(updateSql, ps -> updateBinder.bind(ps, entry.getKey(), entry.getValue()));
+        } catch (DataIntegrityViolationException e) {
+            rejected(entry, e);
+        }
+    }
+
+    private void rejected(Map.Entry<K, Long> entry, DataIntegrityViolationException e) {
+        log.warn("Dropped {}={} rejected by the database: {}", entry.getKey(), entry.getValue(), e.getMostSpecificCause().getMessage());
+    }
+
+    // 합이 0 이면 항목을 지운다 (+1 / -1 이 상쇄된 카운터는 쓸 필요 없음)
+    private static Long sum(Long a, Long b) {
+        long sum = a + b;
+        return sum == 0 ? null : sum;
+    }
+}
@@ -0,0 +1,32 @@
+package kr.sparta.backendbasic2.serivce;
+
+import java.util.function.Supplier;
+
+// 복제 지연이 있으면 안 되는 읽기를 primary 로 보낸다
+// 공유 캐시(MenuOptionCache, UserPrincipalCache) 를 채우는 조회는 모든 사용자에게 퍼지므로
+// 복제본의 옛날 값이 들어가면 TTL 동안 그대로 남는다 -> 캐시 로딩은 항상 primary 에서
+// ReplicaRoutingDataSource 가 커넥션을 고를 때 확인한다 (라우팅을 쓰지 않으면 아무 일도 하지 않음)
+// 커넥션을 얻는 시점에만 보므로, 이미 커넥션을 잡은 트랜잭션 안에서 부르면 효과가 없다
+public final class PrimaryRead {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryRead() {
+    }
+
+    public static <T> T run(Supplier<T> read) {
+        if (isActive()) {
+            return read.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
@@ -0,0 +1,208 @@
+package kr.sparta.backendbasic2.serivce;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+// 팀 하나의 통계 카운터 (TeamLunchStats) - 락은 팀마다 이 객체로 잡는다 (다른 팀의 쓰기 / 조회와 겹치지 않음)
+// stored 를 뺀 나머지는 synchronized (counters) 안에서만 다룬다
+// 조회할 때마다 통째로 복사하므로 개수를 제한한다
+//  - WEEK: 최근 MAX_WEEKS 주만 (조회도 최근 MAX_WEEKS 주까지). 새 주가 들어오면 가장 오래된 주를 버린다
+//    라운드 수는 TOTAL 로 따로 세므로 오래된 주를 버려도 그대로
+//  - MENU: MAX_MENUS 개까지. 다 차면 새 메뉴는 버리고, 다음 재계산에서 많이 나온 순으로 다시 고른다
+// 버린 카운터의 DB 행은 재계산이 팀의 행을 통째로 바꿀 때 같이 정리된다
+final class TeamCounters {
+
+    static final String TOTAL = "TOTAL";
+    static final String WEEK = "WEEK";
+    static final String PRICE = "PRICE";
+    static final String MENU = "MENU";
+
+    static final int MAX_WEEKS = 52;
+    static final int MAX_MENUS = 1000;
+
+    private static final Counter ROUNDS = new Counter(TOTAL, "", 0);
+
+    // kind 별 의미는 TeamStatCounter 참고
+    record Counter(String kind, String key, int price) {
+    }
+
+    private record Change(Counter counter, long amount) {
+    }
+
+    private final Map<Counter, Long> counts = new HashMap<>();
+    // 들고 있는 WEEK 의 key (yyyy-MM-dd 라 문자열 순서 = 날짜 순서)
+    private final TreeSet<String> weeks = new TreeSet<>();
+    private int menus;
+    // team_stat_counter 에 행이 있는 카운터 (flush 때 insert / update 구분). flush 가 락 없이 본다
+    private final Set<Counter> stored = ConcurrentHashMap.newKeySet();
+    // 다시 계산 중이면 읽기 시작한 뒤에 반영된 변경분 (한도로 버린 것까지 - 새 값 위에서는 들어갈 수 있으므로)
+    private List<Change> rebuildLog;
+
+    // 반영했으면 true (한도를 넘는 주 / 메뉴면 false) - 호출하는 쪽이 같은 락 안에서 pending 에도 넣는다
+    boolean add(Counter counter, long amount) {
+        if (rebuildLog != null) {
+            rebuildLog.add(new Change(counter, amount));
+        }
+        return put(counter, amount);
+    }
+
+    // team_stat_counter 에서 읽은 행
+    void load(Counter counter, long count) {
+        stored.add(counter);
+        if (count != 0) {
+            put(counter, count);
+        }
+    }
+
+    Map<Counter, Long> copy() {
+        return new HashMap<>(counts);
+    }
+
+    boolean isStored(Counter counter) {
+        return stored.contains(counter);
+    }
+
+    void markStored(Counter counter) {
+        stored.add(counter);
+    }
+
+    // 재계산을 시작 - 이 뒤의 변경분을 모은다. 같은 팀을 다시 계산하던 쪽이 있으면 그쪽의 교체는 취소된다
+    Object startRebuild() {
+        rebuildLog = new ArrayList<>();
+        return rebuildLog;
+    }
+
+    boolean isRebuilding(Object rebuild) {
+        return rebuildLog == rebuild;
+    }
+
+    void cancelRebuild(Object rebuild) {
+        if (rebuildLog == rebuild) {
+            rebuildLog = null;
+        }
+    }
+
+    // 다시 계산한 값 (retain 을 거친, DB 에 쓴 그대로) 으로 바꾸고 읽는 동안 모인 변경분을 다시 적용
+    // replayed: 다시 적용된 변경분 (DB 행은 읽은 값으로 덮어썼으므로 pending 에 다시 넣어야 한다)
+    void replace(Map<Counter, Long> rebuilt, BiConsumer<Counter, Long> replayed) {
+        counts.clear();
+        weeks.clear();
+        menus = 0;
+        stored.clear();
+        rebuilt.forEach(this::load);
+        for (Change change : rebuildLog) {
+            if (put(change.counter(), change.amount())) {
+                replayed.accept(change.counter(), change.amount());
+            }
+        }
+        rebuildLog = null;
+    }
+
+    // 다시 계산한 값에서 들고 있을 카운터만 - 최근 MAX_WEEKS 주, 많이 나온 메뉴 MAX_MENUS 개 (같으면 이름 순)
+    static Map<Counter, Long> retain(Map<Counter, Long> counts) {
+        List<Counter> weekCounters = new ArrayList<>();
+        List<Map.Entry<Counter, Long>> menuCounters = new ArrayList<>();
+        Map<Counter, Long> retained = new HashMap<>();
+        counts.forEach((counter, count) -> {
+            switch (counter.kind()) {
+                case WEEK -> weekCounters.add(counter);
+                case MENU -> menuCounters.add(Map.entry(counter, count));
+                default -> retained.put(counter, count);
+            }
+        });
+        weekCounters.stream()
+                .sorted(Comparator.comparing(Counter::key).reversed())
+                .limit(MAX_WEEKS)
+                .forEach(counter -> retained.put(counter, counts.get(counter)));
+        menuCounters.stream()
+                .sorted(Map.Entry.<Counter, Long>comparingByValue().reversed()
+                        .thenComparing(entry -> entry.getKey().key()))
+                .limit(MAX_MENUS)
+                .forEach(entry -> retained.put(entry.getKey(), entry.getValue()));
+        return retained;
+    }
+
+    // 날짜가 없는 라운드는 라운드 수 / 주별 통계에서 빠진다
+    static List<Counter> roundCounters(LocalDate date) {
+        if (date == null) {
+            return List.of();
+        }
+        return List.of(ROUNDS, week(date));
+    }
+
+    static Counter week(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+        return new Counter(WEEK, date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString(), 0);
+    }
+
+    // 메뉴 옵션 하나 -> MENU (이름이 있으면) + PRICE (가격이 있으면)
+    static List<Counter> optionCounters(String menu, String type, Integer price) {
+        List<Counter> counters = new ArrayList<>(2);
+        if (menu != null) {
+            counters.add(new Counter(MENU, menu, 0));
+        }
+        if (price != null) {
+            counters.add(new Counter(PRICE, type == null ? "" : type, price));
+        }
+        return counters;
+    }
+
+    private boolean put(Counter counter, long amount) {
+        boolean present = counts.containsKey(counter);
+        if (!present && !admit(counter)) {
+            return false;
+        }
+        boolean kept = counts.merge(counter, amount, TeamCounters::sum) != null;
+        if (present != kept) {
+            switch (counter.kind()) {
+                case WEEK -> {
+                    if (kept) {
+                        weeks.add(counter.key());
+                    } else {
+                        weeks.remove(counter.key());
+                    }
+                }
+                case MENU -> menus += kept ? 1 : -1;
+                default -> {
+                }
+            }
+        }
+        return true;
+    }
+
+    // 새 카운터를 받을 자리가 있는지 - 주는 더 최근이면 가장 오래된 주를 비운다
+    private boolean admit(Counter counter) {
+        return switch (counter.kind()) {
+            case WEEK -> {
+                if (weeks.size() < MAX_WEEKS) {
+                    yield true;
+                }
+                if (counter.key().compareTo(weeks.first()) < 0) {
+                    yield false;
+                }
+                counts.remove(new Counter(WEEK, weeks.pollFirst(), 0));
+                yield true;
+            }
+            case MENU -> menus < MAX_MENUS;
+            default -> true;
+        };
+    }
+
+    // 합이 0 이면 항목을 지운다 (+1 / -1 이 상쇄된 카운터는 들고 있을 필요 없음)
+    private static Long sum(Long a, Long b) {
+        long sum = a + b;
+        return sum == 0 ? null : sum;
+    }
+}
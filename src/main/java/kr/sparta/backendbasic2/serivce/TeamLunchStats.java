@@ -0,0 +1,454 @@
+package kr.sparta.backendbasic2.serivce;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import kr.sparta.backendbasic2.dto.TeamStats;
+import kr.sparta.backendbasic2.serivce.TeamCounters.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 팀 통계 (GET /teams/{id}/stats) - 페이지를 볼 때마다 lunch_round / menu_option 을 GROUP BY 하지 않도록
+//  - 팀마다 카운터 (라운드 수, 주별 라운드 수, type 별 가격 분포, 메뉴별 개수)를 메모리에 들고 있고 (TeamCounters)
+//    LunchRoundService / MenuOptionService 의 쓰기를 커밋 후에 +1 / -1 로 반영한다. 락은 팀마다 따로
+//  - 바뀐 카운터는 pending 에 모아서 flush-interval 마다 team_stat_counter 에 배치 update / insert (PendingUpserts)
+//  - 시작할 때 team_stat_counter 를 읽어서 복구 (비어 있으면 전체 재계산)
+//  - rebuild-interval 마다 팀 단위로 나눠서 병렬로 원본 테이블에서 다시 계산 (TeamStatsRebuilder) -> 비정상 종료로 잃은 변경분,
+//    다른 인스턴스의 쓰기로 생긴 차이를 맞춘다. 팀을 읽는 동안 커밋된 쓰기는 TeamCounters 에 모아 두었다가 새 값 위에 다시 적용
+// team_stat_counter 에 쓰는 곳은 flush 와 rebuild 뿐이고 pending.locked 로 한 번에 하나만 쓴다
+@Component
+@Slf4j
+public class TeamLunchStats implements MeterBinder {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_TOP = 50;
+
+    private static final String SELECT_ALL_SQL = "select team_id, kind, stat_key, price, cnt from team_stat_counter";
+    private static final String INSERT_SQL = "insert into team_stat_counter (team_id, kind, stat_key, price, cnt) values (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "update team_stat_counter set cnt = cnt + ? where team_id = ? and kind = ? and stat_key = ? and price = ?";
+    private static final String DELETE_TEAM_SQL = "delete from team_stat_counter where team_id = ?";
+    private static final String DELETE_ORPHANS_SQL = "delete from team_stat_counter where team_id not in (select id from team)";
+    private static final String ROUND_SQL = "select team_id, date from lunch_round where id = ?";
+    private static final String ROUND_OPTIONS_SQL = "select menu, type, price from menu_option where round_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TeamStatsRebuilder rebuilder;
+    // roundId -> (teamId, date). 메뉴 옵션이 바뀔 때 어느 팀 / 주의 카운터인지 찾는 용도 (라운드를 만들 때 채운다)
+    private final Cache<Long, RoundKey> rounds;
+
+    // teamId -> 카운터
+    private final Map<Long, TeamCounters> teams = new ConcurrentHashMap<>();
+    // 아직 DB 에 쓰지 않은 변경분 - 카운터와 같은 팀 락 안에서 넣는다 (재계산의 교체와 어긋나지 않도록)
+    private final PendingUpserts<TeamCounter> pending;
+    // 삭제된 팀 - 다음 flush 에서 카운터 행을 지운다
+    private final Set<Long> removedTeams = ConcurrentHashMap.newKeySet();
+
+    public TeamLunchStats(JdbcTemplate jdbcTemplate,
+                          @Value("${team-stats.rebuild-parallelism:4}") int rebuildParallelism,
+                          @Value("${team-stats.round-cache.max-size:10000}") long roundCacheSize,
+                          @Value("${team-stats.round-cache.ttl:10m}") Duration roundCacheTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        // JPA 를 거치지 않으므로 JDBC 트랜잭션으로 (insert 실패 시 savepoint 로 되돌리기 위해)
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        this.pending = PendingUpserts.additive(jdbcTemplate, transactionTemplate,
+                INSERT_SQL, (ps, key, delta) -> {
+                    bindKey(ps, 1, key);
+                    ps.setLong(5, delta);
+                },
+                UPDATE_SQL, (ps, key, delta) -> {
+                    ps.setLong(1, delta);
+                    bindKey(ps, 2, key);
+                });
+        this.rebuilder = new TeamStatsRebuilder(jdbcTemplate, rebuildParallelism);
+        this.rounds = Caffeine.newBuilder()
+                .maximumSize(roundCacheSize)
+                .expireAfterWrite(roundCacheTtl)
+                .build();
+    }
+
+    // === 쓰기 반영 - 트랜잭션 안에서 호출하면 커밋 후에 반영된다 ===
+
+    public void roundCreated(Long roundId, Long teamId, LocalDate date) {
+        rounds.put(roundId, new RoundKey(teamId, date));
+        if (teamId != null) {
+            List<Delta> deltas = new ArrayList<>();
+            TeamCounters.roundCounters(date).forEach(counter -> deltas.add(new Delta(teamId, counter, 1)));
+            afterCommit(deltas);
+        }
+    }
+
+    // 팀이 바뀌면 라운드의 메뉴 옵션도 옮겨야 하므로 그때만 메뉴 옵션을 읽는다
+    public void roundUpdated(Long roundId, Long previousTeamId, LocalDate previousDate, Long teamId, LocalDate date) {
+        rounds.put(roundId, new RoundKey(teamId, date));
+        boolean teamChanged = previousTeamId == null ? teamId != null : !previousTeamId.equals(teamId);
+        if (!teamChanged && Objects.equals(TeamCounters.week(previousDate), TeamCounters.week(date))) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>();
+        List<Counter> options = teamChanged ? optionCounters(roundId) : List.of();
+        if (previousTeamId != null) {
+            TeamCounters.roundCounters(previousDate).forEach(counter -> deltas.add(new Delta(previousTeamId, counter, -1)));
+            options.forEach(counter -> deltas.add(new Delta(previousTeamId, counter, -1)));
+        }
+        if (teamId != null) {
+            TeamCounters.roundCounters(date).forEach(counter -> deltas.add(new Delta(teamId, counter, 1)));
+            options.forEach(counter -> deltas.add(new Delta(teamId, counter, 1)));
+        }
+        afterCommit(deltas);
+    }
+
+    // 라운드를 지우기 전에 호출 (지울 메뉴 옵션을 읽어야 하므로)
+    public void roundDeleting(Long roundId) {
+        RoundKey key = roundKey(roundId);
+        rounds.invalidate(roundId);
+        if (key == null || key.teamId() == null) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>();
+        TeamCounters.roundCounters(key.date()).forEach(counter -> deltas.add(new Delta(key.teamId(), counter, -1)));
+        optionCounters(roundId).forEach(counter -> deltas.add(new Delta(key.teamId(), counter, -1)));
+        afterCommit(deltas);
+    }
+
+    // 라운드의 메뉴 옵션을 한 번에 지우기 전에 호출
+    public void menuOptionsClearing(Long roundId) {
+        RoundKey key = roundKey(roundId);
+        if (key == null || key.teamId() == null) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>();
+        optionCounters(roundId).forEach(counter -> deltas.add(new Delta(key.teamId(), counter, -1)));
+        afterCommit(deltas);
+    }
+
+    public void menuOptionAdded(Long roundId, String menu, String type, Integer price) {
+        menuOptionChanged(roundId, menu, type, price, 1);
+    }
+
+    public void menuOptionRemoved(Long roundId, String menu, String type, Integer price) {
+        menuOptionChanged(roundId, menu, type, price, -1);
+    }
+
+    // 팀의 라운드 / 메뉴 옵션은 이미 bulk delete 로 지워졌으므로 카운터만 통째로 버린다 (DB 행은 다음 flush 에서)
+    public void teamDeleted(Long teamId) {
+        Runnable action = () -> {
+            // 이 뒤에 늦게 들어온 변경분은 flush 가 버리고, 읽고 있던 재계산은 교체하지 않는다 (팀이 teams 에 없으므로)
+            teams.remove(teamId);
+            pending.removeIf(key -> key.teamId().equals(teamId));
+            removedTeams.add(teamId);
+            rounds.asMap().values().removeIf(key -> teamId.equals(key.teamId()));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // === 조회 ===
+
+    // 메모리에서만 계산 (DB 조회 없음). weeks: 최근 몇 주, top: 자주 나온 메뉴 몇 개
+    // 이 팀의 락 안에서는 복사만 (카운터 수는 TeamCounters 가 제한)
+    public TeamStats stats(Long teamId, int weeks, int top) {
+        TeamCounters counters = teams.get(teamId);
+        Map<Counter, Long> counts = Map.of();
+        if (counters != null) {
+            synchronized (counters) {
+                counts = counters.copy();
+            }
+        }
+
+        long roundCount = 0;
+        TreeMap<LocalDate, Long> weekly = new TreeMap<>(Comparator.reverseOrder());
+        Map<String, TreeMap<Integer, Long>> prices = new TreeMap<>();
+        List<TeamStats.MenuCount> menus = new ArrayList<>();
+        for (Map.Entry<Counter, Long> entry : counts.entrySet()) {
+            Counter counter = entry.getKey();
+            long count = entry.getValue();
+            if (count <= 0) {
+                continue;
+            }
+            switch (counter.kind()) {
+                case TeamCounters.TOTAL -> roundCount = count;
+                case TeamCounters.WEEK -> weekly.put(LocalDate.parse(counter.key()), count);
+                case TeamCounters.PRICE -> prices.computeIfAbsent(counter.key(), type -> new TreeMap<>()).put(counter.price(), count);
+                case TeamCounters.MENU -> menus.add(new TeamStats.MenuCount(counter.key(), count));
+                default -> {
+                }
+            }
+        }
+
+        List<TeamStats.WeekCount> roundsPerWeek = weekly.entrySet().stream()
+                .limit(Math.max(1, Math.min(weeks, TeamCounters.MAX_WEEKS)))
+                .map(entry -> new TeamStats.WeekCount(entry.getKey(), entry.getValue()))
+                .toList();
+        List<TeamStats.PriceStats> priceByType = prices.entrySet().stream()
+                .map(entry -> priceStats(entry.getKey(), entry.getValue()))
+                .toList();
+        menus.sort(Comparator.comparingLong(TeamStats.MenuCount::count).reversed()
+                .thenComparing(TeamStats.MenuCount::menu));
+        List<TeamStats.MenuCount> topMenus = List.copyOf(menus.subList(0, Math.min(menus.size(), Math.max(1, Math.min(top, MAX_TOP)))));
+        return new TeamStats(teamId, roundCount, roundsPerWeek, priceByType, topMenus);
+    }
+
+    // === 저장 / 복구 / 재계산 ===
+
+    // 바뀐 카운터를 배치로 저장. DB 에 이미 있는 카운터는 cnt + 변경분으로 update, 처음 생긴 카운터는 insert
+    // 삭제된 팀의 카운터 행을 먼저 지우고, 그 사이 팀이 사라진 변경분은 버린다
+    @Scheduled(fixedDelayString = "${team-stats.flush-interval:1s}")
+    public void flush() {
+        if (pending.isEmpty() && removedTeams.isEmpty()) {
+            return;
+        }
+        pending.locked(() -> {
+            List<Long> removed = List.copyOf(removedTeams);
+            if (!removed.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_TEAM_SQL, removed, BATCH_SIZE, (ps, teamId) -> ps.setLong(1, teamId));
+                removedTeams.removeAll(removed);
+            }
+            pending.removeIf(key -> !teams.containsKey(key.teamId()));
+            pending.flush(key -> {
+                TeamCounters counters = teams.get(key.teamId());
+                return counters != null && counters.isStored(key.counter());
+            }, key -> {
+                TeamCounters counters = teams.get(key.teamId());
+                if (counters != null) {
+                    counters.markStored(key.counter());
+                }
+            });
+        });
+    }
+
+    // 종료 직전에 남은 변경분을 저장
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} pending team stat counters on shutdown", pending.size(), e);
+        }
+    }
+
+    // team_stat_counter 에서 복구. 시작하는 사이에 반영된 변경분이 있으면 그 위에 더한다
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<Long, Map<Counter, Long>> loaded = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+            loaded.computeIfAbsent(rs.getLong(1), teamId -> new HashMap<>())
+                    .put(new Counter(rs.getString(2), rs.getString(3), rs.getInt(4)), rs.getLong(5));
+        });
+        if (loaded.isEmpty()) {
+            rebuild();
+            return;
+        }
+        loaded.forEach((teamId, counts) -> {
+            TeamCounters counters = teams.computeIfAbsent(teamId, id -> new TeamCounters());
+            synchronized (counters) {
+                counts.forEach(counters::load);
+            }
+        });
+        log.info("Team stats loaded: {} teams", loaded.size());
+    }
+
+    // 팀마다 lunch_round / menu_option 에서 다시 계산 - 조회는 rebuild-parallelism 개씩 병렬, 저장은 pending.locked 로 한 팀씩
+    @Scheduled(fixedDelayString = "${team-stats.rebuild-interval:24h}",
+            initialDelayString = "${team-stats.rebuild-interval:24h}")
+    public void rebuild() {
+        if (rebuilder.rebuildAll(this::rebuild)) {
+            pending.locked(() -> jdbcTemplate.update(DELETE_ORPHANS_SQL));
+        }
+    }
+
+    // 팀 하나 다시 계산해서 DB 행과 메모리를 교체
+    // 읽기 전에 재계산을 열어서, 읽는 동안 커밋된 변경분을 새 값 위에 다시 적용하고 pending 에도 다시 넣는다
+    // (DB 행은 읽은 값으로 덮어쓰므로 그 사이에 flush 된 변경분도 다시 저장해야 한다)
+    // 대기 중이던 나머지 변경분은 읽은 값에 이미 들어 있으므로 버린다
+    // 읽기 직전에 커밋되었지만 afterCommit 이 늦게 실행된 변경분은 두 번 셀 수 있다 - 다음 재계산에서 맞춰진다
+    void rebuild(Long teamId) {
+        TeamCounters counters = teams.computeIfAbsent(teamId, id -> new TeamCounters());
+        Object rebuild;
+        synchronized (counters) {
+            rebuild = counters.startRebuild();
+        }
+        try {
+            Map<Counter, Long> counts = rebuilder.count(teamId);
+            List<Map.Entry<Counter, Long>> rows = new ArrayList<>(counts.entrySet());
+            pending.locked(() -> {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update(DELETE_TEAM_SQL, teamId);
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+                        bindKey(ps, 1, new TeamCounter(teamId, row.getKey()));
+                        ps.setLong(5, row.getValue());
+                    });
+                });
+                synchronized (counters) {
+                    if (teams.get(teamId) != counters) {
+                        // 읽는 동안 팀이 삭제됨 - 방금 쓴 행은 다음 flush 에서 지운다
+                        removedTeams.add(teamId);
+                        return;
+                    }
+                    if (!counters.isRebuilding(rebuild)) {
+                        // 같은 팀을 나중에 시작한 재계산이 교체한다
+                        return;
+                    }
+                    pending.removeIf(key -> key.teamId().equals(teamId));
+                    counters.replace(counts, (counter, amount) -> pending.add(new TeamCounter(teamId, counter), amount));
+                }
+            });
+        } finally {
+            synchronized (counters) {
+                counters.cancelRebuild(rebuild);
+            }
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("team.stats.teams", teams, Map::size)
+                .description("메모리에 통계가 있는 팀 수")
+                .register(registry);
+        Gauge.builder("team.stats.pending", pending, PendingUpserts::size)
+                .description("team_stat_counter 에 아직 저장하지 않은 카운터 수")
+                .register(registry);
+    }
+
+    private void menuOptionChanged(Long roundId, String menu, String type, Integer price, int delta) {
+        if (roundId == null) {
+            return;
+        }
+        RoundKey key = roundKey(roundId);
+        if (key == null || key.teamId() == null) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>();
+        TeamCounters.optionCounters(menu, type, price).forEach(counter -> deltas.add(new Delta(key.teamId(), counter, delta)));
+        afterCommit(deltas);
+    }
+
+    // 캐시에 없으면 DB 에서 (캐시 로딩 락 밖에서 - 가상 스레드 pinning 방지). 없는 라운드면 null
+    private RoundKey roundKey(Long roundId) {
+        RoundKey key = rounds.getIfPresent(roundId);
+        if (key != null) {
+            return key;
+        }
+        List<RoundKey> found = jdbcTemplate.query(ROUND_SQL,
+                (rs, rowNum) -> new RoundKey(rs.getObject(1, Long.class), rs.getObject(2, LocalDate.class)), roundId);
+        if (found.isEmpty()) {
+            return null;
+        }
+        rounds.put(roundId, found.get(0));
+        return found.get(0);
+    }
+
+    private List<Counter> optionCounters(Long roundId) {
+        List<Counter> counters = new ArrayList<>();
+        jdbcTemplate.query(ROUND_OPTIONS_SQL, rs -> {
+            counters.addAll(TeamCounters.optionCounters(rs.getString(1), rs.getString(2), rs.getObject(3, Integer.class)));
+        }, roundId);
+        return counters;
+    }
+
+    private void afterCommit(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(deltas);
+                }
+            });
+        } else {
+            apply(deltas);
+        }
+    }
+
+    private void apply(List<Delta> deltas) {
+        for (Delta delta : deltas) {
+            TeamCounters counters = teams.computeIfAbsent(delta.teamId(), id -> new TeamCounters());
+            synchronized (counters) {
+                if (counters.add(delta.counter(), delta.amount())) {
+                    pending.add(new TeamCounter(delta.teamId(), delta.counter()), delta.amount());
+                }
+            }
+        }
+    }
+
+    private static void bindKey(PreparedStatement ps, int index, TeamCounter key) throws SQLException {
+        ps.setLong(index, key.teamId());
+        ps.setString(index + 1, key.counter().kind());
+        ps.setString(index + 2, key.counter().key());
+        ps.setInt(index + 3, key.counter().price());
+    }
+
+    // 가격 -> 개수 (가격 오름차순)
+    private static TeamStats.PriceStats priceStats(String type, TreeMap<Integer, Long> histogram) {
+        long options = 0;
+        long total = 0;
+        for (Map.Entry<Integer, Long> entry : histogram.entrySet()) {
+            options += entry.getValue();
+            total += (long) entry.getKey() * entry.getValue();
+        }
+        return new TeamStats.PriceStats(type.isEmpty() ? null : type, options, Math.round((double) total / options),
+                percentile(histogram, options, 0.5), percentile(histogram, options, 0.9),
+                histogram.firstKey(), histogram.lastKey());
+    }
+
+    private static int percentile(TreeMap<Integer, Long> histogram, long options, double p) {
+        long rank = Math.max(1, (long) Math.ceil(p * options));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : histogram.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= rank) {
+                return entry.getKey();
+            }
+        }
+        return histogram.lastKey();
+    }
+
+    private record RoundKey(Long teamId, LocalDate date) {
+    }
+
+    private record TeamCounter(Long teamId, Counter counter) {
+    }
+
+    private record Delta(Long teamId, Counter counter, int amount) {
+    }
+}
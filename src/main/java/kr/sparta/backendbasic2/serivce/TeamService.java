@@ -0,0 +1,88 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.dto.TeamStats;
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import kr.sparta.backendbasic2.repository.LunchRoundRepository;
+import kr.sparta.backendbasic2.repository.MenuOptionRepository;
+import kr.sparta.backendbasic2.repository.MenuVoteRepository;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TeamService {
+
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final LunchRoundRepository lunchRoundRepository;
+    private final MenuOptionRepository menuOptionRepository;
+    private final MenuVoteRepository menuVoteRepository;
+    private final MenuOptionCache menuOptionCache;
+    private final MenuSuggestIndex menuSuggestIndex;
+    private final UserPrincipalCache principalCache;
+    private final LunchRoundStatusWriteBehind statusWriteBehind;
+    private final TeamLunchStats teamLunchStats;
+    private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Team 엔티티의 cascade (사용자 / 라운드 / 메뉴 옵션을 하나씩 읽고 삭제) 대신
+    // 팀 크기와 상관없이 조회 2 + 토큰 폐기 INSERT 1 + DELETE 5 문장: 투표 -> 메뉴 옵션 -> 라운드 -> 사용자 -> 팀 (FK 순서)
+    // (+ 자동완성 인덱스에서 뺄 등록 횟수 집계 SELECT 1)
+    // 다른 팀의 라운드를 이 팀 사용자가 만든 경우에는 creator FK 위반으로 실패한다 (cascade 삭제와 동일)
+    @Transactional
+    public void deleteTeam(Long teamId) {
+        // 캐시 / SSE 정리용 - bulk delete 는 엔티티 리스너를 거치지 않으므로 미리 읽어둔다
+        List<Long> roundIds = lunchRoundRepository.findIdsByTeamId(teamId);
+        List<String> userIds = userRepository.findUserIdsByTeamId(teamId);
+        menuSuggestIndex.teamClearing(teamId);
+
+        // 지워진 사용자의 토큰이 stateless 모드에서 계속 통과하지 않도록 (사용자 행이 남아 있을 때 INSERT ... SELECT)
+        authService.revokeTeamMembers(teamId, userIds);
+        menuVoteRepository.bulkDeleteByTeamId(teamId);
+        menuOptionRepository.bulkDeleteByTeamId(teamId);
+        lunchRoundRepository.bulkDeleteByTeamId(teamId);
+        userRepository.bulkDeleteByTeamId(teamId);
+        if (teamRepository.bulkDeleteById(teamId) == 0) {
+            throw new RuntimeException("Team not found with id: " + teamId);
+        }
+
+        for (Long roundId : roundIds) {
+            statusWriteBehind.discard(roundId);
+            menuOptionCache.evict(roundId);
+            eventPublisher.publishEvent(LunchRoundEvent.roundDeleted(roundId));
+        }
+        // 커밋 전에 지우면 다른 요청이 아직 남아 있는 사용자를 다시 캐시에 채울 수 있다
+        afterCommit(() -> userIds.forEach(principalCache::evict));
+        teamLunchStats.teamDeleted(teamId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 팀 대시보드 - 존재 확인만 DB 에서, 통계는 TeamLunchStats 의 메모리 집계
+    public TeamStats getTeamStats(Long teamId, int weeks, int top) {
+        if (!teamRepository.existsById(teamId)) {
+            throw new RuntimeException("Team not found with id: " + teamId);
+        }
+        return teamLunchStats.stats(teamId, weeks, top);
+    }
+}
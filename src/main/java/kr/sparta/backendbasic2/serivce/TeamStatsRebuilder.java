@@ -0,0 +1,81 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.serivce.TeamCounters.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// 팀 통계 재계산의 조회 부분 (TeamLunchStats) - lunch_round / menu_option 에서 팀 하나씩 다시 센다
+// 팀끼리는 겹치는 것이 없으므로 rebuild-parallelism 개씩 병렬로. 센 값을 DB 행 / 메모리에 반영하는 것은 TeamLunchStats
+@Slf4j
+final class TeamStatsRebuilder {
+
+    private static final String TEAM_IDS_SQL = "select id from team";
+    // 주 단위 묶기는 DB 마다 함수가 달라서 날짜별로 세고 Java 에서 묶는다
+    private static final String TEAM_DATES_SQL = "select date, count(*) from lunch_round where team_id = ? group by date";
+    private static final String TEAM_OPTIONS_SQL = "select o.menu, o.type, o.price, count(*) from menu_option o"
+            + " join lunch_round r on r.id = o.round_id where r.team_id = ? group by o.menu, o.type, o.price";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int parallelism;
+
+    TeamStatsRebuilder(JdbcTemplate jdbcTemplate, int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.parallelism = parallelism;
+    }
+
+    // 모든 팀에 rebuild 를 병렬로 - 끝까지 돌았으면 true (실패한 팀은 로그만), 중간에 인터럽트되면 false
+    boolean rebuildAll(Consumer<Long> rebuild) {
+        long start = System.nanoTime();
+        List<Long> teamIds = jdbcTemplate.queryForList(TEAM_IDS_SQL, Long.class);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, teamIds.size())));
+        int failed = 0;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long teamId : teamIds) {
+                futures.add(executor.submit(() -> rebuild.accept(teamId)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("Failed to rebuild team stats", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Team stats rebuilt: {} teams ({} failed) in {} ms", teamIds.size(), failed, (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    // 팀 하나의 카운터 - 들고 있을 만큼만 (TeamCounters.retain)
+    Map<Counter, Long> count(Long teamId) {
+        Map<Counter, Long> counts = new HashMap<>();
+        jdbcTemplate.query(TEAM_DATES_SQL, rs -> {
+            LocalDate date = rs.getObject(1, LocalDate.class);
+            long count = rs.getLong(2);
+            TeamCounters.roundCounters(date).forEach(counter -> counts.merge(counter, count, Long::sum));
+        }, teamId);
+        jdbcTemplate.query(TEAM_OPTIONS_SQL, rs -> {
+            long count = rs.getLong(4);
+            TeamCounters.optionCounters(rs.getString(1), rs.getString(2), rs.getObject(3, Integer.class))
+                    .forEach(counter -> counts.merge(counter, count, Long::sum));
+        }, teamId);
+        return TeamCounters.retain(counts);
+    }
+}
@@ -0,0 +1,155 @@
+package kr.sparta.backendbasic2.serivce;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 폐기된 토큰(jti) 목록 - JwtAuthenticationFilter 가 요청마다 DB 없이 확인
+//  - Bloom filter: 대부분의 요청(폐기되지 않은 토큰)은 비트 몇 개만 보고 바로 통과
+//  - exact map (jti -> 토큰 만료 시각): Bloom filter 가 "있을 수도" 라고 할 때만 확인 (오탐 제거)
+// 토큰이 만료되면 폐기 기록도 필요 없으므로 purgeExpired() 에서 map 에서 지우고 Bloom filter 는 다시 만든다
+// (Bloom filter 는 지울 수 없음). revoked_token 테이블과 동기화는 AuthService 에서
+// 사용자 단위 폐기 (팀 삭제) 는 userId -> 폐기 시각으로 따로 들고 있다 (그 시각까지 발급된 토큰 전부 거절)
+@Component
+public class TokenRevocationList implements MeterBinder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private volatile BloomFilter bloom = new BloomFilter(INITIAL_CAPACITY);
+    // userId -> 폐기 시각 / 기록 만료 시각 (epoch ms). 팀 삭제 때만 생기므로 대부분 비어 있다
+    private final Map<String, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+
+    // O(1), 락 없음
+    public boolean isRevoked(String jti) {
+        return jti != null && bloom.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    // 사용자 단위로 폐기된 뒤에 발급된 토큰이 아니면 true (iat 는 초 단위라 같은 초에 발급된 토큰도 거절)
+    public boolean isRevoked(String userId, Date issuedAt) {
+        if (revokedUsers.isEmpty() || userId == null) {
+            return false;
+        }
+        UserRevocation revocation = revokedUsers.get(userId);
+        return revocation != null && (issuedAt == null || issuedAt.getTime() <= revocation.revokedAt());
+    }
+
+    public void revokeUser(String userId, Instant revokedAt, Instant expiresAt) {
+        UserRevocation revocation = new UserRevocation(revokedAt.toEpochMilli(), expiresAt.toEpochMilli());
+        revokedUsers.merge(userId, revocation,
+                (previous, next) -> previous.revokedAt() >= next.revokedAt() ? previous : next);
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        synchronized (lock) {
+            // map 에 먼저 넣어야 Bloom filter 를 본 요청이 map 에서 찾을 수 있다
+            if (revoked.put(jti, expiresAt.toEpochMilli()) != null) {
+                return;
+            }
+            if (revoked.size() > bloom.capacity) {
+                rebuild();
+            } else {
+                bloom.add(jti);
+            }
+        }
+    }
+
+    // 만료된 토큰의 기록을 지우고 지운 수를 돌려준다
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAt() <= now);
+        synchronized (lock) {
+            int before = revoked.size();
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            int removed = before - revoked.size();
+            if (removed > 0) {
+                rebuild();
+            }
+            return removed;
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.revoked.tokens", this, TokenRevocationList::size)
+                .description("메모리에 있는 폐기된 토큰 수")
+                .register(registry);
+    }
+
+    // 지금 크기의 두 배를 담을 수 있게 새로 만들어서 교체 (lock 안에서)
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(INITIAL_CAPACITY, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::add);
+        bloom = rebuilt;
+    }
+
+    private record UserRevocation(long revokedAt, long expiresAt) {
+    }
+
+    // 원소당 10비트, 해시 7개 -> 오탐률 약 1%
+    private static final class BloomFilter {
+        private static final int BITS_PER_ENTRY = 10;
+        private static final int HASHES = 7;
+
+        private final int capacity;
+        private final long bitCount;
+        private final AtomicLongArray words;
+
+        private BloomFilter(int capacity) {
+            this.capacity = capacity;
+            this.bitCount = (long) capacity * BITS_PER_ENTRY;
+            this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        }
+
+        private void add(String value) {
+            long h1 = hash(value);
+            long h2 = mix(h1);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                words.getAndUpdate((int) (bit >>> 6), word -> word | mask);
+            }
+        }
+
+        private boolean mightContain(String value) {
+            long h1 = hash(value);
+            long h2 = mix(h1);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64bit FNV-1a
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        // splitmix64 finalizer - 두 번째 해시 (홀수로 만들어서 모든 비트를 돌 수 있게)
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+            value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+            return (value ^ (value >>> 31)) | 1;
+        }
+    }
+}
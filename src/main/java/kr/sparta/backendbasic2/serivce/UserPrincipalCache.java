@@ -0,0 +1,104 @@
+package kr.sparta.backendbasic2.serivce;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import kr.sparta.backendbasic2.config.JwtPrincipal;
+import kr.sparta.backendbasic2.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// JwtAuthenticationFilter가 요청마다 user 테이블을 조회하지 않도록
+// userId -> principal 을 메모리에 잠깐 들고 있는 캐시
+// User 엔티티는 세션이 끝난 뒤에도 lazy team 프록시를 들고 있고 가변이라 여러 스레드가 나눠 쓰면 안 된다
+// -> 로딩할 때 userId / teamId / 권한만 뽑은 불변 JwtPrincipal 로 바꿔서 넣는다
+@Component
+@Slf4j
+public class UserPrincipalCache implements MeterBinder {
+
+    private final Cache<String, JwtPrincipal> cache;
+    // evict 횟수 - 로딩하는 동안 evict 가 있었는지 확인용
+    private final AtomicLong evictions = new AtomicLong();
+    private final LoadCoalescer<String, JwtPrincipal> loads = new LoadCoalescer<>();
+
+    public UserPrincipalCache(@Value("${auth.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${auth.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // 캐시에 있으면 그대로, 없으면 loader(DB 조회)로 채운다.
+    // 없는 사용자(예외)는 캐시에 남기지 않는다.
+    // cache.get(key, loader) 는 loader 를 ConcurrentHashMap.compute 의 synchronized 안에서 실행해서
+    // 가상 스레드가 JDBC 를 기다리는 동안 carrier 스레드까지 붙잡는다(pinning) -> 락 밖에서 로딩
+    // 대신 같은 사용자의 동시 로딩은 LoadCoalescer 로 한 번만
+    // 권한 변경이 복제 지연으로 늦게 반영되지 않도록 primary 에서 읽는다 (PrimaryRead)
+    public JwtPrincipal get(String userId, Function<String, User> loader) {
+        JwtPrincipal principal = cache.getIfPresent(userId);
+        if (principal != null) {
+            return principal;
+        }
+        return loads.load(userId, () -> {
+            long before = evictions.get();
+            JwtPrincipal loaded = JwtPrincipal.from(PrimaryRead.run(() -> loader.apply(userId)));
+            cache.put(userId, loaded);
+            // 로딩 중에 evict 가 있었다면 방금 넣은 값이 옛날 값일 수 있으므로 다시 지운다
+            if (evictions.get() != before) {
+                cache.invalidate(userId);
+            }
+            return loaded;
+        });
+    }
+
+    // role/team 변경 시 호출 - 트랜잭션 안이면 커밋 후에 지워야
+    // 다른 요청이 커밋 전 값을 다시 채워 넣는 일을 막을 수 있다.
+    public void evict(String userId) {
+        if (userId == null) {
+            return;
+        }
+        evictions.incrementAndGet();
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictions.incrementAndGet();
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // hit / miss / eviction 카운트
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Cache<String, JwtPrincipal> getCache() {
+        return cache;
+    }
+
+    // cache.gets{cache=userPrincipals,result=hit|miss} 로 노출
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "userPrincipals");
+    }
+}
@@ -0,0 +1,14 @@
+-- h2 프로필 기본 데이터 (Postman 컬렉션의 testuser + 부하 테스트용 사용자)
+-- id 는 IDENTITY 로 만들어지도록 넣지 않는다
+insert into team (name) values ('개발팀');
+
+insert into user (user_id, name, role, team_id)
+select 'testuser', '테스트유저', 'USER', id from team where name = '개발팀';
+
+insert into user (user_id, name, role, team_id)
+select 'admin', '관리자', 'USER,admin', id from team where name = '개발팀';
+
+-- 부하 테스트 가상 사용자 loadtest-1 ~ loadtest-500 (메뉴 삭제가 관리자 전용이라 admin 권한 포함)
+insert into user (user_id, name, role, team_id)
+select 'loadtest-' || x, 'loadtest-' || x, 'USER,admin', (select id from team where name = '개발팀')
+from system_range(1, 500);
@@ -0,0 +1,39 @@
+-- 처음 스키마 (team / user / lunch_round / menu_option)
+-- 이미 이 테이블들이 있는 DB 는 spring.flyway.baseline-on-migrate 로 V1 을 건너뛰고 V2 부터 적용한다
+create table team (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table user (
+    id bigint not null auto_increment,
+    user_id varchar(255) not null,
+    role varchar(255),
+    name varchar(255),
+    team_id bigint,
+    primary key (id),
+    constraint uk_user_user_id unique (user_id),
+    constraint fk_user_team foreign key (team_id) references team (id)
+) engine=InnoDB;
+
+create table lunch_round (
+    id bigint not null auto_increment,
+    date date,
+    status varchar(255),
+    team_id bigint,
+    creator_id bigint,
+    primary key (id),
+    constraint fk_lunch_round_team foreign key (team_id) references team (id),
+    constraint fk_lunch_round_creator foreign key (creator_id) references user (id)
+) engine=InnoDB;
+
+create table menu_option (
+    id bigint not null auto_increment,
+    menu varchar(255),
+    type varchar(255),
+    price integer,
+    round_id bigint,
+    primary key (id),
+    constraint fk_menu_option_round foreign key (round_id) references lunch_round (id)
+) engine=InnoDB;
@@ -0,0 +1,2 @@
+-- GET /lunch-rounds keyset 페이지 - (date, id) 최신순
+create index idx_lunch_round_date_id on lunch_round (date, id);
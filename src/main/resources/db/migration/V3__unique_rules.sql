@@ -0,0 +1,4 @@
+-- 중복 규칙을 조회 후 insert 대신 unique 제약으로 (DuplicateResourceException -> 409)
+-- 이미 중복된 행이 있으면 이 마이그레이션이 실패한다 - 중복을 먼저 정리하고 다시 실행할 것
+alter table lunch_round add constraint uk_lunch_round_creator_date unique (creator_id, date);
+alter table menu_option add constraint uk_menu_option_round_menu unique (round_id, menu);
@@ -0,0 +1,3 @@
+-- 낙관적 락 + ETag 용 @Version 컬럼. 기존 행은 0 으로 채운다 (null 이면 Hibernate 가 버전을 올리지 못함)
+alter table lunch_round add column version bigint not null default 0;
+alter table menu_option add column version bigint not null default 0;
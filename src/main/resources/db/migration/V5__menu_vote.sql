@@ -0,0 +1,14 @@
+-- 메뉴 투표 - 라운드마다 사용자 한 표 (MenuVoteService 가 배치로 저장)
+-- 메뉴 / 라운드가 지워지면 표도 같이 지워진다. 삭제 뒤에 늦게 저장되는 표는 FK 위반으로 거절된다
+create table menu_vote (
+    id bigint not null auto_increment,
+    round_id bigint not null,
+    voter_id varchar(255) not null,
+    menu_option_id bigint not null,
+    primary key (id),
+    constraint uk_menu_vote_round_voter unique (round_id, voter_id),
+    constraint fk_menu_vote_round foreign key (round_id) references lunch_round (id) on delete cascade,
+    constraint fk_menu_vote_menu_option foreign key (menu_option_id) references menu_option (id) on delete cascade
+) engine=InnoDB;
+
+create index idx_menu_vote_menu_option on menu_vote (menu_option_id);
@@ -0,0 +1,13 @@
+-- 폐기된 토큰 jti (사용한 refresh 토큰, 로그아웃한 토큰). 만료되면 AuthService 가 지운다
+-- all_tokens 인 행은 토큰 하나가 아니라 user_id 에게 revoked_at 이전에 발급된 토큰 전부 (팀 삭제 등 사용자 단위 폐기)
+create table revoked_token (
+    jti varchar(36) not null,
+    user_id varchar(255) not null,
+    expires_at datetime(6) not null,
+    revoked_at datetime(6) not null,
+    all_tokens boolean not null default false,
+    primary key (jti)
+) engine=InnoDB;
+
+create index idx_revoked_token_revoked_at on revoked_token (revoked_at);
+create index idx_revoked_token_expires_at on revoked_token (expires_at);
@@ -0,0 +1,11 @@
+-- 팀 통계 카운터 (TeamLunchStats). 비어 있으면 시작할 때 lunch_round / menu_option 에서 다시 계산한다
+create table team_stat_counter (
+    id bigint not null auto_increment,
+    team_id bigint not null,
+    kind varchar(8) not null,
+    stat_key varchar(255) not null,
+    price integer not null,
+    cnt bigint not null,
+    primary key (id),
+    constraint uk_team_stat_counter unique (team_id, kind, stat_key, price)
+) engine=InnoDB;
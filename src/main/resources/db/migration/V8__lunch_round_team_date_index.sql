@@ -0,0 +1,2 @@
+-- GET /teams/{teamId}/lunch-rounds - (team_id, date) 범위 + (date, id) keyset, status / creator_id 까지 넣어 커버링
+create index idx_lunch_round_team_date on lunch_round (team_id, date, id, status, creator_id);
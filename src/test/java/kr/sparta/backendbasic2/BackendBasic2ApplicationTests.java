@@ -1,13 +1,30 @@
 package kr.sparta.backendbasic2;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 @SpringBootTest
 class BackendBasic2ApplicationTests {
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    @DisplayName("복제본 라우팅을 끄면 커넥션 관리 모드는 스프링 기본값 (트랜잭션이 끝나도 EntityManager 가 커넥션을 쥔다)")
+    void routingDisabled_DefaultConnectionHandling() {
+        assertEquals(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_HOLD,
+                entityManagerFactory.getProperties().get(AvailableSettings.CONNECTION_HANDLING));
+    }
+
 }
@@ -0,0 +1,59 @@
+package kr.sparta.backendbasic2;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// db/migration 만으로 만든 스키마가 엔티티와 맞는지 (ddl-auto=validate)
+// 다른 테스트는 ddl-auto=create-drop 이라 마이그레이션이 빠져도 모른다
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("마이그레이션으로 만든 스키마 - 엔티티 검증 통과, 시작할 때 읽는 테이블이 모두 있음")
+    void migratedSchema_MatchesEntities() {
+        // when
+        String version = jdbcTemplate.queryForObject(
+                "select max(cast(\"version\" as int)) from \"flyway_schema_history\" where \"success\" = true", String.class);
+
+        // then
+        assertEquals("8", version);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from revoked_token", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from team_stat_counter", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from menu_vote", Integer.class));
+    }
+
+    @Test
+    @DisplayName("version 컬럼 추가 - 이미 있던 행은 null 이 아니라 0")
+    void versionColumns_ExistingRowsGetZero() {
+        // given - V3 까지 적용된 기존 DB 에 행이 있다
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration-version;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).target("3").load().migrate();
+        JdbcTemplate existing = new JdbcTemplate(dataSource);
+        existing.update("insert into team (name) values ('team')");
+        existing.update("insert into lunch_round (date, status, team_id) values (date '2025-01-01', 'PLANNING', 1)");
+        existing.update("insert into menu_option (menu, type, price, round_id) values ('국밥', 'KOREAN', 9000, 1)");
+
+        // when
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        // then
+        assertEquals(0L, existing.queryForObject("select version from lunch_round", Long.class));
+        assertEquals(0L, existing.queryForObject("select version from menu_option", Long.class));
+        existing.execute("drop all objects");
+    }
+}
@@ -0,0 +1,227 @@
+package kr.sparta.backendbasic2.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import kr.sparta.backendbasic2.serivce.MenuOptionService;
+import kr.sparta.backendbasic2.serivce.PrimaryRead;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 서로 다른 H2 인스턴스 두 개(primary = testdb, 복제본 = replica1)로 라우팅 확인
+// replica2 는 없는 서버 - 시작할 때 health check 에서 빠져야 한다
+// 어느 DB 로 갔는지는 H2 의 DATABASE() 로 확인
+@SpringBootTest(properties = {
+        "datasource-routing.enabled=true",
+        "datasource-routing.replica-urls=jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1,jdbc:h2:tcp://localhost:1/down",
+        "datasource-routing.replica-connection-timeout=250ms",
+        "datasource-routing.health-check-interval=1h",
+        "datasource-routing.sticky-window=1h"
+})
+class DataSourceRoutingTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MenuOptionService menuOptionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+
+    private void login(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 복제본, 쓰기 트랜잭션과 트랜잭션 밖은 primary")
+    void readOnlyTransaction_RoutedToReplica() {
+        // when & then
+        assertEquals("REPLICA1", database(true));
+        assertEquals("TESTDB", database(false));
+        assertEquals("TESTDB", jdbcTemplate.queryForObject("select database()", String.class));
+    }
+
+    @Test
+    @DisplayName("내려간 복제본은 건너뛴다")
+    void downReplica_Skipped() {
+        // given
+        ReplicaRoutingDataSource routing = (ReplicaRoutingDataSource) ((DelegatingDataSource) dataSource).getTargetDataSource();
+
+        // when & then
+        assertEquals(1, routing.healthyReplicaCount());
+        for (int i = 0; i < 4; i++) {
+            assertEquals("REPLICA1", database(true));
+        }
+    }
+
+    @Test
+    @DisplayName("쓰기를 커밋한 사용자의 읽기는 sticky-window 동안 primary")
+    void readYourWrites_AfterCommit_RoutedToPrimary() {
+        // given
+        login("writer");
+        assertEquals("REPLICA1", database(true));
+
+        // when
+        database(false);
+
+        // then
+        assertEquals("TESTDB", database(true));
+        login("reader");
+        assertEquals("REPLICA1", database(true));
+    }
+
+    @Test
+    @DisplayName("롤백된 쓰기 트랜잭션은 primary 에 붙이지 않는다")
+    void readYourWrites_Rollback_NotSticky() {
+        // given
+        login("rollback-writer");
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        // when
+        template.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("select database()", String.class);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertEquals("REPLICA1", database(true));
+    }
+
+    @Test
+    @DisplayName("PrimaryRead 안의 readOnly 트랜잭션은 primary")
+    void primaryRead_RoutedToPrimary() {
+        // when & then
+        assertEquals("TESTDB", PrimaryRead.run(() -> database(true)));
+        assertEquals("REPLICA1", database(true));
+    }
+
+    @Test
+    @DisplayName("메뉴 옵션 캐시와 ETag 는 복제본이 아니라 primary 에서 읽는다")
+    void menuOptionCacheLoad_RoutedToPrimary() {
+        // given - primary 에만 있는 라운드 (replica1 에는 테이블도 없다)
+        jdbcTemplate.update("insert into team (name) values ('routing-team')");
+        Long teamId = jdbcTemplate.queryForObject("select id from team where name = 'routing-team'", Long.class);
+        jdbcTemplate.update("insert into lunch_round (date, status, version, team_id) values (current_date, 'PLANNING', 0, ?)", teamId);
+        Long roundId = jdbcTemplate.queryForObject("select id from lunch_round where team_id = ?", Long.class, teamId);
+        jdbcTemplate.update("insert into menu_option (menu, type, price, version, round_id) values ('국밥', 'KOREAN', 9000, 0, ?)", roundId);
+
+        try {
+            // when
+            var options = menuOptionService.getMenuOptionResponses(roundId);
+            String etag = menuOptionService.getMenuOptionsEtag(roundId);
+
+            // then
+            assertEquals(1, options.size());
+            assertEquals("국밥", options.get(0).menu());
+            assertNotNull(etag);
+        } finally {
+            jdbcTemplate.update("delete from menu_option where round_id = ?", roundId);
+            jdbcTemplate.update("delete from lunch_round where id = ?", roundId);
+            jdbcTemplate.update("delete from team where id = ?", teamId);
+        }
+    }
+
+    @Test
+    @DisplayName("커넥션을 고르는 것만으로는 사용자를 primary 에 붙이지 않는다 (커밋 리스너가 있는 트랜잭션 매니저에서만)")
+    void lookup_HasNoSideEffect() {
+        // given
+        HikariDataSource primary = pool("jdbc:h2:mem:lookup-primary;DB_CLOSE_DELAY=-1", "primary");
+        HikariDataSource replica = pool("jdbc:h2:mem:lookup-replica;DB_CLOSE_DELAY=-1", "replica-1");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofHours(1));
+        try {
+            DataSource lazy = new LazyConnectionDataSourceProxy(routing);
+            JdbcTemplate jdbc = new JdbcTemplate(lazy);
+            TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(lazy));
+            login("plain-writer");
+
+            // when - 리스너가 없는 트랜잭션 매니저로 쓰기 트랜잭션 커밋
+            template.executeWithoutResult(status -> jdbc.queryForObject("select database()", String.class));
+            template.setReadOnly(true);
+
+            // then
+            assertEquals("LOOKUP-REPLICA", template.execute(status -> jdbc.queryForObject("select database()", String.class)));
+        } finally {
+            routing.close();
+        }
+    }
+
+    @Test
+    @DisplayName("라우팅을 켜면 트랜잭션이 끝날 때 커넥션을 돌려준다")
+    void connectionReleasedAfterTransaction() {
+        // when & then
+        assertEquals(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION,
+                entityManagerFactory.getProperties().get(AvailableSettings.CONNECTION_HANDLING));
+    }
+
+    @Test
+    @DisplayName("정상인 복제본이 없으면 읽기도 primary")
+    void allReplicasDown_RoutedToPrimary() {
+        // given
+        HikariDataSource primary = pool("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1", "primary");
+        HikariDataSource down = pool("jdbc:h2:tcp://localhost:1/down", "replica-1");
+        down.setConnectionTimeout(250);
+        down.setInitializationFailTimeout(-1);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(down), Duration.ZERO);
+        try {
+            routing.checkReplicas();
+            DataSource lazy = new LazyConnectionDataSourceProxy(routing);
+            TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(lazy));
+            template.setReadOnly(true);
+
+            // when
+            String database = template.execute(status ->
+                    new JdbcTemplate(lazy).queryForObject("select database()", String.class));
+
+            // then
+            assertEquals(0, routing.healthyReplicaCount());
+            assertEquals("ROUTING-PRIMARY", database);
+        } finally {
+            routing.close();
+        }
+    }
+
+    private static HikariDataSource pool(String url, String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("sa");
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,181 @@
+package kr.sparta.backendbasic2.config;
+
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.serivce.CustomUserService;
+import kr.sparta.backendbasic2.serivce.JwtTokenProvider;
+import kr.sparta.backendbasic2.serivce.TokenRevocationList;
+import kr.sparta.backendbasic2.serivce.UserPrincipalCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private CustomUserService userService;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private TokenRevocationList revocationList;
+    private JwtAuthenticationFilter filter;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        revocationList = new TokenRevocationList();
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, userService,
+                new UserPrincipalCache(100, Duration.ofMinutes(5)), revocationList);
+
+        Team testTeam = new Team();
+        testTeam.setId(7L);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUserId("testuser");
+        testUser.setRole("admin");
+        testUser.setTeam(testTeam);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest requestWithToken() {
+        String token = jwtTokenProvider.createAccessToken(
+                new UsernamePasswordAuthenticationToken(testUser, null, testUser.getAuthorities()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/lunch-rounds");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    @DisplayName("stateless 모드 - DB 조회 없이 클레임으로 인증")
+    void doFilter_StatelessPrincipal_NoUserLookup() throws Exception {
+        // given
+        filter.setStatelessPrincipal(true);
+
+        // when
+        filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        assertEquals("testuser", auth.getName());
+
+        JwtPrincipal principal = assertInstanceOf(JwtPrincipal.class, auth.getPrincipal());
+        assertEquals(7L, principal.teamId());
+        assertEquals("ROLE_admin", auth.getAuthorities().iterator().next().getAuthority());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("기본 모드 - 사용자 조회는 캐시를 거쳐 한 번만 수행")
+    void doFilter_Default_LoadsUserOnce() throws Exception {
+        // given
+        when(userService.loadUserByUsername("testuser")).thenReturn(testUser);
+
+        // when
+        filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("testuser", auth.getName());
+        // User 엔티티가 아니라 불변 principal 이 들어간다
+        JwtPrincipal principal = assertInstanceOf(JwtPrincipal.class, auth.getPrincipal());
+        assertEquals(7L, principal.teamId());
+        assertTrue(auth.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch("ROLE_admin"::equals));
+
+        verify(userService, times(1)).loadUserByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("잘못된 토큰이면 401")
+    void doFilter_InvalidToken_Unauthorized() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/lunch-rounds");
+        request.addHeader("Authorization", "Bearer invalid.token.here");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // then
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("폐기된 토큰이면 401 - DB 조회 없음")
+    void doFilter_RevokedToken_Unauthorized() throws Exception {
+        // given
+        MockHttpServletRequest request = requestWithToken();
+        String token = request.getHeader("Authorization").substring(7);
+        revocationList.revoke(jwtTokenProvider.parse(token).getId(), Instant.now().plusSeconds(3600));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // then
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("refresh 토큰으로는 API 를 호출할 수 없다")
+    void doFilter_RefreshToken_Unauthorized() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/lunch-rounds");
+        request.addHeader("Authorization", "Bearer " + jwtTokenProvider.createRefreshToken("testuser"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // then
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("stateless 모드 - 삭제된 사용자(사용자 단위 폐기) 의 토큰이면 401")
+    void doFilter_StatelessPrincipal_RevokedUser_Unauthorized() throws Exception {
+        // given - 토큰 발급 후 팀이 삭제되어 사용자 단위로 폐기
+        filter.setStatelessPrincipal(true);
+        MockHttpServletRequest request = requestWithToken();
+        revocationList.revokeUser("testuser", Instant.now(), Instant.now().plusSeconds(3600));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // then
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,150 @@
+package kr.sparta.backendbasic2.controller;
+
+import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.entity.MenuOption;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import kr.sparta.backendbasic2.serivce.LunchRoundService;
+import kr.sparta.backendbasic2.serivce.MenuOptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// If-None-Match 가 현재 ETag 와 같으면 304 + 빈 본문, 데이터가 바뀌면 새 ETag 로 200
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LunchRoundService lunchRoundService;
+
+    @Autowired
+    private MenuOptionService menuOptionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private LunchRound round;
+
+    @BeforeEach
+    void setUp() {
+        String userId = "etag-user-" + System.nanoTime();
+        Team team = new Team();
+        team.setName("etag-team");
+        teamRepository.save(team);
+
+        User creator = new User();
+        creator.setUserId(userId);
+        creator.setRole("USER");
+        creator.setTeam(team);
+        userRepository.save(creator);
+
+        LunchRound newRound = new LunchRound();
+        newRound.setDate(LocalDate.of(2024, 4, 1));
+        newRound.setStatus("PLANNING");
+        round = lunchRoundService.createLunchRound(newRound, userId);
+    }
+
+    private MenuOption menuOption(String menu) {
+        MenuOption menuOption = new MenuOption();
+        menuOption.setMenu(menu);
+        menuOption.setType("KOREAN");
+        menuOption.setPrice(8000);
+        return menuOption;
+    }
+
+    private String fetchEtag(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url).with(user("poller")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void expectNotModified(String url, String etag) throws Exception {
+        mockMvc.perform(get(url).with(user("poller")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    private void expectModified(String url, String etag) throws Exception {
+        mockMvc.perform(get(url).with(user("poller")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    @DisplayName("메뉴 목록 - 그대로면 304, 추가/수정/삭제 후에는 200")
+    void menuOptions_NotModifiedUntilChanged() throws Exception {
+        // given
+        String url = "/menu-options/" + round.getId();
+        MenuOption bibimbap = menuOptionService.addMenuOption(round.getId(), menuOption("비빔밥"));
+        String etag = fetchEtag(url);
+
+        // when & then
+        expectNotModified(url, etag);
+
+        // 추가
+        MenuOption kimchi = menuOptionService.addMenuOption(round.getId(), menuOption("김치찌개"));
+        expectModified(url, etag);
+        etag = fetchEtag(url);
+
+        // 수정 (version 이 낮은 행이어도 감지)
+        MenuOption update = menuOption("돌솥비빔밥");
+        menuOptionService.updateMenuOption(bibimbap.getId(), update);
+        expectModified(url, etag);
+        etag = fetchEtag(url);
+
+        // 삭제
+        menuOptionService.deleteMenuOption(kimchi.getId());
+        expectModified(url, etag);
+    }
+
+    @Test
+    @DisplayName("라운드 단건 - 상태가 바뀌면 version 이 올라가 새 ETag")
+    void lunchRound_NotModifiedUntilUpdated() throws Exception {
+        // given
+        String url = "/lunch-rounds/" + round.getId();
+        String etag = fetchEtag(url);
+
+        // when & then
+        expectNotModified(url, etag);
+
+        lunchRoundService.updateLunchRoundStatus(round.getId(), "CLOSED");
+        expectModified(url, etag);
+    }
+
+    @Test
+    @DisplayName("라운드 목록 - 그대로면 304")
+    void lunchRounds_NotModified() throws Exception {
+        // given
+        String etag = fetchEtag("/lunch-rounds");
+
+        // when & then
+        expectNotModified("/lunch-rounds", etag);
+
+        lunchRoundService.updateLunchRoundStatus(round.getId(), "VOTING");
+        expectModified("/lunch-rounds", etag);
+    }
+}
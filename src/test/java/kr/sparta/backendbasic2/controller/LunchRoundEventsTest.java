@@ -0,0 +1,129 @@
+package kr.sparta.backendbasic2.controller;
+
+import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.entity.MenuOption;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import kr.sparta.backendbasic2.serivce.LunchRoundEventHub;
+import kr.sparta.backendbasic2.serivce.LunchRoundService;
+import kr.sparta.backendbasic2.serivce.MenuOptionService;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// GET /lunch-rounds/{id}/events - 커밋된 변경만 SSE 로 전달되는지
+@SpringBootTest
+@AutoConfigureMockMvc
+class LunchRoundEventsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LunchRoundService lunchRoundService;
+
+    @Autowired
+    private MenuOptionService menuOptionService;
+
+    @Autowired
+    private LunchRoundEventHub lunchRoundEventHub;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private LunchRound round;
+
+    @BeforeEach
+    void setUp() {
+        String userId = "sse-user-" + System.nanoTime();
+        Team team = new Team();
+        team.setName("sse-team");
+        teamRepository.save(team);
+
+        User creator = new User();
+        creator.setUserId(userId);
+        creator.setRole("USER");
+        creator.setTeam(team);
+        userRepository.save(creator);
+
+        LunchRound newRound = new LunchRound();
+        newRound.setDate(LocalDate.of(2024, 5, 1));
+        newRound.setStatus("PLANNING");
+        round = lunchRoundService.createLunchRound(newRound, userId);
+    }
+
+    private MenuOption menuOption(String menu) {
+        MenuOption menuOption = new MenuOption();
+        menuOption.setMenu(menu);
+        menuOption.setType("KOREAN");
+        menuOption.setPrice(8000);
+        return menuOption;
+    }
+
+    private String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!response.getContentAsString(StandardCharsets.UTF_8).contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return response.getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("메뉴 추가 / 상태 변경이 커밋되면 구독자에게 전달, 롤백된 변경은 전달되지 않음")
+    void events_StreamsCommittedChanges() throws Exception {
+        // given
+        MockHttpServletResponse response = mockMvc.perform(get("/lunch-rounds/" + round.getId() + "/events").with(user("viewer")))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertEquals(1, lunchRoundEventHub.subscriberCount(round.getId()));
+
+        // when - 롤백되는 트랜잭션 안에서 추가
+        transactionTemplate.executeWithoutResult(status -> {
+            menuOptionService.addMenuOption(round.getId(), menuOption("롤백메뉴"));
+            status.setRollbackOnly();
+        });
+        menuOptionService.addMenuOption(round.getId(), menuOption("비빔밥"));
+        lunchRoundService.updateLunchRoundStatus(round.getId(), "CLOSED");
+
+        // then
+        String content = awaitContent(response, "CLOSED");
+        assertTrue(content.contains("event:" + LunchRoundEvent.MENU_OPTION_ADDED));
+        assertTrue(content.contains("비빔밥"));
+        assertTrue(content.contains("event:" + LunchRoundEvent.ROUND_UPDATED));
+        assertFalse(content.contains("롤백메뉴"));
+    }
+
+    @Test
+    @DisplayName("없는 라운드는 구독할 수 없음")
+    void events_UnknownRound_NotSubscribed() {
+        // when & then
+        assertThrows(ServletException.class, () ->
+                mockMvc.perform(get("/lunch-rounds/999999/events").with(user("viewer"))));
+        assertEquals(0, lunchRoundEventHub.subscriberCount(999999L));
+    }
+}
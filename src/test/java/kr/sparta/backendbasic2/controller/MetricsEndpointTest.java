@@ -0,0 +1,116 @@
+package kr.sparta.backendbasic2.controller;
+
+import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import kr.sparta.backendbasic2.serivce.JwtTokenProvider;
+import kr.sparta.backendbasic2.serivce.LunchRoundService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 인증된 요청 한 번 후 /actuator/prometheus 에 각 계층의 메트릭이 나오는지
+// (테스트에서는 기본으로 꺼져 있는 Prometheus registry 를 @AutoConfigureObservability 로 켠다)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "management.endpoints.web.exposure.include=health,prometheus"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private LunchRoundService lunchRoundService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private String token;
+    private Long roundId;
+
+    @BeforeEach
+    void setUp() {
+        String userId = "metrics-user-" + System.nanoTime();
+        Team team = new Team();
+        team.setName("metrics-team");
+        teamRepository.save(team);
+
+        User user = new User();
+        user.setUserId(userId);
+        user.setRole("USER");
+        user.setTeam(team);
+        userRepository.save(user);
+
+        LunchRound round = new LunchRound();
+        round.setDate(LocalDate.of(2024, 7, 1));
+        round.setStatus("PLANNING");
+        roundId = lunchRoundService.createLunchRound(round, userId).getId();
+        token = jwtTokenProvider.createAccessToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("prometheus - JWT / 사용자 조회 / 서비스 / SQL / 커넥션 풀 / 캐시 / Hibernate 메트릭 노출")
+    void prometheus_ExposesAllLayers() throws Exception {
+        // given
+        mockMvc.perform(get("/lunch-rounds/" + roundId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/menu-options/" + roundId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // when
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        assertTrue(body.contains("jwt_sign_seconds_count{token=\"access\"}"));
+        assertTrue(body.contains("jwt_parse_seconds_count{path="));
+        assertTrue(body.contains("auth_principal_lookup_seconds_count"));
+        assertTrue(body.contains("auth_user_load_seconds_count"));
+        assertTrue(body.contains("service_method_seconds_count{class=\"kr.sparta.backendbasic2.serivce.LunchRoundService\""));
+        assertTrue(body.contains("service_method_seconds_count{class=\"kr.sparta.backendbasic2.serivce.MenuOptionService\""));
+        assertTrue(body.contains("http_server_requests_sql_statements_count{method=\"GET\",uri=\"/lunch-rounds/{id}\"}"));
+        assertTrue(body.contains("hikaricp_connections_active"));
+        assertTrue(body.contains("cache_gets_total{cache=\"menuOptions\""));
+        assertTrue(body.contains("cache_gets_total{cache=\"userPrincipals\""));
+        assertTrue(body.contains("cache_gets_total{cache=\"verifiedTokens\""));
+        assertTrue(body.contains("hibernate_statements_total"));
+        assertTrue(body.contains("hibernate_flushes_total"));
+    }
+
+    @Test
+    @DisplayName("prometheus - localhost 가 아니면 접근 불가, health 는 인증 없이 가능")
+    void prometheus_OnlyLocal() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                }))
+                .andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,334 @@
+package kr.sparta.backendbasic2.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.entity.MenuOption;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import kr.sparta.backendbasic2.serivce.JwtTokenProvider;
+import kr.sparta.backendbasic2.serivce.LunchRoundService;
+import kr.sparta.backendbasic2.serivce.MenuOptionCache;
+import kr.sparta.backendbasic2.serivce.MenuOptionService;
+import kr.sparta.backendbasic2.support.SqlCount;
+import kr.sparta.backendbasic2.support.SqlCountConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 엔드포인트마다 요청 한 번에 실행되는 SQL 수를 정확히 고정한다
+// 라운드 / 메뉴가 충분히 많아서 lazy 연관관계(team, creator, round)를 행마다 읽는 N+1 이 생기면 수가 크게 달라진다
+// 인증은 user() 로 넣어서 JWT 필터의 사용자 조회는 세지 않는다 (AuthController 는 직접 확인)
+// 상태 변경은 write-behind 를 켠 상태로 센다 (기본은 꺼져 있음)
+@SpringBootTest(properties = "round-status.write-behind.enabled=true")
+@AutoConfigureMockMvc
+@Import(SqlCountConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlStatementCountTest {
+
+    private static final int TEAMS = 3;
+    private static final int USERS_PER_TEAM = 2;
+    private static final int ROUNDS_PER_USER = 4;
+    private static final int OPTIONS_PER_ROUND = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LunchRoundService lunchRoundService;
+
+    @Autowired
+    private MenuOptionService menuOptionService;
+
+    @Autowired
+    private MenuOptionCache menuOptionCache;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Long> roundIds = new ArrayList<>();
+    private int nextDay;
+
+    // 팀 3 x 사용자 2 x 라운드 4 x 메뉴 5 = 라운드 24개, 메뉴 120개
+    @BeforeAll
+    void seed() {
+        for (int t = 0; t < TEAMS; t++) {
+            Team team = new Team();
+            team.setName("sql-count-team-" + t);
+            teamRepository.save(team);
+            for (int u = 0; u < USERS_PER_TEAM; u++) {
+                User user = new User();
+                user.setUserId("sql-count-" + t + "-" + u);
+                user.setName("sql-count-" + t + "-" + u);
+                user.setRole("USER");
+                user.setTeam(team);
+                users.add(userRepository.save(user));
+                for (int r = 0; r < ROUNDS_PER_USER; r++) {
+                    roundIds.add(newRound(user.getUserId(), OPTIONS_PER_ROUND));
+                }
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // 메뉴 목록 캐시 상태에 따라 수가 달라지지 않도록 항상 비운 상태에서 시작
+        menuOptionCache.evictAll();
+    }
+
+    private Long newRound(String userId, int options) {
+        LunchRound round = new LunchRound();
+        round.setDate(LocalDate.of(2023, 1, 1).plusDays(nextDay++));
+        round.setStatus("PLANNING");
+        Long roundId = lunchRoundService.createLunchRound(round, userId).getId();
+        List<MenuOption> menuOptions = new ArrayList<>();
+        for (int i = 0; i < options; i++) {
+            menuOptions.add(menuOption("메뉴" + i));
+        }
+        menuOptionService.addMenuOptions(roundId, menuOptions);
+        return roundId;
+    }
+
+    private MenuOption menuOption(String menu) {
+        MenuOption menuOption = new MenuOption();
+        menuOption.setMenu(menu);
+        menuOption.setType("KOREAN");
+        menuOption.setPrice(8000);
+        return menuOption;
+    }
+
+    private String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private SqlCount count(RequestBuilder request, ResultMatcher expected) throws Exception {
+        SqlCount.reset();
+        mockMvc.perform(request).andExpect(expected);
+        return SqlCount.current();
+    }
+
+    private SqlCount count(RequestBuilder request) throws Exception {
+        return count(request, status().isOk());
+    }
+
+    private String viewer() {
+        return users.get(0).getUserId();
+    }
+
+    // === LunchRoundController ===
+
+    @Test
+    @DisplayName("POST /lunch-rounds - 사용자 조회 + 팀 이름 조회 + insert")
+    void createLunchRound() throws Exception {
+        String body = json(Map.of("date", LocalDate.of(2030, 1, 1).plusDays(nextDay++).toString(), "status", "PLANNING"));
+        assertEquals(SqlCount.of(2, 1, 0, 0), count(post("/lunch-rounds").with(user(users.get(1).getUserId()))
+                .contentType(MediaType.APPLICATION_JSON).content(body), status().isCreated()));
+    }
+
+    @Test
+    @DisplayName("GET /lunch-rounds - ETag 집계 + keyset 페이지 한 번 (다음 페이지도 동일)")
+    void pageLunchRounds() throws Exception {
+        assertEquals(SqlCount.selects(2), count(get("/lunch-rounds").with(user(viewer()))));
+        String cursor = objectMapper.readTree(mockMvc.perform(get("/lunch-rounds").param("size", "10").with(user(viewer())))
+                .andReturn().getResponse().getContentAsString()).get("nextCursor").asText();
+        assertEquals(SqlCount.selects(2), count(get("/lunch-rounds").param("size", "10").param("cursor", cursor).with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("GET /lunch-rounds/export - 라운드 + 메뉴 스트리밍 쿼리 한 번")
+    void exportLunchRounds() throws Exception {
+        assertEquals(SqlCount.selects(1), count(get("/lunch-rounds/export").with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("GET /lunch-rounds/{id} - version + projection")
+    void getLunchRound() throws Exception {
+        assertEquals(SqlCount.selects(2), count(get("/lunch-rounds/" + roundIds.get(3)).with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("GET /lunch-rounds/{id}/events - 존재 확인 한 번")
+    void subscribeEvents() throws Exception {
+        assertEquals(SqlCount.selects(1), count(get("/lunch-rounds/" + roundIds.get(4) + "/events").with(user(viewer())),
+                request().asyncStarted()));
+    }
+
+    @Test
+    @DisplayName("PUT /lunch-rounds/{id} - 라운드 / 팀 / 사용자 조회 + update")
+    void updateLunchRound() throws Exception {
+        User owner = users.get(2);
+        Long roundId = newRound(owner.getUserId(), OPTIONS_PER_ROUND);
+        String body = json(Map.of("date", LocalDate.of(2031, 1, 1).plusDays(nextDay++).toString(),
+                "status", "VOTING", "teamId", owner.getTeam().getId()));
+        assertEquals(SqlCount.of(3, 0, 1, 0), count(put("/lunch-rounds/" + roundId).with(user(owner.getUserId()))
+                .contentType(MediaType.APPLICATION_JSON).content(body)));
+    }
+
+    @Test
+    @DisplayName("PATCH /lunch-rounds/{id}/status - write-behind: 조회 한 번, update 없음")
+    void updateLunchRoundStatus() throws Exception {
+        assertEquals(SqlCount.selects(1), count(patch("/lunch-rounds/" + roundIds.get(5) + "/status")
+                .param("status", "VOTING").with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("DELETE /lunch-rounds/{id} - 메뉴 수와 상관없이 팀 통계 / 자동완성용 메뉴 조회 2 + delete 3 (투표, 메뉴, 라운드)")
+    void deleteLunchRound() throws Exception {
+        Long roundId = newRound(users.get(3).getUserId(), 20);
+        assertEquals(SqlCount.of(2, 0, 0, 3), count(delete("/lunch-rounds/" + roundId).with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("DELETE /lunch-rounds/{id}/menu-options - 팀 통계 / 자동완성용 메뉴 조회 2 + delete 2 (투표, 메뉴)")
+    void deleteMenuOptionsOfRound() throws Exception {
+        Long roundId = newRound(users.get(3).getUserId(), 20);
+        assertEquals(SqlCount.of(2, 0, 0, 2), count(delete("/lunch-rounds/" + roundId + "/menu-options")
+                .with(user(viewer()).roles("admin"))));
+    }
+
+    // === MenuOptionController ===
+
+    @Test
+    @DisplayName("POST /menu-options/{roundId} - insert 한 번 (라운드는 프록시 참조, 조회 없음)")
+    void addMenuOption() throws Exception {
+        assertEquals(SqlCount.of(0, 1, 0, 0), count(post("/menu-options/" + roundIds.get(6)).with(user(viewer()))
+                .contentType(MediaType.APPLICATION_JSON).content(json(menuOption("추가메뉴"))), status().isCreated()));
+    }
+
+    @Test
+    @DisplayName("POST /menu-options/{roundId}/batch - 메뉴 10개를 배치 insert 한 번")
+    void addMenuOptions() throws Exception {
+        List<MenuOption> options = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            options.add(menuOption("배치메뉴" + i));
+        }
+        assertEquals(SqlCount.of(0, 1, 0, 0), count(post("/menu-options/" + roundIds.get(7) + "/batch").with(user(viewer()))
+                .contentType(MediaType.APPLICATION_JSON).content(json(options)), status().isCreated()));
+    }
+
+    @Test
+    @DisplayName("GET /menu-options - keyset 페이지 한 번 (round 조인 없음)")
+    void pageMenuOptions() throws Exception {
+        assertEquals(SqlCount.selects(1), count(get("/menu-options").with(user(viewer()))));
+        assertEquals(SqlCount.selects(1), count(get("/menu-options").param("size", "50").with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("GET /menu-options/{roundId} - ETag 집계 + 목록, 두 번째부터는 캐시로 ETag 집계만")
+    void listMenuOptionsOfRound() throws Exception {
+        String url = "/menu-options/" + roundIds.get(8);
+        assertEquals(SqlCount.selects(2), count(get(url).with(user(viewer()))));
+        assertEquals(SqlCount.selects(1), count(get(url).with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("GET /menu-options/suggest - 메모리 인덱스에서 응답, SQL 없음")
+    void suggestMenus() throws Exception {
+        assertEquals(SqlCount.selects(0), count(get("/menu-options/suggest").param("q", "메뉴").with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("GET /menu-options/option/{id} - projection 한 번")
+    void getMenuOption() throws Exception {
+        Long optionId = menuOptionService.getMenuOptionResponses(roundIds.get(9)).get(0).id();
+        assertEquals(SqlCount.selects(1), count(get("/menu-options/option/" + optionId).with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("PUT /menu-options/{id} - 조회 + update (라운드는 읽지 않음)")
+    void updateMenuOption() throws Exception {
+        Long optionId = menuOptionService.getMenuOptionResponses(roundIds.get(10)).get(0).id();
+        assertEquals(SqlCount.of(1, 0, 1, 0), count(put("/menu-options/" + optionId).with(user(viewer()))
+                .contentType(MediaType.APPLICATION_JSON).content(json(menuOption("수정메뉴")))));
+    }
+
+    @Test
+    @DisplayName("DELETE /menu-options/{id} - 조회 + delete 한 번 (투표는 FK cascade 로 같이 지워짐)")
+    void deleteMenuOption() throws Exception {
+        Long optionId = menuOptionService.getMenuOptionResponses(roundIds.get(11)).get(0).id();
+        assertEquals(SqlCount.of(1, 0, 0, 1), count(delete("/menu-options/" + optionId).with(user(viewer()).roles("admin"))));
+    }
+
+    // === TeamController ===
+
+    @Test
+    @DisplayName("GET /teams/{id}/stats - 팀 존재 확인 한 번 (통계는 메모리 집계)")
+    void teamStats() throws Exception {
+        assertEquals(SqlCount.selects(1), count(get("/teams/" + users.get(0).getTeam().getId() + "/stats").with(user(viewer()))));
+    }
+
+    @Test
+    @DisplayName("GET /teams/{id}/lunch-rounds?from=&to= - (team_id, date) 인덱스 keyset 페이지 한 번 (다음 페이지도 동일)")
+    void teamLunchRounds() throws Exception {
+        String path = "/teams/" + users.get(0).getTeam().getId() + "/lunch-rounds";
+        assertEquals(SqlCount.selects(1), count(get(path).param("from", "2023-01-01").param("to", "2023-12-31")
+                .param("size", "3").with(user(viewer()))));
+        String cursor = objectMapper.readTree(mockMvc.perform(get(path).param("from", "2023-01-01").param("to", "2023-12-31")
+                        .param("size", "3").with(user(viewer())))
+                .andReturn().getResponse().getContentAsString()).get("nextCursor").asText();
+        assertEquals(SqlCount.selects(1), count(get(path).param("from", "2023-01-01").param("to", "2023-12-31")
+                .param("size", "3").param("cursor", cursor).with(user(viewer()))));
+    }
+
+    // === AuthController ===
+
+    @Test
+    @DisplayName("POST /auth/login - 사용자 조회 한 번 (팀은 id 만 쓰므로 프록시 그대로)")
+    void login() throws Exception {
+        assertEquals(SqlCount.selects(1), count(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("userId", users.get(4).getUserId())))));
+    }
+
+    @Test
+    @DisplayName("POST /auth/refresh - 사용한 refresh 토큰 폐기 insert 한 번 (select 없이) + 사용자 조회 한 번")
+    void refresh() throws Exception {
+        String refreshToken = jwtTokenProvider.createRefreshToken(users.get(5).getUserId());
+        assertEquals(SqlCount.of(1, 1, 0, 0), count(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("refreshToken", refreshToken)))));
+    }
+
+    @Test
+    @DisplayName("JWT 인증 요청 - 사용자 조회는 첫 요청에만 (principal 캐시)")
+    void jwtAuthenticatedRequest() throws Exception {
+        User user = users.get(5);
+        String token = jwtTokenProvider.createAccessToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        String url = "/lunch-rounds/" + roundIds.get(12);
+
+        assertEquals(SqlCount.selects(3), count(get(url).header("Authorization", "Bearer " + token)));
+        assertEquals(SqlCount.selects(2), count(get(url).header("Authorization", "Bearer " + token)));
+    }
+}
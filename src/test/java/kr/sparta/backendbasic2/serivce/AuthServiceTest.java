@@ -0,0 +1,157 @@
+package kr.sparta.backendbasic2.serivce;
+
+import io.jsonwebtoken.Claims;
+import kr.sparta.backendbasic2.dto.AuthResponse;
+import kr.sparta.backendbasic2.entity.RevokedToken;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.exception.InvalidTokenException;
+import kr.sparta.backendbasic2.repository.RevokedTokenRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Spy
+    private JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
+
+    @Spy
+    private TokenRevocationList revocationList = new TokenRevocationList();
+
+    @InjectMocks
+    private AuthService authService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        Team team = new Team();
+        team.setId(1L);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUserId("testuser");
+        testUser.setRole("USER");
+        testUser.setTeam(team);
+    }
+
+    @Test
+    @DisplayName("refresh - 사용한 토큰은 폐기하고 새 토큰 발급")
+    void refresh_RotatesToken() {
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken("testuser");
+        String jti = jwtTokenProvider.parse(refreshToken).getId();
+        when(userRepository.findByUserId("testuser")).thenReturn(Optional.of(testUser));
+
+        // when
+        AuthResponse response = authService.refresh(refreshToken);
+
+        // then
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).saveAndFlush(captor.capture());
+        assertEquals(jti, captor.getValue().getJti());
+        assertEquals("testuser", captor.getValue().getUserId());
+        assertTrue(revocationList.isRevoked(jti));
+
+        Claims next = jwtTokenProvider.parse(response.getRefreshToken());
+        assertNotEquals(jti, next.getId());
+        assertFalse(revocationList.isRevoked(next.getId()));
+        assertNotNull(response.getAccessToken());
+    }
+
+    @Test
+    @DisplayName("refresh - 같은 토큰을 다시 쓰면 DB 조회 없이 거절")
+    void refresh_Reused_Rejected() {
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken("testuser");
+        when(userRepository.findByUserId("testuser")).thenReturn(Optional.of(testUser));
+        authService.refresh(refreshToken);
+
+        // when & then
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(refreshToken));
+        verify(revokedTokenRepository, times(1)).saveAndFlush(any());
+        verify(userRepository, times(1)).findByUserId("testuser");
+    }
+
+    @Test
+    @DisplayName("refresh - 다른 인스턴스에서 이미 사용한 토큰 (PK 충돌) 은 거절")
+    void refresh_AlreadyRevokedInDatabase_Rejected() {
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken("testuser");
+        when(revokedTokenRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // when & then
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(refreshToken));
+        assertTrue(revocationList.isRevoked(jwtTokenProvider.parse(refreshToken).getId()));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("refresh - access 토큰으로는 갱신할 수 없다")
+    void refresh_AccessToken_Rejected() {
+        // given
+        String accessToken = authServiceLogin().getAccessToken();
+
+        // when & then
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(accessToken));
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    @DisplayName("logout - access / refresh 토큰 모두 폐기")
+    void logout_RevokesBothTokens() {
+        // given
+        AuthResponse tokens = authServiceLogin();
+
+        // when
+        authService.logout(tokens.getAccessToken(), tokens.getRefreshToken());
+
+        // then
+        verify(revokedTokenRepository, times(2)).saveAndFlush(any());
+        assertTrue(revocationList.isRevoked(jwtTokenProvider.parse(tokens.getAccessToken()).getId()));
+        assertTrue(revocationList.isRevoked(jwtTokenProvider.parse(tokens.getRefreshToken()).getId()));
+    }
+
+    @Test
+    @DisplayName("sync - DB 의 폐기 기록을 메모리에 반영")
+    void syncRevocations_LoadsIntoMemory() {
+        // given
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of(
+                new RevokedToken("other-instance-jti", "testuser", Instant.now().plusSeconds(60), Instant.now())));
+
+        // when
+        authService.syncRevocations();
+
+        // then
+        assertTrue(revocationList.isRevoked("other-instance-jti"));
+    }
+
+    private AuthResponse authServiceLogin() {
+        when(userRepository.findByUserId("testuser")).thenReturn(Optional.of(testUser));
+        return authService.login("testuser");
+    }
+}
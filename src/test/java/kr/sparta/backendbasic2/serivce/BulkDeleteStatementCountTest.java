@@ -0,0 +1,200 @@
+package kr.sparta.backendbasic2.serivce;
+
+import jakarta.persistence.EntityManagerFactory;
+import kr.sparta.backendbasic2.dto.MenuSuggestion;
+import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.entity.MenuOption;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 삭제할 행 수와 상관없이 정해진 수의 SQL 만 실행되는지 Hibernate Statistics 로 확인
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BulkDeleteStatementCountTest {
+
+    @Autowired
+    private LunchRoundService lunchRoundService;
+
+    @Autowired
+    private MenuOptionService menuOptionService;
+
+    @Autowired
+    private MenuVoteService menuVoteService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        prefix = "bulk-" + System.nanoTime();
+    }
+
+    private Team saveTeam() {
+        Team team = new Team();
+        team.setName(prefix + "-team");
+        return teamRepository.save(team);
+    }
+
+    private User saveUser(Team team, String userId) {
+        User user = new User();
+        user.setUserId(prefix + "-" + userId);
+        user.setName(userId);
+        user.setRole("USER");
+        user.setTeam(team);
+        return userRepository.save(user);
+    }
+
+    // 메뉴 옵션 options 개 + 옵션마다 투표 한 표 (menu_vote 까지 저장)
+    private Long saveRound(User creator, int day, int options) {
+        LunchRound round = new LunchRound();
+        round.setDate(LocalDate.of(2024, 6, day));
+        round.setStatus("PLANNING");
+        Long roundId = lunchRoundService.createLunchRound(round, creator.getUserId()).getId();
+
+        List<MenuOption> menuOptions = new ArrayList<>();
+        for (int i = 0; i < options; i++) {
+            MenuOption menuOption = new MenuOption();
+            menuOption.setMenu("메뉴" + i);
+            menuOption.setType("KOREAN");
+            menuOption.setPrice(8000);
+            menuOptions.add(menuOption);
+        }
+        for (MenuOption saved : menuOptionService.addMenuOptions(roundId, menuOptions)) {
+            menuVoteService.vote(roundId, prefix + "-voter-" + saved.getId(), saved.getId());
+        }
+        menuVoteService.flush();
+        return roundId;
+    }
+
+    private long count(String table, String column, Long id) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where " + column + " = ?", Long.class, id);
+    }
+
+    // 자동완성 인덱스의 (메뉴, KOREAN, 8000) 등록 횟수
+    private long suggestCount(String menu) {
+        return menuOptionService.suggestMenus(menu, "KOREAN", 8000, 8000, 20).stream()
+                .filter(suggestion -> suggestion.menu().equals(menu))
+                .mapToLong(MenuSuggestion::count)
+                .sum();
+    }
+
+    private long statementsOf(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("라운드 삭제 - 메뉴 옵션 수와 상관없이 DELETE 3 문장 (투표, 메뉴 옵션, 라운드)")
+    void deleteLunchRound_FixedStatementCount() {
+        // given
+        User user = saveUser(saveTeam(), "round");
+        Long small = saveRound(user, 1, 1);
+        Long large = saveRound(user, 2, 20);
+        long suggested = suggestCount("메뉴19");
+
+        // when
+        long smallStatements = statementsOf(() -> lunchRoundService.deleteLunchRound(small));
+        long largeStatements = statementsOf(() -> lunchRoundService.deleteLunchRound(large));
+
+        // then
+        assertEquals(3, smallStatements);
+        assertEquals(3, largeStatements);
+        assertEquals(suggested - 1, suggestCount("메뉴19"));
+        assertEquals(0, count("lunch_round", "id", large));
+        assertEquals(0, count("menu_option", "round_id", large));
+        assertEquals(0, count("menu_vote", "round_id", large));
+    }
+
+    @Test
+    @DisplayName("라운드 메뉴 전체 삭제 - DELETE 2 문장 (투표, 메뉴 옵션), 라운드는 남음")
+    void deleteMenuOptionsByRoundId_FixedStatementCount() {
+        // given
+        User user = saveUser(saveTeam(), "options");
+        Long roundId = saveRound(user, 3, 10);
+        long suggested = suggestCount("메뉴9");
+
+        // when
+        long statements = statementsOf(() -> assertEquals(10, menuOptionService.deleteMenuOptionsByRoundId(roundId)));
+
+        // then
+        assertEquals(2, statements);
+        assertEquals(suggested - 1, suggestCount("메뉴9"));
+        assertEquals(1, count("lunch_round", "id", roundId));
+        assertEquals(0, count("menu_option", "round_id", roundId));
+        assertEquals(0, count("menu_vote", "round_id", roundId));
+        assertTrue(menuOptionService.getMenuOptionResponses(roundId).isEmpty());
+        assertEquals(0, menuVoteService.getTally(roundId).total());
+    }
+
+    @Test
+    @DisplayName("팀 삭제 - 사용자 / 라운드 / 메뉴 수와 상관없이 조회 2 + 토큰 폐기 INSERT 1 + DELETE 5 문장")
+    void deleteTeam_FixedStatementCount() {
+        // given
+        Team team = saveTeam();
+        List<Long> roundIds = new ArrayList<>();
+        for (int u = 0; u < 3; u++) {
+            User user = saveUser(team, "member" + u);
+            roundIds.add(saveRound(user, 10 + u, 5));
+            roundIds.add(saveRound(user, 20 + u, 5));
+        }
+        long suggested = suggestCount("메뉴4");
+
+        // when
+        long statements = statementsOf(() -> teamService.deleteTeam(team.getId()));
+
+        // then
+        assertEquals(8, statements);
+        assertEquals(suggested - 6, suggestCount("메뉴4"));
+        assertFalse(teamRepository.existsById(team.getId()));
+        for (int u = 0; u < 3; u++) {
+            assertEquals(1L, jdbcTemplate.queryForObject(
+                    "select count(*) from revoked_token where user_id = ? and all_tokens", Long.class, prefix + "-member" + u));
+        }
+        assertEquals(0, count("user", "team_id", team.getId()));
+        assertEquals(0, count("lunch_round", "team_id", team.getId()));
+        for (Long roundId : roundIds) {
+            assertEquals(0, count("menu_option", "round_id", roundId));
+            assertEquals(0, count("menu_vote", "round_id", roundId));
+        }
+    }
+
+    @Test
+    @DisplayName("없는 팀 삭제 - 예외")
+    void deleteTeam_NotFound() {
+        // when & then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> teamService.deleteTeam(999999L));
+        assertEquals("Team not found with id: 999999", exception.getMessage());
+    }
+}
@@ -0,0 +1,143 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.entity.MenuOption;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.exception.DuplicateResourceException;
+import kr.sparta.backendbasic2.repository.LunchRoundRepository;
+import kr.sparta.backendbasic2.repository.MenuOptionRepository;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 여러 요청이 동시에 같은 데이터를 만들려고 할 때 DB unique 제약이 하나만 통과시키는지 확인
+@SpringBootTest
+class DuplicateConstraintConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private LunchRoundService lunchRoundService;
+
+    @Autowired
+    private MenuOptionService menuOptionService;
+
+    @Autowired
+    private LunchRoundRepository lunchRoundRepository;
+
+    @Autowired
+    private MenuOptionRepository menuOptionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private User saveUser(String userId) {
+        Team team = new Team();
+        team.setName(userId + "-team");
+        teamRepository.save(team);
+
+        User user = new User();
+        user.setUserId(userId);
+        user.setName(userId);
+        user.setRole("USER");
+        user.setTeam(team);
+        return userRepository.save(user);
+    }
+
+    // 모든 스레드를 latch 로 동시에 출발시키고 성공 / 중복 실패 횟수를 센다
+    private int[] runConcurrently(Callable<?> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger duplicate = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        task.call();
+                        success.incrementAndGet();
+                    } catch (DuplicateResourceException e) {
+                        duplicate.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new int[]{success.get(), duplicate.get()};
+    }
+
+    @Test
+    @DisplayName("같은 라운드에 같은 메뉴를 동시에 추가 - 하나만 성공")
+    void addMenuOption_Concurrent_OnlyOneSucceeds() throws Exception {
+        // given
+        User user = saveUser("concurrent-menu-user");
+        LunchRound round = new LunchRound();
+        round.setDate(LocalDate.of(2024, 3, 1));
+        round.setStatus("ACTIVE");
+        Long roundId = lunchRoundService.createLunchRound(round, user.getUserId()).getId();
+
+        // when
+        int[] result = runConcurrently(() -> {
+            MenuOption menuOption = new MenuOption();
+            menuOption.setMenu("동시메뉴");
+            menuOption.setType("KOREAN");
+            menuOption.setPrice(8000);
+            return menuOptionService.addMenuOption(roundId, menuOption);
+        });
+
+        // then
+        assertEquals(1, result[0]);
+        assertEquals(THREADS - 1, result[1]);
+        assertEquals(1, menuOptionRepository.findByRoundId(roundId).size());
+    }
+
+    @Test
+    @DisplayName("같은 사용자가 같은 날짜의 라운드를 동시에 생성 - 하나만 성공")
+    void createLunchRound_Concurrent_OnlyOneSucceeds() throws Exception {
+        // given
+        User user = saveUser("concurrent-round-user");
+        LocalDate date = LocalDate.of(2024, 3, 2);
+
+        // when
+        int[] result = runConcurrently(() -> {
+            LunchRound round = new LunchRound();
+            round.setDate(date);
+            round.setStatus("ACTIVE");
+            return lunchRoundService.createLunchRound(round, user.getUserId());
+        });
+
+        // then
+        assertEquals(1, result[0]);
+        assertEquals(THREADS - 1, result[1]);
+        assertTrue(lunchRoundRepository.existsByCreatorAndDate(user, date));
+        assertEquals(1, lunchRoundRepository.findByTeamId(user.getTeam().getId()).size());
+    }
+}
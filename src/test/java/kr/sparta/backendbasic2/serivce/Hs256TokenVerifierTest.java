@@ -0,0 +1,121 @@
+package kr.sparta.backendbasic2.serivce;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Hs256TokenVerifierTest {
+
+    private final Key key = Keys.hmacShaKeyFor(
+            "mySecretKey123456789012345678901234567890".getBytes(StandardCharsets.UTF_8)
+    );
+
+    private JwtTokenProvider jwtTokenProvider;
+    private Hs256TokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        verifier = new Hs256TokenVerifier(key);
+    }
+
+    @Test
+    @DisplayName("발급한 액세스 토큰은 jjwt 와 같은 클레임으로 검증")
+    void verify_AccessToken_SameClaimsAsJjwt() {
+        // given
+        String token = jwtTokenProvider.createAccessToken(new UsernamePasswordAuthenticationToken(
+                "testUser", null, List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_admin"))));
+        Claims expected = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+
+        // when
+        Claims claims = verifier.verify(token);
+
+        // then
+        assertNotNull(claims);
+        assertEquals(expected.getId(), claims.getId());
+        assertEquals(expected.getSubject(), claims.getSubject());
+        assertEquals(expected.get("roles"), claims.get("roles"));
+        assertEquals(expected.getIssuedAt(), claims.getIssuedAt());
+        assertEquals(expected.getExpiration(), claims.getExpiration());
+    }
+
+    @Test
+    @DisplayName("리프레시 토큰(roles 없음)도 검증")
+    void verify_RefreshToken_Success() {
+        // given
+        String token = jwtTokenProvider.createRefreshToken("testUser");
+
+        // when
+        Claims claims = verifier.verify(token);
+
+        // then
+        assertNotNull(claims);
+        assertEquals("testUser", claims.getSubject());
+        assertNull(claims.get("roles"));
+        assertNotNull(claims.getId());
+        assertEquals(JwtTokenProvider.REFRESH_TOKEN_TYPE, claims.get(JwtTokenProvider.TOKEN_TYPE_CLAIM));
+    }
+
+    @Test
+    @DisplayName("서명이 다르면 null (jjwt 로 넘김)")
+    void verify_TamperedSignature_ReturnsNull() {
+        // given
+        String token = jwtTokenProvider.createRefreshToken("testUser");
+        int pos = token.length() - 5;
+        char original = token.charAt(pos);
+        String tampered = token.substring(0, pos) + (original == 'A' ? 'B' : 'A') + token.substring(pos + 1);
+
+        // when & then
+        assertNull(verifier.verify(tampered));
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 null (jjwt 가 ExpiredJwtException 처리)")
+    void verify_ExpiredToken_ReturnsNull() {
+        // given
+        String token = Jwts.builder()
+                .setSubject("testUser")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 20_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 10_000))
+                .signWith(key)
+                .compact();
+
+        // when & then
+        assertNull(verifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("모르는 클레임이 있으면 null (jjwt 로 넘김)")
+    void verify_UnknownClaim_ReturnsNull() {
+        // given
+        String token = Jwts.builder()
+                .setSubject("testUser")
+                .setNotBefore(new Date(System.currentTimeMillis() + 60_000))
+                .setExpiration(new Date(System.currentTimeMillis() + 120_000))
+                .signWith(key)
+                .compact();
+
+        // when & then
+        assertNull(verifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 토큰은 null")
+    void verify_MalformedToken_ReturnsNull() {
+        assertNull(verifier.verify("invalid.token.here"));
+        assertNull(verifier.verify("eyJhbGciOiJIUzI1NiJ9.!!!.abc"));
+        assertNull(verifier.verify(""));
+    }
+}
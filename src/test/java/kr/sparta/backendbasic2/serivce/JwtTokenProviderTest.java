@@ -2,6 +2,7 @@ package kr.sparta.backendbasic2.serivce;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -173,4 +174,34 @@ class JwtTokenProviderTest {
         assertTrue(expiration.getTime() >= expectedMinExpiration);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("같은 토큰은 두 번째 파싱부터 검증 캐시 사용")
+    void parse_SameToken_UsesVerifiedCache() {
+        // given
+        String token = jwtTokenProvider.createAccessToken(authentication);
+
+        // when
+        Claims first = jwtTokenProvider.parse(token);
+        Claims second = jwtTokenProvider.parse(token);
+
+        // then
+        assertSame(first, second);
+        assertEquals(1, jwtTokenProvider.getVerifiedTokenCache().stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("서명이 변조된 토큰은 캐시된 토큰과 무관하게 실패")
+    void parse_TamperedToken_ThrowsException() {
+        // given
+        String token = jwtTokenProvider.createAccessToken(authentication);
+        jwtTokenProvider.parse(token);
+
+        int pos = token.length() - 5;
+        char original = token.charAt(pos);
+        String tampered = token.substring(0, pos) + (original == 'A' ? 'B' : 'A') + token.substring(pos + 1);
+
+        // when & then
+        assertThrows(SignatureException.class, () -> jwtTokenProvider.parse(tampered));
+    }
+
+}
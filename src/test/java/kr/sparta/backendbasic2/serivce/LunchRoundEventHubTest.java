@@ -0,0 +1,166 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LunchRoundEventHubTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // 보낸 이벤트 이름만 기록하는 emitter (gate 가 열릴 때까지 send 에서 멈춰 느린 클라이언트 흉내)
+    static class RecordingEmitter extends SseEmitter {
+        final List<String> names = new CopyOnWriteArrayList<>();
+        final CountDownLatch gate;
+        volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String event = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            names.add(event.substring(event.indexOf("event:") + 6, event.indexOf('\n', event.indexOf("event:"))));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        void await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (names.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    private static LunchRoundEvent added(long optionId) {
+        return LunchRoundEvent.menuOptionAdded(new MenuOptionResponse(optionId, "메뉴" + optionId, "KOREAN", 8000, 1L));
+    }
+
+    @Test
+    @DisplayName("같은 라운드 구독자에게만 순서대로 전달")
+    void publish_DeliversInOrderToRoundSubscribers() throws Exception {
+        // given
+        LunchRoundEventHub hub = new LunchRoundEventHub(Runnable::run, 16, Duration.ofMinutes(1));
+        RecordingEmitter round1 = new RecordingEmitter(new CountDownLatch(0));
+        RecordingEmitter round2 = new RecordingEmitter(new CountDownLatch(0));
+        hub.subscribe(1L, round1);
+        hub.subscribe(2L, round2);
+
+        // when
+        hub.publish(added(10L));
+        hub.publish(LunchRoundEvent.menuOptionDeleted(1L, 10L));
+        hub.publish(LunchRoundEvent.roundUpdated(1L, null, "CLOSED"));
+
+        // then
+        assertEquals(List.of(LunchRoundEvent.MENU_OPTION_ADDED, LunchRoundEvent.MENU_OPTION_DELETED, LunchRoundEvent.ROUND_UPDATED),
+                round1.names);
+        assertTrue(round2.names.isEmpty());
+    }
+
+    @Test
+    @DisplayName("느린 구독자는 버퍼가 넘치면 resync 를 받고, 다른 구독자는 영향 없음")
+    void publish_SlowSubscriber_DoesNotStallOthers() throws Exception {
+        // given
+        LunchRoundEventHub hub = new LunchRoundEventHub(executor, 4, Duration.ofMinutes(1));
+        CountDownLatch slowGate = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(slowGate);
+        RecordingEmitter fast = new RecordingEmitter(new CountDownLatch(0));
+        hub.subscribe(1L, slow);
+        hub.subscribe(1L, fast);
+
+        // when & then - 느린 구독자가 막혀 있어도 빠른 구독자는 이벤트마다 바로 받는다
+        int events = 100;
+        for (int i = 0; i < events; i++) {
+            hub.publish(added(i));
+            fast.await(i + 1);
+            assertEquals(i + 1, fast.names.size());
+        }
+        assertTrue(fast.names.stream().allMatch(LunchRoundEvent.MENU_OPTION_ADDED::equals));
+        assertTrue(slow.names.isEmpty());
+
+        // 느린 구독자가 풀리면 버려진 이벤트 대신 resync
+        slowGate.countDown();
+        slow.await(2);
+        Thread.sleep(50);
+        assertTrue(slow.names.contains(LunchRoundEvent.RESYNC));
+        assertTrue(slow.names.size() <= 1 + 1 + 4, "버퍼 크기 이상 쌓이지 않음: " + slow.names.size());
+    }
+
+    @Test
+    @DisplayName("라운드가 삭제되면 마지막 이벤트를 보내고 구독 종료")
+    void publish_RoundDeleted_CompletesSubscribers() {
+        // given
+        LunchRoundEventHub hub = new LunchRoundEventHub(Runnable::run, 16, Duration.ofMinutes(1));
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+        hub.subscribe(1L, emitter);
+
+        // when
+        hub.publish(LunchRoundEvent.roundDeleted(1L));
+        hub.publish(added(1L));
+
+        // then
+        assertEquals(List.of(LunchRoundEvent.ROUND_DELETED), emitter.names);
+        assertTrue(emitter.completed);
+        assertEquals(0, hub.subscriberCount(1L));
+    }
+
+    @Test
+    @DisplayName("전송 풀이 가득 차면 공용 풀로 넘기지 않고 그 구독자는 resync 로 대체")
+    void publish_DrainPoolFull_FallsBackToResync() throws Exception {
+        // given - 전송 스레드 1개, 대기열 없음
+        LunchRoundEventHub hub = new LunchRoundEventHub(1, 0, 16, Duration.ofMinutes(1));
+        CountDownLatch slowGate = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(slowGate);
+        RecordingEmitter other = new RecordingEmitter(new CountDownLatch(0));
+        hub.subscribe(1L, slow);
+        hub.subscribe(2L, other);
+        try {
+            // when - 느린 구독자가 하나뿐인 스레드를 잡고 있는 동안 다른 라운드에 이벤트
+            hub.publish(added(1L));
+            Thread.sleep(50);
+            hub.publish(LunchRoundEvent.roundUpdated(2L, null, "CLOSED"));
+            slowGate.countDown();
+            slow.await(1);
+            Thread.sleep(50);
+            hub.publish(LunchRoundEvent.roundUpdated(2L, null, "PLANNING"));
+            other.await(2);
+
+            // then - 거절된 이벤트 대신 resync, 그 뒤 이벤트는 그대로
+            assertEquals(List.of(LunchRoundEvent.RESYNC, LunchRoundEvent.ROUND_UPDATED), other.names);
+        } finally {
+            hub.destroy();
+        }
+    }
+}
@@ -1,20 +1,41 @@
 package kr.sparta.backendbasic2.serivce;
 
+import kr.sparta.backendbasic2.dto.CursorPage;
+import kr.sparta.backendbasic2.dto.LunchRoundExport;
+import kr.sparta.backendbasic2.dto.LunchRoundExportRow;
+import kr.sparta.backendbasic2.dto.LunchRoundResponse;
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import kr.sparta.backendbasic2.dto.VersionStamp;
 import kr.sparta.backendbasic2.entity.LunchRound;
 import kr.sparta.backendbasic2.entity.Team;
 import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import kr.sparta.backendbasic2.exception.DuplicateResourceException;
 import kr.sparta.backendbasic2.repository.LunchRoundRepository;
+import kr.sparta.backendbasic2.repository.MenuOptionRepository;
+import kr.sparta.backendbasic2.repository.MenuVoteRepository;
 import kr.sparta.backendbasic2.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,9 +47,30 @@ class LunchRoundServiceTest {
     @Mock
     private LunchRoundRepository lunchRoundRepository;
 
+    @Mock
+    private MenuOptionRepository menuOptionRepository;
+
+    @Mock
+    private MenuVoteRepository menuVoteRepository;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MenuOptionCache menuOptionCache;
+
+    @Mock
+    private MenuSuggestIndex menuSuggestIndex;
+
+    @Spy
+    private LunchRoundStatusWriteBehind statusWriteBehind = new LunchRoundStatusWriteBehind(null, true);
+
+    @Mock
+    private TeamLunchStats teamLunchStats;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private LunchRoundService lunchRoundService;
 
@@ -57,6 +99,13 @@ class LunchRoundServiceTest {
         testLunchRound.setTeam(testTeam);
     }
 
+    static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation",
+                        new SQLException("Unique index or primary key violation", "23505"),
+                        constraintName.toUpperCase()));
+    }
+
     @Test
     @DisplayName("점심 라운드 생성 실패 - 같은 날짜에 이미 생성된 라운드 존재")
     void createLunchRound_Failure_DuplicateRoundForSameDay() {
@@ -69,18 +118,19 @@ class LunchRoundServiceTest {
         newLunchRound.setStatus("PLANNING");
 
         when(userRepository.findByUserId(userId)).thenReturn(Optional.of(testUser));
-        when(lunchRoundRepository.existsByCreatorAndDate(testUser, sameDate)).thenReturn(true);
+        when(lunchRoundRepository.saveAndFlush(newLunchRound)).thenThrow(uniqueViolation(LunchRound.UK_CREATOR_DATE));
 
         // when & then
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+        RuntimeException exception = assertThrows(DuplicateResourceException.class, () -> {
             lunchRoundService.createLunchRound(newLunchRound, userId);
         });
 
         assertEquals("User can only create one lunch round per day", exception.getMessage());
 
         verify(userRepository).findByUserId(userId);
-        verify(lunchRoundRepository).existsByCreatorAndDate(testUser, sameDate);
-        verify(lunchRoundRepository, never()).save(any());
+        // 미리 확인하는 쿼리 없이 insert 한 번으로 판단
+        verify(lunchRoundRepository, never()).existsByCreatorAndDate(any(), any());
+        verify(lunchRoundRepository).saveAndFlush(newLunchRound);
     }
 
     @Test
@@ -102,8 +152,7 @@ class LunchRoundServiceTest {
         savedLunchRound.setTeam(testTeam);
 
         when(userRepository.findByUserId(userId)).thenReturn(Optional.of(testUser));
-        when(lunchRoundRepository.existsByCreatorAndDate(testUser, newDate)).thenReturn(false);
-        when(lunchRoundRepository.save(newLunchRound)).thenReturn(savedLunchRound);
+        when(lunchRoundRepository.saveAndFlush(newLunchRound)).thenReturn(savedLunchRound);
 
         // when
         LunchRound result = lunchRoundService.createLunchRound(newLunchRound, userId);
@@ -115,8 +164,7 @@ class LunchRoundServiceTest {
         assertEquals(newDate, result.getDate());
 
         verify(userRepository).findByUserId(userId);
-        verify(lunchRoundRepository).existsByCreatorAndDate(testUser, newDate);
-        verify(lunchRoundRepository).save(newLunchRound);
+        verify(lunchRoundRepository).saveAndFlush(newLunchRound);
 
         // Service가 creator와 team을 설정하는지 확인
         assertEquals(testUser, newLunchRound.getCreator());
@@ -153,8 +201,7 @@ class LunchRoundServiceTest {
         savedLunchRound.setTeam(anotherTeam);
 
         when(userRepository.findByUserId(anotherUserId)).thenReturn(Optional.of(anotherUser));
-        when(lunchRoundRepository.existsByCreatorAndDate(anotherUser, sameDate)).thenReturn(false);
-        when(lunchRoundRepository.save(newLunchRound)).thenReturn(savedLunchRound);
+        when(lunchRoundRepository.saveAndFlush(newLunchRound)).thenReturn(savedLunchRound);
 
         // when
         LunchRound result = lunchRoundService.createLunchRound(newLunchRound, anotherUserId);
@@ -166,12 +213,263 @@ class LunchRoundServiceTest {
         assertEquals(sameDate, result.getDate());
 
         verify(userRepository).findByUserId(anotherUserId);
-        verify(lunchRoundRepository).existsByCreatorAndDate(anotherUser, sameDate);
-        verify(lunchRoundRepository).save(newLunchRound);
+        verify(lunchRoundRepository).saveAndFlush(newLunchRound);
 
         // Service가 creator와 team을 설정하는지 확인
         assertEquals(anotherUser, newLunchRound.getCreator());
         assertEquals(anotherTeam, newLunchRound.getTeam());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("라운드 페이지 조회 - 한 건 더 있으면 다음 커서 반환")
+    void getLunchRoundPage_HasNext_ReturnsCursor() {
+        // given
+        LunchRoundResponse first = LunchRoundResponse.from(testLunchRound);
+        LunchRoundResponse second = new LunchRoundResponse(2L, LocalDate.of(2025, 9, 19), "PLANNING", 1L, "Test Team", "testuser");
+
+        when(lunchRoundRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(first, second));
+
+        // when
+        CursorPage<LunchRoundResponse> page = lunchRoundService.getLunchRoundPage(null, 1);
+
+        // then
+        assertEquals(List.of(first), page.items());
+        assertEquals("2025-09-20:1", CursorPage.decodeCursor(page.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("라운드 페이지 조회 - 커서 다음부터 조회, 마지막 페이지는 커서 없음")
+    void getLunchRoundPage_WithCursor_LastPage() {
+        // given
+        String cursor = CursorPage.encodeCursor("2025-09-20:1");
+        when(lunchRoundRepository.findPageAfter(LocalDate.of(2025, 9, 20), 1L, Limit.of(21)))
+                .thenReturn(List.of(LunchRoundResponse.from(testLunchRound)));
+
+        // when
+        CursorPage<LunchRoundResponse> page = lunchRoundService.getLunchRoundPage(cursor, CursorPage.DEFAULT_SIZE);
+
+        // then
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("라운드 페이지 조회 - 날짜 없는 라운드는 \"null:id\" 커서로 이어서 조회")
+    void getLunchRoundPage_UndatedRound_Continues() {
+        // given
+        LunchRoundResponse undated = new LunchRoundResponse(5L, null, "PLANNING", 1L, "Test Team", "testuser");
+        LunchRoundResponse older = new LunchRoundResponse(3L, null, "PLANNING", 1L, "Test Team", "testuser");
+        when(lunchRoundRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(undated, older));
+        when(lunchRoundRepository.findUndatedPageAfter(5L, Limit.of(2))).thenReturn(List.of(older));
+
+        // when
+        CursorPage<LunchRoundResponse> first = lunchRoundService.getLunchRoundPage(null, 1);
+        CursorPage<LunchRoundResponse> next = lunchRoundService.getLunchRoundPage(first.nextCursor(), 1);
+
+        // then
+        assertEquals("null:5", CursorPage.decodeCursor(first.nextCursor()));
+        assertEquals(List.of(older), next.items());
+        assertNull(next.nextCursor());
+        verify(lunchRoundRepository, never()).findPageAfter(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("라운드 페이지 조회 실패 - 잘못된 커서")
+    void getLunchRoundPage_InvalidCursor_ThrowsException() {
+        // when & then
+        assertThrows(ResponseStatusException.class, () ->
+                lunchRoundService.getLunchRoundPage(CursorPage.encodeCursor("garbage"), 10));
+        verify(lunchRoundRepository, never()).findPageAfter(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("라운드 페이지 조회 - 조회 중 DB 오류는 잘못된 커서(400)로 바꾸지 않음")
+    void getLunchRoundPage_RepositoryFailure_Propagates() {
+        // given
+        String cursor = CursorPage.encodeCursor("2025-09-20:1");
+        when(lunchRoundRepository.findPageAfter(LocalDate.of(2025, 9, 20), 1L, Limit.of(11)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        // when & then
+        assertThrows(DataAccessResourceFailureException.class, () -> lunchRoundService.getLunchRoundPage(cursor, 10));
+    }
+
+    @Test
+    @DisplayName("팀 라운드 페이지 조회 - 날짜 범위 안에서 조회, 한 건 더 있으면 다음 커서 반환")
+    void getTeamLunchRoundPage_HasNext_ReturnsCursor() {
+        // given
+        LocalDate from = LocalDate.of(2025, 9, 1);
+        LocalDate to = LocalDate.of(2025, 9, 30);
+        LunchRoundResponse first = LunchRoundResponse.from(testLunchRound);
+        LunchRoundResponse second = new LunchRoundResponse(2L, LocalDate.of(2025, 9, 19), "PLANNING", 1L, "Test Team", "testuser");
+
+        when(lunchRoundRepository.findTeamPage(1L, from, to, Limit.of(2))).thenReturn(List.of(first, second));
+
+        // when
+        CursorPage<LunchRoundResponse> page = lunchRoundService.getTeamLunchRoundPage(1L, from, to, null, 1);
+
+        // then
+        assertEquals(List.of(first), page.items());
+        assertEquals("2025-09-20:1", CursorPage.decodeCursor(page.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("팀 라운드 페이지 조회 - 커서가 to 보다 뒤면 to 부터 조회")
+    void getTeamLunchRoundPage_CursorAfterTo_StartsFromTo() {
+        // given
+        LocalDate to = LocalDate.of(2025, 9, 10);
+        String cursor = CursorPage.encodeCursor("2025-09-20:1");
+        when(lunchRoundRepository.findTeamPageAfter(1L, LocalDate.of(1000, 1, 1), to, Long.MAX_VALUE, Limit.of(21)))
+                .thenReturn(List.of());
+
+        // when
+        CursorPage<LunchRoundResponse> page = lunchRoundService.getTeamLunchRoundPage(1L, null, to, cursor, CursorPage.DEFAULT_SIZE);
+
+        // then
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("팀 라운드 페이지 조회 실패 - from 이 to 보다 뒤")
+    void getTeamLunchRoundPage_FromAfterTo_ThrowsException() {
+        // when & then
+        assertThrows(ResponseStatusException.class, () -> lunchRoundService.getTeamLunchRoundPage(
+                1L, LocalDate.of(2025, 9, 30), LocalDate.of(2025, 9, 1), null, 10));
+        verifyNoInteractions(lunchRoundRepository);
+    }
+
+    @Test
+    @DisplayName("export - 같은 라운드의 행을 묶어 라운드 단위로 전달")
+    void exportLunchRounds_GroupsRowsByRound() {
+        // given
+        LocalDate date = LocalDate.of(2025, 9, 20);
+        when(lunchRoundRepository.streamExportRows()).thenReturn(Stream.of(
+                new LunchRoundExportRow(1L, date, "PLANNING", 1L, "testuser", 10L, "비빔밥", "KOREAN", 8000),
+                new LunchRoundExportRow(1L, date, "PLANNING", 1L, "testuser", 11L, "김치찌개", "KOREAN", 7000),
+                new LunchRoundExportRow(2L, date, "PLANNING", 1L, "anotheruser", null, null, null, null),
+                new LunchRoundExportRow(3L, date, "CLOSED", 2L, "testuser", 12L, "짜장면", "CHINESE", 6000)
+        ));
+        List<LunchRoundExport> exported = new ArrayList<>();
+
+        // when
+        lunchRoundService.exportLunchRounds(exported::add);
+
+        // then
+        assertEquals(3, exported.size());
+        assertEquals(List.of(10L, 11L), exported.get(0).menuOptions().stream().map(MenuOptionResponse::id).toList());
+        assertTrue(exported.get(1).menuOptions().isEmpty());
+        assertEquals("CLOSED", exported.get(2).status());
+        assertEquals(1, exported.get(2).menuOptions().size());
+    }
+
+    @Test
+    @DisplayName("라운드 삭제 시 해당 라운드의 메뉴 캐시도 제거")
+    void deleteLunchRound_EvictsMenuOptionCache() {
+        // given
+        when(lunchRoundRepository.bulkDeleteById(1L)).thenReturn(1);
+
+        // when
+        lunchRoundService.deleteLunchRound(1L);
+
+        // then
+        var inOrder = inOrder(menuVoteRepository, menuOptionRepository, lunchRoundRepository);
+        inOrder.verify(menuVoteRepository).bulkDeleteByRoundId(1L);
+        inOrder.verify(menuOptionRepository).bulkDeleteByRoundId(1L);
+        inOrder.verify(lunchRoundRepository).bulkDeleteById(1L);
+        verify(lunchRoundRepository, never()).findById(any());
+        verify(menuOptionCache).evict(1L);
+        verify(eventPublisher).publishEvent(LunchRoundEvent.roundDeleted(1L));
+    }
+
+    @Test
+    @DisplayName("라운드 삭제 실패 - 없는 라운드")
+    void deleteLunchRound_NotFound() {
+        // given
+        when(lunchRoundRepository.bulkDeleteById(999L)).thenReturn(0);
+
+        // when & then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> lunchRoundService.deleteLunchRound(999L));
+        assertEquals("LunchRound not found with id: 999", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("라운드 ETag - version 컬럼만 조회")
+    void getLunchRoundEtag_UsesVersionOnly() {
+        // given
+        when(lunchRoundRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(lunchRoundRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        // when & then
+        assertEquals("lunch-round-1-3", lunchRoundService.getLunchRoundEtag(1L));
+        assertNull(lunchRoundService.getLunchRoundEtag(999L));
+        verify(lunchRoundRepository, never()).findById(any());
+        verify(lunchRoundRepository, never()).findResponseById(any());
+    }
+
+    @Test
+    @DisplayName("라운드 목록 ETag - 행 수, 최대 id, version 합계 중 하나라도 바뀌면 달라짐")
+    void getLunchRoundsEtag_ChangesWithStamp() {
+        // given
+        when(lunchRoundRepository.findVersionStamp())
+                .thenReturn(new VersionStamp(2L, 5L, 3L))
+                .thenReturn(new VersionStamp(2L, 5L, 4L))
+                .thenReturn(new VersionStamp(0L, null, null));
+
+        // when
+        String before = lunchRoundService.getLunchRoundsEtag();
+        String afterUpdate = lunchRoundService.getLunchRoundsEtag();
+        String empty = lunchRoundService.getLunchRoundsEtag();
+
+        // then
+        assertNotEquals(before, afterUpdate);
+        assertEquals("lunch-rounds-0-0-0", empty);
+    }
+
+    @Test
+    @DisplayName("상태 변경 (write-behind) - 저장 없이 조회 / ETag 에 바로 반영")
+    void updateLunchRoundStatus_WriteBehind_ServedBeforeFlush() {
+        // given
+        LunchRoundResponse current = LunchRoundResponse.from(testLunchRound);
+        when(lunchRoundRepository.findResponseById(1L)).thenReturn(Optional.of(current));
+        when(lunchRoundRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        String etag = lunchRoundService.getLunchRoundEtag(1L);
+
+        // when
+        LunchRoundResponse updated = lunchRoundService.updateLunchRoundStatus(1L, "VOTING");
+
+        // then
+        assertEquals("VOTING", updated.status());
+        assertEquals("VOTING", lunchRoundService.getLunchRoundResponse(1L).status());
+        assertNotEquals(etag, lunchRoundService.getLunchRoundEtag(1L));
+        verify(lunchRoundRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(LunchRoundEvent.roundUpdated(1L, testLunchRound.getDate(), "VOTING"));
+    }
+
+    @Test
+    @DisplayName("상태 변경 (write-behind) 실패 - 없는 라운드")
+    void updateLunchRoundStatus_WriteBehind_NotFound() {
+        // given
+        when(lunchRoundRepository.findResponseById(999L)).thenReturn(Optional.empty());
+
+        // when & then
+        assertThrows(RuntimeException.class, () -> lunchRoundService.updateLunchRoundStatus(999L, "VOTING"));
+        assertNull(statusWriteBehind.pendingStatus(999L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("라운드 삭제 - 저장 대기 중인 상태 변경도 버림")
+    void deleteLunchRound_DiscardsPendingStatus() {
+        // given
+        statusWriteBehind.accept(1L, "VOTING");
+        when(lunchRoundRepository.bulkDeleteById(1L)).thenReturn(1);
+
+        // when
+        lunchRoundService.deleteLunchRound(1L);
+
+        // then
+        assertNull(statusWriteBehind.pendingStatus(1L));
+    }
+}
@@ -0,0 +1,264 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.dto.CursorPage;
+import kr.sparta.backendbasic2.dto.LunchRoundRequest;
+import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 상태 변경 write-behind 의 저장 보장 확인
+//  - 받은 즉시 조회에는 보이지만 DB 에는 flush 때 저장된다 (flush 전 비정상 종료 시 유실 가능 구간)
+//  - 여러 번 바뀌어도 flush 한 번에 마지막 상태만, UPDATE 한 번으로 저장 (version + 1)
+//  - 정상 종료 (flushOnShutdown) 시에는 남은 변경이 모두 저장된다
+//  - 저장에 실패하면 버리지 않고 다음 flush 에서 다시 저장한다 (DB 가 거절한 행만 버린다)
+// 스케줄러가 끼어들지 않도록 flush 주기를 길게 잡고 직접 flush 한다
+@SpringBootTest(properties = {
+        "round-status.write-behind.enabled=true",
+        "round-status.write-behind.flush-interval=1h"
+})
+class LunchRoundStatusWriteBehindTest {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired
+    private LunchRoundService lunchRoundService;
+
+    @Autowired
+    private LunchRoundStatusWriteBehind statusWriteBehind;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statusWriteBehind.flush();
+
+        String userId = "write-behind-user-" + SEQ.incrementAndGet();
+        Team team = new Team();
+        team.setName(userId + "-team");
+        teamRepository.save(team);
+
+        user = new User();
+        user.setUserId(userId);
+        user.setName(userId);
+        user.setRole("USER");
+        user.setTeam(team);
+        userRepository.save(user);
+    }
+
+    private Long createRound(int day) {
+        LunchRound round = new LunchRound();
+        round.setDate(LocalDate.of(2024, 5, day));
+        round.setStatus("PLANNING");
+        return lunchRoundService.createLunchRound(round, user.getUserId()).getId();
+    }
+
+    private String storedStatus(Long id) {
+        return jdbcTemplate.queryForObject("select status from lunch_round where id = ?", String.class, id);
+    }
+
+    private long storedVersion(Long id) {
+        return jdbcTemplate.queryForObject("select version from lunch_round where id = ?", Long.class, id);
+    }
+
+    @Test
+    @DisplayName("flush 전 - 조회에는 새 상태, DB 는 그대로")
+    void accepted_ServedBeforeFlush() {
+        // given
+        Long id = createRound(1);
+
+        // when
+        lunchRoundService.updateLunchRoundStatus(id, "VOTING");
+
+        // then
+        assertEquals("VOTING", lunchRoundService.getLunchRoundResponse(id).status());
+        assertTrue(lunchRoundService.getLunchRoundPage(null, CursorPage.MAX_SIZE).items().stream()
+                .anyMatch(round -> round.id().equals(id) && "VOTING".equals(round.status())));
+        assertEquals("PLANNING", storedStatus(id));
+    }
+
+    @Test
+    @DisplayName("여러 번 바뀐 상태 - flush 한 번에 마지막 상태만 저장, version 은 1 증가")
+    void rapidTransitions_CoalescedIntoOneUpdate() {
+        // given
+        Long first = createRound(2);
+        Long second = createRound(3);
+        long firstVersion = storedVersion(first);
+        long secondVersion = storedVersion(second);
+
+        // when
+        for (String status : new String[]{"VOTING", "CLOSED", "PLANNING", "VOTING", "CLOSED"}) {
+            lunchRoundService.updateLunchRoundStatus(first, status);
+        }
+        lunchRoundService.updateLunchRoundStatus(second, "VOTING");
+        statusWriteBehind.flush();
+
+        // then
+        assertEquals("CLOSED", storedStatus(first));
+        assertEquals("VOTING", storedStatus(second));
+        assertEquals(firstVersion + 1, storedVersion(first));
+        assertEquals(secondVersion + 1, storedVersion(second));
+        assertEquals(0, statusWriteBehind.pendingCount());
+    }
+
+    @Test
+    @DisplayName("flush 전후 ETag - 대기 중일 때도, 저장된 후에도 이전 ETag 와 다름")
+    void etag_ChangesBeforeAndAfterFlush() {
+        // given
+        Long id = createRound(4);
+        String original = lunchRoundService.getLunchRoundEtag(id);
+
+        // when
+        lunchRoundService.updateLunchRoundStatus(id, "VOTING");
+        String pending = lunchRoundService.getLunchRoundEtag(id);
+        statusWriteBehind.flush();
+        String flushed = lunchRoundService.getLunchRoundEtag(id);
+
+        // then
+        assertNotEquals(original, pending);
+        assertNotEquals(original, flushed);
+        assertEquals("VOTING", lunchRoundService.getLunchRoundResponse(id).status());
+    }
+
+    @Test
+    @DisplayName("정상 종료 - 남은 상태 변경을 모두 저장")
+    void shutdown_FlushesPending() {
+        // given
+        Long id = createRound(5);
+        lunchRoundService.updateLunchRoundStatus(id, "CLOSED");
+
+        // when
+        statusWriteBehind.flushOnShutdown();
+
+        // then
+        assertEquals("CLOSED", storedStatus(id));
+        assertEquals(0, statusWriteBehind.pendingCount());
+    }
+
+    @Test
+    @DisplayName("저장 실패 - 대기 중인 상태를 버리지 않고 다음 flush 에서 저장")
+    void failedFlush_RetainsPending() {
+        // given - 처음에는 DataSource 가 없어서 저장이 실패하는 JdbcTemplate
+        Long id = createRound(6);
+        JdbcTemplate flaky = new JdbcTemplate();
+        LunchRoundStatusWriteBehind writeBehind = new LunchRoundStatusWriteBehind(flaky, true);
+        writeBehind.accept(id, "VOTING");
+
+        // when
+        assertThrows(RuntimeException.class, writeBehind::flush);
+        assertEquals(1, writeBehind.pendingCount());
+        flaky.setDataSource(jdbcTemplate.getDataSource());
+        writeBehind.flush();
+
+        // then
+        assertEquals(0, writeBehind.pendingCount());
+        assertEquals("VOTING", storedStatus(id));
+    }
+
+    @Test
+    @DisplayName("라운드 전체 수정 - 대기 중인 상태 변경이 나중에 덮어쓰지 않음")
+    void fullUpdate_DiscardsPending() {
+        // given
+        Long id = createRound(7);
+        lunchRoundService.updateLunchRoundStatus(id, "VOTING");
+
+        // when
+        lunchRoundService.updateLunchRound(user.getUserId(), id,
+                new LunchRoundRequest("2024-05-07", "CLOSED", user.getTeam().getId()));
+        statusWriteBehind.flush();
+
+        // then
+        assertEquals("CLOSED", storedStatus(id));
+        assertEquals("CLOSED", lunchRoundService.getLunchRoundResponse(id).status());
+    }
+
+    @Test
+    @DisplayName("컬럼보다 긴 상태 - 받을 때 400 으로 거절")
+    void accept_TooLongStatus_Rejected() {
+        // given
+        Long id = createRound(8);
+
+        // when & then
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> lunchRoundService.updateLunchRoundStatus(id, "X".repeat(256)));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertEquals(0, statusWriteBehind.pendingCount());
+    }
+
+    @Test
+    @DisplayName("DB 가 거절한 행 - 그 행만 버리고 나머지는 저장")
+    void flush_RejectedRow_DroppedOthersSaved() {
+        // given - 한 라운드의 UPDATE 를 DB 가 거절한다
+        Long good = createRound(9);
+        Long bad = createRound(10);
+        LunchRoundStatusWriteBehind writeBehind = new LunchRoundStatusWriteBehind(new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public int update(String sql, Object... args) {
+                for (int i = 0; i + 1 < args.length; i += 2) {
+                    if (bad.equals(args[i])) {
+                        throw new DataIntegrityViolationException("value too long for column status");
+                    }
+                }
+                return super.update(sql, args);
+            }
+        }, true);
+        writeBehind.accept(good, "VOTING");
+        writeBehind.accept(bad, "CLOSED");
+
+        // when
+        writeBehind.flush();
+
+        // then
+        assertEquals("VOTING", storedStatus(good));
+        assertEquals("PLANNING", storedStatus(bad));
+        assertEquals(0, writeBehind.pendingCount());
+    }
+
+    @Test
+    @DisplayName("라운드 전체 수정이 커밋되기 전에 들어온 상태 변경 - 커밋 후 버려서 덮어쓰지 않음")
+    void fullUpdate_StatusAcceptedBeforeCommit_DiscardedAfterCommit() {
+        // given
+        Long id = createRound(11);
+
+        // when - 수정 트랜잭션이 끝나기 전에 다른 요청의 상태 변경이 들어온다
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            lunchRoundService.updateLunchRound(user.getUserId(), id,
+                    new LunchRoundRequest("2024-05-11", "CLOSED", user.getTeam().getId()));
+            statusWriteBehind.accept(id, "VOTING");
+        });
+        statusWriteBehind.flush();
+
+        // then
+        assertEquals("CLOSED", storedStatus(id));
+        assertNull(statusWriteBehind.pendingStatus(id));
+    }
+}
@@ -0,0 +1,134 @@
+package kr.sparta.backendbasic2.serivce;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuOptionCacheTest {
+
+    private MenuOptionCache menuOptionCache;
+    private AtomicInteger loadCount;
+
+    @BeforeEach
+    void setUp() {
+        menuOptionCache = new MenuOptionCache(100, Duration.ofMinutes(1));
+        loadCount = new AtomicInteger();
+    }
+
+    private List<MenuOptionResponse> load(Long roundId) {
+        loadCount.incrementAndGet();
+        List<MenuOptionResponse> rows = new ArrayList<>();
+        rows.add(new MenuOptionResponse(1L, "비빔밥", "KOREAN", 8000, roundId));
+        return rows;
+    }
+
+    @Test
+    @DisplayName("저장된 목록은 불변 스냅샷")
+    void get_ReturnsImmutableSnapshot() {
+        // when
+        List<MenuOptionResponse> options = menuOptionCache.get(1L, this::load);
+
+        // then
+        assertThrows(UnsupportedOperationException.class, options::clear);
+        assertSame(options, menuOptionCache.get(1L, this::load));
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 evict 하면 커밋 후에도 한 번 더 제거")
+    void evict_InTransaction_EvictsAgainAfterCompletion() {
+        // given
+        menuOptionCache.get(1L, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            menuOptionCache.evict(1L);
+            // 커밋 전에 다른 요청이 옛날 목록을 다시 채움
+            menuOptionCache.get(1L, this::load);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertNull(menuOptionCache.getCache().getIfPresent(1L));
+    }
+
+    @Test
+    @DisplayName("hit / miss 가 메트릭으로 노출됨")
+    void bindTo_ExposesHitAndMissCounts() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        menuOptionCache.bindTo(registry);
+
+        // when
+        menuOptionCache.get(1L, this::load);
+        menuOptionCache.get(1L, this::load);
+        menuOptionCache.get(2L, this::load);
+
+        // then
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "menuOptions").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "menuOptions").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("같은 라운드를 동시에 놓치면 DB 조회는 한 번만")
+    void get_ConcurrentMisses_LoadOnce() throws Exception {
+        // given
+        int requests = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            // when - 첫 요청이 DB 조회 중일 때 나머지가 들어온다
+            Future<List<MenuOptionResponse>> first = executor.submit(() -> menuOptionCache.get(1L, roundId -> {
+                loading.countDown();
+                await(release);
+                return load(roundId);
+            }));
+            loading.await();
+            List<Future<List<MenuOptionResponse>>> others = new ArrayList<>();
+            for (int i = 1; i < requests; i++) {
+                others.add(executor.submit(() -> menuOptionCache.get(1L, this::load)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // then
+            List<MenuOptionResponse> options = first.get(5, TimeUnit.SECONDS);
+            for (Future<List<MenuOptionResponse>> other : others) {
+                assertSame(options, other.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loadCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
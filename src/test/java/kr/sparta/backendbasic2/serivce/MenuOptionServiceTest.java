@@ -1,17 +1,31 @@
 package kr.sparta.backendbasic2.serivce;
 
+import kr.sparta.backendbasic2.dto.CursorPage;
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import kr.sparta.backendbasic2.dto.MenuSuggestion;
 import kr.sparta.backendbasic2.entity.LunchRound;
 import kr.sparta.backendbasic2.entity.MenuOption;
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import kr.sparta.backendbasic2.exception.DuplicateResourceException;
 import kr.sparta.backendbasic2.repository.LunchRoundRepository;
 import kr.sparta.backendbasic2.repository.MenuOptionRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
@@ -32,6 +46,18 @@ class MenuOptionServiceTest {
     @Mock
     private LunchRoundRepository lunchRoundRepository;
 
+    @Spy
+    private MenuOptionCache menuOptionCache = new MenuOptionCache(100, Duration.ofMinutes(1));
+
+    @Spy
+    private MenuSuggestIndex menuSuggestIndex = new MenuSuggestIndex(null, 100);
+
+    @Mock
+    private TeamLunchStats teamLunchStats;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MenuOptionService menuOptionService;
 
@@ -58,8 +84,14 @@ class MenuOptionServiceTest {
         return LocalDate.parse(dateStr, formatter);
     }
 
+    static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("constraint violation",
+                        new SQLException("constraint violation", "23505"), constraintName));
+    }
+
     @Test
-    @DisplayName("메뉴 옵션 추가 성공")
+    @DisplayName("메뉴 옵션 추가 성공 - 중복 확인 쿼리 없이 insert 한 번")
     void addMenuOption_Success() {
         // given
         Long roundId = 1L;
@@ -68,9 +100,8 @@ class MenuOptionServiceTest {
         newMenuOption.setType("KOREAN");
         newMenuOption.setPrice(8000);
 
-        when(menuOptionRepository.existsByRoundIdAndMenu(roundId, newMenuOption.getMenu())).thenReturn(false);
-        when(lunchRoundRepository.findById(roundId)).thenReturn(Optional.of(testLunchRound));
-        when(menuOptionRepository.save(any(MenuOption.class))).thenReturn(newMenuOption);
+        when(lunchRoundRepository.getReferenceById(roundId)).thenReturn(testLunchRound);
+        when(menuOptionRepository.saveAndFlush(newMenuOption)).thenReturn(newMenuOption);
 
         // when
         MenuOption result = menuOptionService.addMenuOption(roundId, newMenuOption);
@@ -80,14 +111,17 @@ class MenuOptionServiceTest {
         assertEquals(newMenuOption.getMenu(), result.getMenu());
         assertEquals(newMenuOption.getType(), result.getType());
         assertEquals(newMenuOption.getPrice(), result.getPrice());
+        assertSame(testLunchRound, result.getRound());
 
-        verify(menuOptionRepository).existsByRoundIdAndMenu(roundId, newMenuOption.getMenu());
-        verify(lunchRoundRepository).findById(roundId);
-        verify(menuOptionRepository).save(any(MenuOption.class));
+        verify(menuOptionRepository, never()).existsByRoundIdAndMenu(anyLong(), any());
+        verify(lunchRoundRepository, never()).findById(anyLong());
+        verify(menuOptionRepository).saveAndFlush(newMenuOption);
+        verify(menuOptionCache).evict(roundId);
+        verify(eventPublisher).publishEvent(LunchRoundEvent.menuOptionAdded(MenuOptionResponse.from(newMenuOption)));
     }
 
     @Test
-    @DisplayName("메뉴 옵션 추가 실패 - 중복 메뉴")
+    @DisplayName("메뉴 옵션 추가 실패 - 중복 메뉴 (unique 제약 위반)")
     void addMenuOption_Failure_DuplicateMenu() {
         // given
         Long roundId = 1L;
@@ -96,10 +130,11 @@ class MenuOptionServiceTest {
         duplicateMenuOption.setType("KOREAN");
         duplicateMenuOption.setPrice(8000);
 
-        when(menuOptionRepository.existsByRoundIdAndMenu(roundId, duplicateMenuOption.getMenu())).thenReturn(true);
+        when(lunchRoundRepository.getReferenceById(roundId)).thenReturn(testLunchRound);
+        when(menuOptionRepository.saveAndFlush(duplicateMenuOption)).thenThrow(violation(MenuOption.UK_ROUND_MENU));
 
         // when & then
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+        RuntimeException exception = assertThrows(DuplicateResourceException.class, () -> {
             menuOptionService.addMenuOption(roundId, duplicateMenuOption);
         });
 
@@ -107,13 +142,12 @@ class MenuOptionServiceTest {
         assertTrue(exception.getMessage().contains("round: " + roundId));
         assertTrue(exception.getMessage().contains("menu: " + duplicateMenuOption.getMenu()));
 
-        verify(menuOptionRepository).existsByRoundIdAndMenu(roundId, duplicateMenuOption.getMenu());
-        verify(lunchRoundRepository, never()).findById(anyLong());
-        verify(menuOptionRepository, never()).save(any());
+        verify(menuOptionRepository, never()).existsByRoundIdAndMenu(anyLong(), any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    @DisplayName("메뉴 옵션 추가 실패 - 존재하지 않는 라운드")
+    @DisplayName("메뉴 옵션 추가 실패 - 존재하지 않는 라운드 (FK 위반)")
     void addMenuOption_Failure_RoundNotFound() {
         // given
         Long nonExistentRoundId = 999L;
@@ -122,8 +156,8 @@ class MenuOptionServiceTest {
         newMenuOption.setType("KOREAN");
         newMenuOption.setPrice(8000);
 
-        when(menuOptionRepository.existsByRoundIdAndMenu(nonExistentRoundId, newMenuOption.getMenu())).thenReturn(false);
-        when(lunchRoundRepository.findById(nonExistentRoundId)).thenReturn(Optional.empty());
+        when(lunchRoundRepository.getReferenceById(nonExistentRoundId)).thenReturn(new LunchRound());
+        when(menuOptionRepository.saveAndFlush(newMenuOption)).thenThrow(violation("FK_MENU_OPTION_ROUND"));
 
         // when & then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -131,10 +165,25 @@ class MenuOptionServiceTest {
         });
 
         assertTrue(exception.getMessage().contains("Round not found"));
+        assertFalse(exception instanceof DuplicateResourceException);
+    }
 
-        verify(menuOptionRepository).existsByRoundIdAndMenu(nonExistentRoundId, newMenuOption.getMenu());
-        verify(lunchRoundRepository).findById(nonExistentRoundId);
-        verify(menuOptionRepository, never()).save(any());
+    @Test
+    @DisplayName("메뉴 옵션 추가 실패 - 라운드 FK 가 아닌 제약 위반은 그대로 던짐")
+    void addMenuOption_Failure_OtherViolationRethrown() {
+        // given
+        MenuOption newMenuOption = new MenuOption();
+        newMenuOption.setMenu("아주 긴 메뉴 이름");
+        DataIntegrityViolationException violation = violation("VALUE_TOO_LONG");
+
+        when(lunchRoundRepository.getReferenceById(1L)).thenReturn(testLunchRound);
+        when(menuOptionRepository.saveAndFlush(newMenuOption)).thenThrow(violation);
+
+        // when & then
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () ->
+                menuOptionService.addMenuOption(1L, newMenuOption));
+
+        assertSame(violation, exception);
     }
 
     @Test
@@ -249,14 +298,16 @@ class MenuOptionServiceTest {
     void deleteMenuOption_Success() {
         // given
         Long menuOptionId = 1L;
-        when(menuOptionRepository.existsById(menuOptionId)).thenReturn(true);
+        when(menuOptionRepository.findById(menuOptionId)).thenReturn(Optional.of(testMenuOption));
 
         // when
         menuOptionService.deleteMenuOption(menuOptionId);
 
         // then
-        verify(menuOptionRepository).existsById(menuOptionId);
-        verify(menuOptionRepository).deleteById(menuOptionId);
+        verify(menuOptionRepository).findById(menuOptionId);
+        verify(menuOptionRepository).delete(testMenuOption);
+        verify(menuOptionCache).evict(testLunchRound.getId());
+        verify(eventPublisher).publishEvent(LunchRoundEvent.menuOptionDeleted(testLunchRound.getId(), menuOptionId));
     }
 
     @Test
@@ -264,7 +315,7 @@ class MenuOptionServiceTest {
     void deleteMenuOption_Failure_NotFound() {
         // given
         Long nonExistentId = 999L;
-        when(menuOptionRepository.existsById(nonExistentId)).thenReturn(false);
+        when(menuOptionRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
         // when & then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -273,8 +324,9 @@ class MenuOptionServiceTest {
 
         assertTrue(exception.getMessage().contains("MenuOption not found with id: " + nonExistentId));
 
-        verify(menuOptionRepository).existsById(nonExistentId);
-        verify(menuOptionRepository, never()).deleteById(anyLong());
+        verify(menuOptionRepository).findById(nonExistentId);
+        verify(menuOptionRepository, never()).delete(any());
+        verify(menuOptionCache, never()).evict(any());
     }
 
     @Test
@@ -299,13 +351,12 @@ class MenuOptionServiceTest {
         thirdAttempt.setType("CHINESE");
         thirdAttempt.setPrice(7000);
 
-        // 첫 번째 추가는 성공
-        when(menuOptionRepository.existsByRoundIdAndMenu(roundId, duplicateMenuName))
-                .thenReturn(false)
-                .thenReturn(true)
-                .thenReturn(true);
-        when(lunchRoundRepository.findById(roundId)).thenReturn(Optional.of(testLunchRound));
-        when(menuOptionRepository.save(any(MenuOption.class))).thenReturn(firstAttempt);
+        // 첫 번째 insert 만 성공, 이후는 unique 제약 위반
+        when(lunchRoundRepository.getReferenceById(roundId)).thenReturn(testLunchRound);
+        when(menuOptionRepository.saveAndFlush(any(MenuOption.class)))
+                .thenReturn(firstAttempt)
+                .thenThrow(violation(MenuOption.UK_ROUND_MENU))
+                .thenThrow(violation(MenuOption.UK_ROUND_MENU));
 
         // when & then
         // 첫 번째 추가는 성공
@@ -327,8 +378,8 @@ class MenuOptionServiceTest {
         assertTrue(thirdException.getMessage().contains(duplicateMenuName));
 
         // 검증
-        verify(menuOptionRepository, times(3)).existsByRoundIdAndMenu(roundId, duplicateMenuName);
-        verify(menuOptionRepository, times(1)).save(any()); // 첫 번째만 저장됨
+        verify(menuOptionRepository, times(3)).saveAndFlush(any());
+        verify(menuOptionRepository, never()).existsByRoundIdAndMenu(anyLong(), any());
     }
 
     @Test
@@ -349,11 +400,9 @@ class MenuOptionServiceTest {
         secondRoundMenu.setType("WESTERN");
         secondRoundMenu.setPrice(9000);
 
-        when(menuOptionRepository.existsByRoundIdAndMenu(firstRoundId, sameMenuName)).thenReturn(false);
-        when(menuOptionRepository.existsByRoundIdAndMenu(secondRoundId, sameMenuName)).thenReturn(false);
-        when(lunchRoundRepository.findById(firstRoundId)).thenReturn(Optional.of(testLunchRound));
-        when(lunchRoundRepository.findById(secondRoundId)).thenReturn(Optional.of(testLunchRound));
-        when(menuOptionRepository.save(any(MenuOption.class))).thenReturn(firstRoundMenu).thenReturn(secondRoundMenu);
+        when(lunchRoundRepository.getReferenceById(firstRoundId)).thenReturn(testLunchRound);
+        when(lunchRoundRepository.getReferenceById(secondRoundId)).thenReturn(new LunchRound());
+        when(menuOptionRepository.saveAndFlush(any(MenuOption.class))).thenReturn(firstRoundMenu).thenReturn(secondRoundMenu);
 
         // when
         MenuOption firstResult = menuOptionService.addMenuOption(firstRoundId, firstRoundMenu);
@@ -365,9 +414,218 @@ class MenuOptionServiceTest {
         assertEquals(sameMenuName, firstResult.getMenu());
         assertEquals(sameMenuName, secondResult.getMenu());
 
-        verify(menuOptionRepository).existsByRoundIdAndMenu(firstRoundId, sameMenuName);
-        verify(menuOptionRepository).existsByRoundIdAndMenu(secondRoundId, sameMenuName);
-        verify(menuOptionRepository, times(2)).save(any());
+        verify(lunchRoundRepository).getReferenceById(firstRoundId);
+        verify(lunchRoundRepository).getReferenceById(secondRoundId);
+        verify(menuOptionRepository, times(2)).saveAndFlush(any());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("메뉴 옵션 페이지 조회 - 크기는 최대값으로 제한")
+    void getMenuOptionPage_SizeCapped() {
+        // given
+        MenuOptionResponse response = MenuOptionResponse.from(testMenuOption);
+        when(menuOptionRepository.findPageAfter(0L, Limit.of(CursorPage.MAX_SIZE + 1)))
+                .thenReturn(List.of(response));
+
+        // when
+        CursorPage<MenuOptionResponse> page = menuOptionService.getMenuOptionPage(null, 10_000);
+
+        // then
+        assertEquals(List.of(response), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("메뉴 옵션 페이지 조회 - 커서의 id 다음부터 조회")
+    void getMenuOptionPage_WithCursor() {
+        // given
+        MenuOptionResponse menuOption1 = MenuOptionResponse.from(testMenuOption);
+        MenuOptionResponse menuOption2 = new MenuOptionResponse(2L, "김치찌개", "KOREAN", 7000, 1L);
+        when(menuOptionRepository.findPageAfter(0L, Limit.of(2)))
+                .thenReturn(List.of(menuOption1, menuOption2));
+
+        // when
+        CursorPage<MenuOptionResponse> first = menuOptionService.getMenuOptionPage(null, 1);
+
+        // then
+        assertEquals("1", CursorPage.decodeCursor(first.nextCursor()));
+
+        // when
+        when(menuOptionRepository.findPageAfter(1L, Limit.of(2)))
+                .thenReturn(List.of(menuOption2));
+        CursorPage<MenuOptionResponse> second = menuOptionService.getMenuOptionPage(first.nextCursor(), 1);
+
+        // then
+        assertEquals(List.of(menuOption2), second.items());
+        assertNull(second.nextCursor());
+    }
+
+    private List<MenuOption> menuOptions(String... menus) {
+        return Arrays.stream(menus).map(menu -> {
+            MenuOption menuOption = new MenuOption();
+            menuOption.setMenu(menu);
+            menuOption.setType("KOREAN");
+            menuOption.setPrice(8000);
+            return menuOption;
+        }).toList();
+    }
+
+    @Test
+    @DisplayName("메뉴 옵션 일괄 추가 성공 - 중복 확인 쿼리 없이, 라운드는 참조만")
+    void addMenuOptions_Success() {
+        // given
+        Long roundId = 1L;
+        List<MenuOption> newMenuOptions = menuOptions("비빔밥", "김치찌개", "된장찌개");
+
+        when(lunchRoundRepository.getReferenceById(roundId)).thenReturn(testLunchRound);
+
+        // when
+        List<MenuOption> result = menuOptionService.addMenuOptions(roundId, newMenuOptions);
+
+        // then
+        assertEquals(3, result.size());
+        assertTrue(result.stream().allMatch(option -> option.getRound() == testLunchRound));
+
+        verify(lunchRoundRepository, never()).findById(anyLong());
+        verify(menuOptionRepository, never()).existsByRoundIdAndMenu(anyLong(), any());
+        verify(menuOptionRepository).insertAll(newMenuOptions);
+        verify(menuOptionCache).evict(roundId);
+    }
+
+    @Test
+    @DisplayName("메뉴 옵션 일괄 추가 실패 - 요청 안에 같은 메뉴")
+    void addMenuOptions_Failure_DuplicateInRequest() {
+        // given
+        List<MenuOption> newMenuOptions = menuOptions("비빔밥", "비빔밥");
+
+        // when & then
+        RuntimeException exception = assertThrows(DuplicateResourceException.class, () ->
+                menuOptionService.addMenuOptions(1L, newMenuOptions));
+
+        assertTrue(exception.getMessage().contains("Duplicate menu option"));
+        verifyNoInteractions(menuOptionRepository, lunchRoundRepository);
+    }
+
+    @Test
+    @DisplayName("메뉴 옵션 일괄 추가 실패 - 한 번에 추가할 수 있는 수를 넘으면 400")
+    void addMenuOptions_Failure_TooMany() {
+        // given
+        String[] menus = new String[101];
+        for (int i = 0; i < menus.length; i++) {
+            menus[i] = "메뉴" + i;
+        }
+        List<MenuOption> newMenuOptions = menuOptions(menus);
+
+        // when & then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                menuOptionService.addMenuOptions(1L, newMenuOptions));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(menuOptionRepository, lunchRoundRepository);
+    }
+
+    @Test
+    @DisplayName("메뉴 옵션 일괄 추가 실패 - 이미 있는 메뉴 (unique 제약 위반)")
+    void addMenuOptions_Failure_AlreadyExists() {
+        // given
+        Long roundId = 1L;
+        List<MenuOption> newMenuOptions = menuOptions("비빔밥", "김치찌개");
+        when(lunchRoundRepository.getReferenceById(roundId)).thenReturn(testLunchRound);
+        doThrow(violation(MenuOption.UK_ROUND_MENU)).when(menuOptionRepository).insertAll(newMenuOptions);
+
+        // when & then
+        RuntimeException exception = assertThrows(DuplicateResourceException.class, () ->
+                menuOptionService.addMenuOptions(roundId, newMenuOptions));
+
+        assertTrue(exception.getMessage().contains("김치찌개"));
+    }
+
+    @Test
+    @DisplayName("라운드별 메뉴 목록 조회 - 두 번째 요청부터 캐시에서 응답")
+    void getMenuOptionResponses_SecondCall_HitsCache() {
+        // given
+        Long roundId = 1L;
+        List<MenuOptionResponse> responses = List.of(MenuOptionResponse.from(testMenuOption));
+        when(menuOptionRepository.findResponsesByRoundId(roundId)).thenReturn(responses);
+
+        // when
+        List<MenuOptionResponse> first = menuOptionService.getMenuOptionResponses(roundId);
+        List<MenuOptionResponse> second = menuOptionService.getMenuOptionResponses(roundId);
+
+        // then
+        assertEquals(responses, first);
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.add(MenuOptionResponse.from(testMenuOption)));
+        verify(menuOptionRepository, times(1)).findResponsesByRoundId(roundId);
+        assertEquals(1, menuOptionCache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("메뉴 추가 후에는 해당 라운드만 다시 조회")
+    void addMenuOption_EvictsOnlyThatRound() {
+        // given
+        when(menuOptionRepository.findResponsesByRoundId(anyLong())).thenReturn(List.of());
+        menuOptionService.getMenuOptionResponses(1L);
+        menuOptionService.getMenuOptionResponses(2L);
+
+        MenuOption newMenuOption = new MenuOption();
+        newMenuOption.setMenu("김치찌개");
+        when(lunchRoundRepository.getReferenceById(1L)).thenReturn(testLunchRound);
+        when(menuOptionRepository.saveAndFlush(newMenuOption)).thenReturn(newMenuOption);
+
+        // when
+        menuOptionService.addMenuOption(1L, newMenuOption);
+        menuOptionService.getMenuOptionResponses(1L);
+        menuOptionService.getMenuOptionResponses(2L);
+
+        // then
+        verify(menuOptionRepository, times(2)).findResponsesByRoundId(1L);
+        verify(menuOptionRepository, times(1)).findResponsesByRoundId(2L);
+    }
+
+    @Test
+    @DisplayName("메뉴를 다른 라운드로 옮기면 두 라운드 모두 캐시 제거")
+    void updateMenuOption_ChangeRound_EvictsBothRounds() {
+        // given
+        LunchRound otherRound = new LunchRound();
+        otherRound.setId(2L);
+        MenuOption updateData = new MenuOption();
+        updateData.setMenu("비빔밥");
+        updateData.setRound(otherRound);
+
+        when(menuOptionRepository.findById(1L)).thenReturn(Optional.of(testMenuOption));
+        when(menuOptionRepository.save(testMenuOption)).thenReturn(testMenuOption);
+
+        // when
+        menuOptionService.updateMenuOption(1L, updateData);
+
+        // then
+        verify(menuOptionCache).evict(1L);
+        verify(menuOptionCache).evict(2L);
+        // 이전 라운드 구독자에게는 삭제, 새 라운드 구독자에게는 추가
+        verify(eventPublisher).publishEvent(LunchRoundEvent.menuOptionDeleted(1L, 1L));
+        verify(eventPublisher).publishEvent(LunchRoundEvent.menuOptionAdded(MenuOptionResponse.from(testMenuOption)));
+    }
+
+    @Test
+    @DisplayName("메뉴 이름을 바꾸면 자동완성에서 이전 이름은 빠지고 새 이름이 들어간다")
+    void updateMenuOption_UpdatesSuggestIndex() {
+        // given
+        menuSuggestIndex.added("비빔밥", "KOREAN", 8000);
+        MenuOption updateData = new MenuOption();
+        updateData.setMenu("돌솥비빔밥");
+        updateData.setType("KOREAN");
+        updateData.setPrice(9000);
+
+        when(menuOptionRepository.findById(1L)).thenReturn(Optional.of(testMenuOption));
+        when(menuOptionRepository.save(testMenuOption)).thenReturn(testMenuOption);
+
+        // when
+        menuOptionService.updateMenuOption(1L, updateData);
+
+        // then
+        verify(menuSuggestIndex).removed("비빔밥", "KOREAN", 8000);
+        assertEquals(List.of(new MenuSuggestion("돌솥비빔밥", "KOREAN", 9000, 1)),
+                menuOptionService.suggestMenus("비빔", null, null, null, 10));
+    }
+}
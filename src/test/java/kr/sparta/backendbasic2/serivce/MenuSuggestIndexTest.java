@@ -0,0 +1,149 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.dto.MenuSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MenuSuggestIndexTest {
+
+    private MenuSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MenuSuggestIndex(null, 3);
+    }
+
+    private List<String> menus(String q) {
+        return index.suggest(q, null, null, null, 10).stream().map(MenuSuggestion::menu).toList();
+    }
+
+    @Test
+    @DisplayName("앞부분이 일치하는 이름이 먼저, 그다음 등록 횟수 순")
+    void suggest_PrefixFirstThenCount() {
+        // given
+        index.added("김치찌개", "KOREAN", 8000);
+        index.added("참치김치찌개", "KOREAN", 9000);
+        index.added("참치김치찌개", "KOREAN", 9000);
+
+        // when & then
+        assertEquals(List.of("김치찌개", "참치김치찌개"), menus("김치"));
+        assertEquals(List.of("참치김치찌개"), menus("참"));
+        assertEquals(List.of(), menus("된장"));
+        assertEquals(List.of(), menus(" "));
+    }
+
+    @Test
+    @DisplayName("대소문자와 공백은 무시")
+    void suggest_IgnoresCaseAndWhitespace() {
+        // given
+        index.added("Pad Thai", "ASIAN", 12000);
+
+        // when & then
+        assertEquals(List.of("Pad Thai"), menus("padth"));
+        assertEquals(List.of("Pad Thai"), menus("D T"));
+    }
+
+    @Test
+    @DisplayName("type / 가격 조건에 맞는 등록만 센다")
+    void suggest_FiltersByTypeAndPrice() {
+        // given
+        index.added("비빔밥", "KOREAN", 8000);
+        index.added("비빔밥", "KOREAN", 8000);
+        index.added("비빔밥", "FUSION", 15000);
+        index.added("비빔국수", "KOREAN", null);
+
+        // when
+        List<MenuSuggestion> all = index.suggest("비빔", null, null, null, 10);
+        List<MenuSuggestion> fusion = index.suggest("비빔", "fusion", null, null, 10);
+        List<MenuSuggestion> cheap = index.suggest("비빔", null, null, 10000, 10);
+
+        // then
+        assertEquals(new MenuSuggestion("비빔밥", "KOREAN", 8000, 3), all.get(0));
+        assertEquals(List.of(new MenuSuggestion("비빔밥", "FUSION", 15000, 1)), fusion);
+        assertEquals(List.of(new MenuSuggestion("비빔밥", "KOREAN", 8000, 2)), cheap);
+    }
+
+    @Test
+    @DisplayName("등록이 모두 지워진 이름은 빠지고, max-names 를 넘는 새 이름은 색인하지 않는다")
+    void removedAndCapacity() {
+        // given
+        index.added("라면", "KOREAN", 5000);
+        index.added("라멘", "JAPANESE", 11000);
+        index.added("냉면", "KOREAN", 10000);
+
+        // when
+        index.added("쌀국수", "ASIAN", 10000);
+        index.removed("라멘", "JAPANESE", 11000);
+        index.added("쌀국수", "ASIAN", 10000);
+
+        // then
+        assertEquals(List.of("라면"), menus("라"));
+        assertEquals(List.of("쌀국수"), menus("국수"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 커밋된 뒤에 반영")
+    void added_InTransaction_AppliedAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            index.added("짜장면", "CHINESE", 7000);
+
+            // then
+            assertEquals(List.of(), menus("짜장"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(List.of("짜장면"), menus("짜장"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("다시 만드는 동안 커밋된 변경분은 새 인덱스에도 반영")
+    void rebuild_ReplaysChangesDuringScan() throws SQLException {
+        // given - 스캔은 김치찌개 1건을 읽고, 그 사이에 된장찌개 / 김치찌개가 하나씩 커밋된다
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        MenuSuggestIndex rebuilding = new MenuSuggestIndex(jdbcTemplate, 10);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("김치찌개");
+        when(rs.getString(2)).thenReturn("KOREAN");
+        when(rs.getObject(3, Integer.class)).thenReturn(8000);
+        when(rs.getLong(4)).thenReturn(1L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            rebuilding.added("된장찌개", "KOREAN", 8000);
+            rebuilding.added("김치찌개", "KOREAN", 8000);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // when
+        rebuilding.rebuild();
+
+        // then
+        assertEquals(List.of(new MenuSuggestion("김치찌개", "KOREAN", 8000, 2)),
+                rebuilding.suggest("김치", null, null, null, 10));
+        assertEquals(List.of(new MenuSuggestion("된장찌개", "KOREAN", 8000, 1)),
+                rebuilding.suggest("된장", null, null, null, 10));
+
+        // 재구성이 끝난 뒤의 변경분은 그대로 새 인덱스에
+        rebuilding.removed("된장찌개", "KOREAN", 8000);
+        assertEquals(List.of(), rebuilding.suggest("된장", null, null, null, 10));
+    }
+}
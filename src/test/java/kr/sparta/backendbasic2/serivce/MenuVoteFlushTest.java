@@ -0,0 +1,121 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.dto.VoteTally;
+import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.entity.MenuOption;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// 메모리 집계를 menu_vote 에 저장하고, 재시작한 것처럼 새 서비스로 다시 읽었을 때 같은 결과인지 확인
+@SpringBootTest
+class MenuVoteFlushTest {
+
+    @Autowired
+    private MenuVoteService menuVoteService;
+
+    @Autowired
+    private LunchRoundService lunchRoundService;
+
+    @Autowired
+    private MenuOptionService menuOptionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long createRound(String userId) {
+        Team team = new Team();
+        team.setName("vote-team");
+        teamRepository.save(team);
+        User user = new User();
+        user.setUserId(userId);
+        user.setName(userId);
+        user.setRole("USER");
+        user.setTeam(team);
+        userRepository.save(user);
+
+        LunchRound round = new LunchRound();
+        round.setDate(LocalDate.of(2024, 4, 1));
+        round.setStatus("ACTIVE");
+        return lunchRoundService.createLunchRound(round, user.getUserId()).getId();
+    }
+
+    @Test
+    @DisplayName("flush 후 재시작 - menu_vote 에서 집계 복구")
+    void flush_ThenReload_SameTally() {
+        // given
+        Long roundId = createRound("vote-user");
+        Long kimchi = menuOptionService.addMenuOption(roundId, menuOption("김치찌개")).getId();
+        Long jjajang = menuOptionService.addMenuOption(roundId, menuOption("짜장면")).getId();
+
+        menuVoteService.vote(roundId, "voter1", kimchi);
+        menuVoteService.vote(roundId, "voter2", kimchi);
+        menuVoteService.flush();
+        menuVoteService.vote(roundId, "voter2", jjajang);
+        menuVoteService.vote(roundId, "voter3", jjajang);
+
+        // when
+        menuVoteService.flush();
+        VoteTally reloaded = new MenuVoteService(jdbcTemplate, menuOptionService).getTally(roundId);
+
+        // then
+        assertEquals(Map.of(kimchi, 1L, jjajang, 2L), reloaded.counts());
+        assertEquals(menuVoteService.getTally(roundId), reloaded);
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "select count(*) from menu_vote where round_id = ?", Integer.class, roundId));
+    }
+
+    @Test
+    @DisplayName("메뉴 삭제 - 저장된 표는 FK cascade 로 지워지고, 삭제 뒤에 늦게 저장되는 표는 나머지 표를 막지 않고 버려짐")
+    void deleteMenuOption_StoredVotesCascaded_LateVoteDropped() {
+        // given
+        Long roundId = createRound("vote-delete-user");
+        Long kimchi = menuOptionService.addMenuOption(roundId, menuOption("김치찌개")).getId();
+        Long jjajang = menuOptionService.addMenuOption(roundId, menuOption("짜장면")).getId();
+        // 삭제 전에 메뉴 목록을 읽어둔 인스턴스 (캐시 확인과 삭제가 엇갈린 경우)
+        MenuOptionService staleOptions = mock(MenuOptionService.class);
+        when(staleOptions.getMenuOptionResponses(roundId)).thenReturn(menuOptionService.getMenuOptionResponses(roundId));
+        MenuVoteService stale = new MenuVoteService(jdbcTemplate, staleOptions);
+
+        menuVoteService.vote(roundId, "voter1", kimchi);
+        menuVoteService.flush();
+
+        // when
+        menuOptionService.deleteMenuOption(kimchi);
+        stale.vote(roundId, "voter2", kimchi);
+        stale.vote(roundId, "voter3", jjajang);
+        stale.flush();
+
+        // then
+        assertEquals(0, stale.pendingCount());
+        assertEquals(List.of("voter3"), jdbcTemplate.queryForList(
+                "select voter_id from menu_vote where round_id = ?", String.class, roundId));
+    }
+
+    private MenuOption menuOption(String menu) {
+        MenuOption menuOption = new MenuOption();
+        menuOption.setMenu(menu);
+        menuOption.setType("KOREAN");
+        menuOption.setPrice(8000);
+        return menuOption;
+    }
+}
@@ -0,0 +1,266 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.dto.MenuOptionResponse;
+import kr.sparta.backendbasic2.dto.VoteTally;
+import kr.sparta.backendbasic2.event.LunchRoundEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuVoteServiceTest {
+
+    private static final Long ROUND_ID = 1L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MenuOptionService menuOptionService;
+
+    @InjectMocks
+    private MenuVoteService menuVoteService;
+
+    @BeforeEach
+    void setUp() {
+        when(menuOptionService.getMenuOptionResponses(ROUND_ID)).thenReturn(List.of(
+                new MenuOptionResponse(10L, "김치찌개", "KOREAN", 8000, ROUND_ID),
+                new MenuOptionResponse(20L, "짜장면", "CHINESE", 7000, ROUND_ID)
+        ));
+    }
+
+    @Test
+    @DisplayName("투표 - 메뉴별 득표 수 집계")
+    void vote_Success() {
+        // when
+        menuVoteService.vote(ROUND_ID, "user1", 10L);
+        VoteTally tally = menuVoteService.vote(ROUND_ID, "user2", 20L);
+
+        // then
+        assertEquals(Map.of(10L, 1L, 20L, 1L), tally.counts());
+        assertEquals(2, tally.total());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("투표 변경 - 이전 메뉴에서 빠지고 새 메뉴에 더해짐")
+    void vote_Change_MovesVote() {
+        // given
+        menuVoteService.vote(ROUND_ID, "user1", 10L);
+
+        // when
+        VoteTally tally = menuVoteService.vote(ROUND_ID, "user1", 20L);
+
+        // then
+        assertEquals(Map.of(20L, 1L), tally.counts());
+        assertEquals(1, tally.total());
+        assertEquals(1, menuVoteService.pendingCount());
+    }
+
+    @Test
+    @DisplayName("같은 메뉴에 다시 투표 - 변화 없음")
+    void vote_SameOption_NoChange() {
+        // given
+        menuVoteService.vote(ROUND_ID, "user1", 10L);
+        menuVoteService.flush();
+
+        // when
+        VoteTally tally = menuVoteService.vote(ROUND_ID, "user1", 10L);
+
+        // then
+        assertEquals(Map.of(10L, 1L), tally.counts());
+        assertEquals(0, menuVoteService.pendingCount());
+    }
+
+    @Test
+    @DisplayName("투표 실패 - 라운드에 없는 메뉴")
+    void vote_OptionNotInRound() {
+        // when & then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> menuVoteService.vote(ROUND_ID, "user1", 99L));
+        assertEquals("MenuOption 99 not found in round: 1", exception.getMessage());
+        assertEquals(0, menuVoteService.getTally(ROUND_ID).total());
+    }
+
+    @Test
+    @DisplayName("동시 투표 / 변경 - 최종 집계가 사용자 수와 정확히 일치")
+    void vote_Concurrent_ExactTotals() throws Exception {
+        // given
+        int threads = 16;
+        int voters = 200;
+        int rounds = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when - 모든 스레드가 같은 사용자들의 표를 번갈아 바꾼다
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < rounds; i++) {
+                        for (int v = 0; v < voters; v++) {
+                            Long option = (v + i + offset) % 2 == 0 ? 10L : 20L;
+                            menuVoteService.vote(ROUND_ID, "user" + v, option);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        VoteTally tally = menuVoteService.getTally(ROUND_ID);
+        assertEquals(voters, tally.total());
+        assertEquals(voters, tally.counts().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    @DisplayName("flush - 처음 투표는 insert, 이미 저장된 표는 update 로 배치 저장")
+    @SuppressWarnings("unchecked")
+    void flush_InsertThenUpdate() {
+        // given
+        menuVoteService.vote(ROUND_ID, "user1", 10L);
+        menuVoteService.vote(ROUND_ID, "user2", 10L);
+        menuVoteService.flush();
+
+        // when
+        menuVoteService.vote(ROUND_ID, "user1", 20L);
+        menuVoteService.flush();
+
+        // then
+        ArgumentCaptor<Collection<?>> inserts = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("insert"), inserts.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2, inserts.getValue().size());
+
+        ArgumentCaptor<Collection<?>> updates = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("update"), updates.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1, updates.getValue().size());
+        assertEquals(0, menuVoteService.pendingCount());
+    }
+
+    @Test
+    @DisplayName("메뉴 삭제 이벤트 - 그 메뉴의 표를 집계와 저장 대기 목록에서 제거 (menu_vote 는 FK cascade 로 지워짐)")
+    void onRoundEvent_MenuOptionDeleted() {
+        // given
+        menuVoteService.vote(ROUND_ID, "user1", 10L);
+        menuVoteService.vote(ROUND_ID, "user2", 20L);
+
+        // when
+        menuVoteService.onRoundEvent(LunchRoundEvent.menuOptionDeleted(ROUND_ID, 10L));
+
+        // then
+        VoteTally tally = menuVoteService.getTally(ROUND_ID);
+        assertEquals(Map.of(20L, 1L), tally.counts());
+        assertEquals(1, menuVoteService.pendingCount());
+        verify(jdbcTemplate, never()).update(startsWith("delete"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("메뉴 확인 뒤에 그 메뉴가 지워지면 - 표를 되돌리고 이전 표를 남김")
+    void vote_OptionDeletedAfterCheck_Undone() {
+        // given - 캐시는 아직 삭제 전 목록
+        menuVoteService.vote(ROUND_ID, "user1", 20L);
+        menuVoteService.onRoundEvent(LunchRoundEvent.menuOptionDeleted(ROUND_ID, 10L));
+
+        // when & then
+        assertThrows(RuntimeException.class, () -> menuVoteService.vote(ROUND_ID, "user1", 10L));
+        assertEquals(Map.of(20L, 1L), menuVoteService.getTally(ROUND_ID).counts());
+        assertEquals(1, menuVoteService.pendingCount());
+    }
+
+    @Test
+    @DisplayName("라운드 삭제 이벤트 - 라운드 집계와 저장 대기 중인 표 제거 (menu_vote 는 삭제 트랜잭션에서 이미 지움)")
+    void onRoundEvent_RoundDeleted() {
+        // given
+        menuVoteService.vote(ROUND_ID, "user1", 10L);
+
+        // when
+        menuVoteService.onRoundEvent(LunchRoundEvent.roundDeleted(ROUND_ID));
+
+        // then
+        assertEquals(0, menuVoteService.pendingCount());
+        verify(jdbcTemplate, never()).update(startsWith("delete"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("메뉴 전체 삭제 이벤트 - 라운드 집계 초기화")
+    void onRoundEvent_MenuOptionsCleared() {
+        // given
+        menuVoteService.vote(ROUND_ID, "user1", 10L);
+        menuVoteService.vote(ROUND_ID, "user2", 20L);
+
+        // when
+        menuVoteService.onRoundEvent(LunchRoundEvent.menuOptionsCleared(ROUND_ID));
+
+        // then
+        assertEquals(0, menuVoteService.pendingCount());
+        assertEquals(0, menuVoteService.getTally(ROUND_ID).total());
+    }
+
+    @Test
+    @DisplayName("한 주기 동안 쓰지 않은 라운드 집계는 내리고, 다시 쓰면 menu_vote 에서 복구")
+    void evictIdleTallies_IdleRound_EvictedAndReloaded() {
+        // given
+        menuVoteService.vote(ROUND_ID, "user1", 10L);
+        menuVoteService.flush();
+
+        // when - 첫 주기에는 쓰인 상태, 두 번째 주기까지 쓰지 않음
+        menuVoteService.evictIdleTallies();
+        assertEquals(1, menuVoteService.tallyCount());
+        menuVoteService.evictIdleTallies();
+
+        // then
+        assertEquals(0, menuVoteService.tallyCount());
+        menuVoteService.getTally(ROUND_ID);
+        verify(jdbcTemplate, times(2)).query(startsWith("select"), any(RowCallbackHandler.class), eq(ROUND_ID));
+    }
+
+    @Test
+    @DisplayName("저장 대기 중인 표가 있는 라운드 집계는 내리지 않음")
+    void evictIdleTallies_PendingVotes_Kept() {
+        // given
+        menuVoteService.vote(ROUND_ID, "user1", 10L);
+
+        // when
+        menuVoteService.evictIdleTallies();
+        menuVoteService.evictIdleTallies();
+
+        // then
+        assertEquals(1, menuVoteService.tallyCount());
+        assertEquals(Map.of(10L, 1L), menuVoteService.getTally(ROUND_ID).counts());
+    }
+}
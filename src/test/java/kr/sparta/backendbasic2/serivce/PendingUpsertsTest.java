@@ -0,0 +1,70 @@
+package kr.sparta.backendbasic2.serivce;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class PendingUpsertsTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private PendingUpserts<String> latest() {
+        return PendingUpserts.latest(jdbcTemplate, "insert", (ps, key, value) -> {
+        }, "update", (ps, key, value) -> {
+        });
+    }
+
+    @Test
+    @DisplayName("저장 실패 - 꺼낸 값을 다시 넣고, 다음 flush 에서 저장")
+    @SuppressWarnings("unchecked")
+    void flush_Failure_Requeued() {
+        // given
+        PendingUpserts<String> pending = latest();
+        pending.add("user1", 10L);
+        when(jdbcTemplate.batchUpdate(startsWith("insert"), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[0][]);
+
+        // when & then
+        assertThrows(DataAccessResourceFailureException.class, () -> pending.flush(key -> false, key -> {
+        }));
+        assertEquals(1, pending.size());
+
+        pending.flush(key -> false, key -> {
+        });
+        assertEquals(0, pending.size());
+    }
+
+    @Test
+    @DisplayName("latest 는 마지막 값만, additive 는 합이 0 이 되면 지운다")
+    void add_LatestOverwrites_AdditiveCancels() {
+        // given
+        PendingUpserts<String> latest = latest();
+        PendingUpserts<String> additive = PendingUpserts.additive(jdbcTemplate, null, "insert", (ps, key, value) -> {
+        }, "update", (ps, key, value) -> {
+        });
+
+        // when
+        latest.add("user1", 10L);
+        latest.add("user1", 20L);
+        additive.add("counter", 1);
+        additive.add("counter", -1);
+
+        // then
+        assertFalse(latest.remove("user1", 10L));
+        assertEquals(Set.of("user1"), latest.keys());
+        assertTrue(latest.remove("user1", 20L));
+        assertTrue(additive.isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.serivce.TeamCounters.Counter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamCountersTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    private static Counter menu(int i) {
+        return new Counter(TeamCounters.MENU, "menu-" + i, 0);
+    }
+
+    private static long weeks(Map<Counter, Long> counts) {
+        return counts.keySet().stream().filter(counter -> counter.kind().equals(TeamCounters.WEEK)).count();
+    }
+
+    @Test
+    @DisplayName("주는 최근 MAX_WEEKS 주만 남고, 라운드 수는 오래된 주를 버려도 그대로")
+    void add_Weeks_OldestDropped() {
+        // given
+        TeamCounters counters = new TeamCounters();
+        int total = TeamCounters.MAX_WEEKS + 10;
+
+        // when
+        for (int i = 0; i < total; i++) {
+            TeamCounters.roundCounters(MONDAY.plusWeeks(i)).forEach(counter -> counters.add(counter, 1));
+        }
+        boolean oldAdded = counters.add(TeamCounters.week(MONDAY), -1);
+
+        // then
+        Map<Counter, Long> counts = counters.copy();
+        assertFalse(oldAdded);
+        assertEquals(TeamCounters.MAX_WEEKS, weeks(counts));
+        assertFalse(counts.containsKey(TeamCounters.week(MONDAY.plusWeeks(9))));
+        assertTrue(counts.containsKey(TeamCounters.week(MONDAY.plusWeeks(10))));
+        assertEquals(total, counts.get(TeamCounters.roundCounters(MONDAY).get(0)));
+    }
+
+    @Test
+    @DisplayName("메뉴가 MAX_MENUS 개면 새 메뉴는 버리고, 있던 메뉴는 계속 센다")
+    void add_Menus_NewDroppedAtLimit() {
+        // given
+        TeamCounters counters = new TeamCounters();
+        for (int i = 0; i < TeamCounters.MAX_MENUS; i++) {
+            counters.add(menu(i), 1);
+        }
+
+        // when
+        boolean newAdded = counters.add(menu(TeamCounters.MAX_MENUS), 1);
+        boolean existingAdded = counters.add(menu(0), 1);
+        counters.add(menu(1), -1);
+        boolean afterRemoved = counters.add(menu(TeamCounters.MAX_MENUS), 1);
+
+        // then
+        Map<Counter, Long> counts = counters.copy();
+        assertFalse(newAdded);
+        assertTrue(existingAdded);
+        assertTrue(afterRemoved);
+        assertEquals(2, counts.get(menu(0)));
+        assertFalse(counts.containsKey(menu(1)));
+        assertEquals(1, counts.get(menu(TeamCounters.MAX_MENUS)));
+    }
+
+    @Test
+    @DisplayName("다시 계산한 값에서는 최근 주, 많이 나온 메뉴만 남긴다")
+    void retain_KeepsLatestWeeksAndTopMenus() {
+        // given
+        Map<Counter, Long> counts = new HashMap<>();
+        for (int i = 0; i < TeamCounters.MAX_WEEKS + 1; i++) {
+            counts.put(TeamCounters.week(MONDAY.plusWeeks(i)), 1L);
+        }
+        for (int i = 0; i < TeamCounters.MAX_MENUS + 1; i++) {
+            counts.put(menu(i), i == 0 ? 1L : 2L);
+        }
+        Counter price = new Counter(TeamCounters.PRICE, "KOREAN", 8000);
+        counts.put(price, 3L);
+
+        // when
+        Map<Counter, Long> retained = TeamCounters.retain(counts);
+
+        // then
+        assertEquals(TeamCounters.MAX_WEEKS, weeks(retained));
+        assertFalse(retained.containsKey(TeamCounters.week(MONDAY)));
+        assertFalse(retained.containsKey(menu(0)));
+        assertTrue(retained.containsKey(menu(TeamCounters.MAX_MENUS)));
+        assertEquals(3L, retained.get(price));
+        assertEquals(TeamCounters.MAX_WEEKS + TeamCounters.MAX_MENUS + 1, retained.size());
+    }
+}
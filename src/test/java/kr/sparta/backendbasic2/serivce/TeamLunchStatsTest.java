@@ -0,0 +1,213 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.dto.LunchRoundRequest;
+import kr.sparta.backendbasic2.dto.TeamStats;
+import kr.sparta.backendbasic2.entity.LunchRound;
+import kr.sparta.backendbasic2.entity.MenuOption;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import kr.sparta.backendbasic2.repository.TeamRepository;
+import kr.sparta.backendbasic2.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+// 쓰기마다 반영한 메모리 집계가 원본 테이블에서 다시 계산한 값 / team_stat_counter 에서 복구한 값과 같은지 확인
+@SpringBootTest
+class TeamLunchStatsTest {
+
+    @Autowired
+    private TeamLunchStats teamLunchStats;
+
+    @Autowired
+    private LunchRoundService lunchRoundService;
+
+    @Autowired
+    private MenuOptionService menuOptionService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "stats-" + System.nanoTime();
+    }
+
+    private User saveMember(String name) {
+        Team team = new Team();
+        team.setName(prefix + "-" + name);
+        teamRepository.save(team);
+        User user = new User();
+        user.setUserId(prefix + "-" + name);
+        user.setName(name);
+        user.setRole("USER");
+        user.setTeam(team);
+        return userRepository.save(user);
+    }
+
+    private Long saveRound(User creator, LocalDate date) {
+        LunchRound round = new LunchRound();
+        round.setDate(date);
+        round.setStatus("PLANNING");
+        return lunchRoundService.createLunchRound(round, creator.getUserId()).getId();
+    }
+
+    private MenuOption addMenu(Long roundId, String menu, String type, int price) {
+        MenuOption menuOption = new MenuOption();
+        menuOption.setMenu(menu);
+        menuOption.setType(type);
+        menuOption.setPrice(price);
+        return menuOptionService.addMenuOption(roundId, menuOption);
+    }
+
+    private TeamLunchStats restarted() {
+        return new TeamLunchStats(jdbcTemplate, 2, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("추가 / 수정 / 삭제를 반영한 집계 = 다시 계산한 집계 = 저장 후 복구한 집계")
+    void incrementalUpdates_MatchRebuildAndReload() {
+        // given
+        User member = saveMember("a");
+        Long teamId = member.getTeam().getId();
+        Long monday = saveRound(member, LocalDate.of(2024, 7, 1));
+        addMenu(monday, "김치찌개", "KOREAN", 8000);
+        addMenu(monday, "비빔밥", "KOREAN", 9000);
+        addMenu(monday, "짜장면", "CHINESE", 7000);
+        Long wednesday = saveRound(member, LocalDate.of(2024, 7, 3));
+        addMenu(wednesday, "김치찌개", "KOREAN", 8000);
+        MenuOption pork = addMenu(wednesday, "돈까스", "JAPANESE", 10000);
+        Long nextWeek = saveRound(member, LocalDate.of(2024, 7, 8));
+        addMenu(nextWeek, "김치찌개", "KOREAN", 12000);
+
+        // when
+        MenuOption update = new MenuOption();
+        update.setMenu("돈까스");
+        update.setType("JAPANESE");
+        update.setPrice(11000);
+        menuOptionService.updateMenuOption(pork.getId(), update);
+        lunchRoundService.deleteLunchRound(nextWeek);
+        TeamStats stats = teamLunchStats.stats(teamId, 12, 10);
+
+        // then
+        assertEquals(2, stats.rounds());
+        assertEquals(List.of(new TeamStats.WeekCount(LocalDate.of(2024, 7, 1), 2)), stats.roundsPerWeek());
+        assertEquals(List.of(
+                new TeamStats.PriceStats("CHINESE", 1, 7000, 7000, 7000, 7000, 7000),
+                new TeamStats.PriceStats("JAPANESE", 1, 11000, 11000, 11000, 11000, 11000),
+                new TeamStats.PriceStats("KOREAN", 3, 8333, 8000, 9000, 8000, 9000)), stats.priceByType());
+        assertEquals(List.of(
+                new TeamStats.MenuCount("김치찌개", 2),
+                new TeamStats.MenuCount("돈까스", 1),
+                new TeamStats.MenuCount("비빔밥", 1),
+                new TeamStats.MenuCount("짜장면", 1)), stats.topMenus());
+
+        teamLunchStats.flush();
+        assertEquals(0, teamLunchStats.pendingCount());
+        TeamLunchStats reloaded = restarted();
+        reloaded.load();
+        assertEquals(stats, reloaded.stats(teamId, 12, 10));
+
+        TeamLunchStats rebuilt = restarted();
+        rebuilt.rebuild(teamId);
+        assertEquals(stats, rebuilt.stats(teamId, 12, 10));
+    }
+
+    @Test
+    @DisplayName("라운드를 다른 팀으로 옮기면 메뉴도 같이 옮겨지고, 팀을 삭제하면 카운터 행도 지워진다")
+    void moveRound_ThenDeleteTeam() {
+        // given
+        User from = saveMember("from");
+        User to = saveMember("to");
+        Long roundId = saveRound(from, LocalDate.of(2024, 8, 5));
+        addMenu(roundId, "쌀국수", "ASIAN", 10000);
+        teamLunchStats.flush();
+
+        // when
+        lunchRoundService.updateLunchRound(to.getUserId(), roundId,
+                new LunchRoundRequest("2024-08-06", "PLANNING", to.getTeam().getId()));
+        teamLunchStats.flush();
+
+        // then
+        TeamStats fromStats = teamLunchStats.stats(from.getTeam().getId(), 12, 10);
+        TeamStats toStats = teamLunchStats.stats(to.getTeam().getId(), 12, 10);
+        assertEquals(0, fromStats.rounds());
+        assertTrue(fromStats.topMenus().isEmpty());
+        assertEquals(1, toStats.rounds());
+        assertEquals(List.of(new TeamStats.MenuCount("쌀국수", 1)), toStats.topMenus());
+        TeamLunchStats reloaded = restarted();
+        reloaded.load();
+        assertEquals(toStats, reloaded.stats(to.getTeam().getId(), 12, 10));
+
+        // when
+        lunchRoundService.deleteLunchRound(roundId);
+        teamService.deleteTeam(to.getTeam().getId());
+        teamLunchStats.flush();
+
+        // then
+        assertEquals(0, teamLunchStats.stats(to.getTeam().getId(), 12, 10).rounds());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from team_stat_counter where team_id = ?", Integer.class, to.getTeam().getId()));
+    }
+
+    @Test
+    @DisplayName("다시 계산하는 동안 커밋된 메뉴 추가는 새 값과 team_stat_counter 에 남는다")
+    void rebuild_KeepsChangesCommittedDuringScan() {
+        // given
+        User member = saveMember("scan");
+        Long teamId = member.getTeam().getId();
+        Long roundId = saveRound(member, LocalDate.of(2024, 9, 2));
+        addMenu(roundId, "김밥", "KOREAN", 4000);
+        teamLunchStats.flush();
+
+        // 메뉴 옵션을 다 읽은 직후에 다른 요청이 메뉴를 추가하고 커밋
+        JdbcTemplate scanning = spy(jdbcTemplate);
+        TeamLunchStats stats = new TeamLunchStats(scanning, 1, 100, Duration.ofMinutes(1));
+        AtomicBoolean committed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            if (committed.compareAndSet(false, true)) {
+                jdbcTemplate.update("insert into menu_option (menu, type, price, version, round_id) values ('라볶이', 'KOREAN', 6000, 0, ?)", roundId);
+                stats.menuOptionAdded(roundId, "라볶이", "KOREAN", 6000);
+            }
+            return null;
+        }).when(scanning).query(argThat((String sql) -> sql != null && sql.contains("group by o.menu")), any(RowCallbackHandler.class), any(Object[].class));
+
+        // when
+        stats.rebuild(teamId);
+        stats.flush();
+
+        // then
+        assertTrue(committed.get());
+        List<TeamStats.MenuCount> expected = List.of(new TeamStats.MenuCount("김밥", 1), new TeamStats.MenuCount("라볶이", 1));
+        assertEquals(expected, stats.stats(teamId, 12, 10).topMenus());
+        TeamLunchStats reloaded = restarted();
+        reloaded.load();
+        assertEquals(expected, reloaded.stats(teamId, 12, 10).topMenus());
+    }
+}
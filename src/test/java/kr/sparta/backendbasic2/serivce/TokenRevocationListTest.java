@@ -0,0 +1,81 @@
+package kr.sparta.backendbasic2.serivce;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private final TokenRevocationList revocationList = new TokenRevocationList();
+
+    @Test
+    @DisplayName("폐기한 jti 만 폐기된 것으로 본다")
+    void isRevoked_OnlyRevokedIds() {
+        // given
+        revocationList.revoke("revoked-jti", Instant.now().plusSeconds(60));
+
+        // when & then
+        assertTrue(revocationList.isRevoked("revoked-jti"));
+        assertFalse(revocationList.isRevoked("other-jti"));
+        assertFalse(revocationList.isRevoked(null));
+    }
+
+    @Test
+    @DisplayName("처음 크기보다 많이 폐기해도 모두 찾고, 폐기하지 않은 토큰은 통과")
+    void revoke_BeyondInitialCapacity_NoFalseNegatives() {
+        // given
+        String[] ids = new String[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            revocationList.revoke(ids[i], Instant.now().plusSeconds(60));
+        }
+
+        // when & then
+        for (String id : ids) {
+            assertTrue(revocationList.isRevoked(id));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(revocationList.isRevoked(UUID.randomUUID().toString()));
+        }
+        assertEquals(10_000, revocationList.size());
+    }
+
+    @Test
+    @DisplayName("토큰이 만료되면 폐기 기록도 지운다")
+    void purgeExpired_RemovesExpiredOnly() {
+        // given
+        revocationList.revoke("expired-jti", Instant.now().minusSeconds(1));
+        revocationList.revoke("active-jti", Instant.now().plusSeconds(60));
+
+        // when
+        int removed = revocationList.purgeExpired();
+
+        // then
+        assertEquals(1, removed);
+        assertFalse(revocationList.isRevoked("expired-jti"));
+        assertTrue(revocationList.isRevoked("active-jti"));
+    }
+
+    @Test
+    @DisplayName("사용자 단위 폐기 - 폐기 시각까지 발급된 그 사용자의 토큰만 거절, 만료되면 기록 삭제")
+    void revokeUser_RejectsTokensIssuedBefore() {
+        // given
+        Instant revokedAt = Instant.now();
+        revocationList.revokeUser("deleted-user", revokedAt, revokedAt.plusSeconds(60));
+        revocationList.revokeUser("expired-user", revokedAt.minusSeconds(120), revokedAt.minusSeconds(60));
+
+        // when & then
+        assertTrue(revocationList.isRevoked("deleted-user", Date.from(revokedAt.minusSeconds(10))));
+        assertFalse(revocationList.isRevoked("deleted-user", Date.from(revokedAt.plusSeconds(10))));
+        assertFalse(revocationList.isRevoked("other-user", Date.from(revokedAt.minusSeconds(10))));
+
+        revocationList.purgeExpired();
+        assertFalse(revocationList.isRevoked("expired-user", Date.from(revokedAt.minusSeconds(300))));
+        assertTrue(revocationList.isRevoked("deleted-user", Date.from(revokedAt.minusSeconds(10))));
+    }
+}
@@ -0,0 +1,155 @@
+package kr.sparta.backendbasic2.serivce;
+
+import kr.sparta.backendbasic2.config.JwtPrincipal;
+import kr.sparta.backendbasic2.entity.Team;
+import kr.sparta.backendbasic2.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalCacheTest {
+
+    private UserPrincipalCache principalCache;
+    private AtomicInteger loadCount;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new UserPrincipalCache(100, Duration.ofMinutes(5));
+        loadCount = new AtomicInteger();
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUserId("testuser");
+        testUser.setRole("USER");
+    }
+
+    private User load(String userId) {
+        loadCount.incrementAndGet();
+        if (!userId.equals(testUser.getUserId())) {
+            throw new UsernameNotFoundException("사용자 없음");
+        }
+        return testUser;
+    }
+
+    @Test
+    @DisplayName("같은 사용자는 두 번째 요청부터 DB를 조회하지 않음")
+    void get_SecondCall_HitsCache() {
+        // when
+        JwtPrincipal first = principalCache.get("testuser", this::load);
+        JwtPrincipal second = principalCache.get("testuser", this::load);
+
+        // then
+        assertSame(first, second);
+        assertEquals(1, loadCount.get());
+        assertEquals(1, principalCache.stats().hitCount());
+        assertEquals(1, principalCache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("엔티티가 아닌 불변 principal 을 캐시 - 이후 엔티티가 바뀌어도 캐시 값은 그대로")
+    void get_CachesImmutablePrincipal() {
+        // given
+        Team team = new Team();
+        team.setId(3L);
+        testUser.setTeam(team);
+
+        // when
+        JwtPrincipal principal = principalCache.get("testuser", this::load);
+        testUser.setRole("ADMIN");
+        testUser.setTeam(null);
+
+        // then
+        assertEquals(new JwtPrincipal("testuser", 3L, List.of(new SimpleGrantedAuthority("ROLE_USER"))), principal);
+        assertSame(principal, principalCache.get("testuser", this::load));
+    }
+
+    @Test
+    @DisplayName("evict 후에는 다시 DB를 조회")
+    void evict_ReloadsUser() {
+        // given
+        principalCache.get("testuser", this::load);
+
+        // when
+        principalCache.evict("testuser");
+        principalCache.get("testuser", this::load);
+
+        // then
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 사용자는 캐시하지 않음")
+    void get_UnknownUser_NotCached() {
+        // when & then
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("nobody", this::load));
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("nobody", this::load));
+
+        assertEquals(2, loadCount.get());
+        assertEquals(0, principalCache.getCache().estimatedSize());
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 오래된 항목이 제거됨")
+    void get_OverMaxSize_Evicts() {
+        // given
+        UserPrincipalCache smallCache = new UserPrincipalCache(1, Duration.ofMinutes(5));
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            String userId = "user" + i;
+            smallCache.get(userId, id -> {
+                User user = new User();
+                user.setUserId(id);
+                user.setRole("USER");
+                return user;
+            });
+        }
+        smallCache.getCache().cleanUp();
+
+        // then
+        assertEquals(1, smallCache.getCache().estimatedSize());
+        assertTrue(smallCache.stats().evictionCount() > 0);
+    }
+
+    @Test
+    @DisplayName("로딩하는 동안 evict 되면 방금 읽은 값은 캐시에 남기지 않음")
+    void get_EvictedWhileLoading_NotCached() {
+        // when
+        JwtPrincipal principal = principalCache.get("testuser", userId -> {
+            // DB 조회 도중에 다른 요청이 role 을 바꿔 evict
+            principalCache.evict(userId);
+            return load(userId);
+        });
+
+        // then
+        assertEquals("testuser", principal.userId());
+        assertNull(principalCache.getCache().getIfPresent("testuser"));
+    }
+
+    @Test
+    @DisplayName("DB 조회는 캐시 락 밖에서 실행 (가상 스레드 pinning 방지)")
+    void get_LoaderRunsOutsideCacheLock() {
+        // when
+        JwtPrincipal principal = principalCache.get("testuser", userId -> {
+            // compute 락 안이었다면 다른 스레드의 같은 키 쓰기가 로딩이 끝날 때까지 막힌다
+            CompletableFuture<Void> write = CompletableFuture.runAsync(
+                    () -> principalCache.getCache().invalidate(userId));
+            assertDoesNotThrow(() -> write.get(1, TimeUnit.SECONDS));
+            return load(userId);
+        });
+
+        // then
+        assertSame(principal, principalCache.getCache().getIfPresent("testuser"));
+    }
+}
@@ -0,0 +1,26 @@
+package kr.sparta.backendbasic2.support;
+
+// 현재 스레드에서 실행된 SQL 수 (JDBC 실행 단위 - 배치 insert 는 한 번으로 센다)
+// 시퀀스 조회 (select next value for ...) 는 pooled 할당이라 이전 테스트에 따라 달라지므로 세지 않는다
+public record SqlCount(long select, long insert, long update, long delete) {
+
+    public static SqlCount of(long select, long insert, long update, long delete) {
+        return new SqlCount(select, insert, update, delete);
+    }
+
+    public static SqlCount selects(long select) {
+        return new SqlCount(select, 0, 0, 0);
+    }
+
+    public static void reset() {
+        SqlCountListener.reset();
+    }
+
+    public static SqlCount current() {
+        return SqlCountListener.current();
+    }
+
+    public long total() {
+        return select + insert + update + delete;
+    }
+}
@@ -0,0 +1,30 @@
+package kr.sparta.backendbasic2.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// @Import(SqlCountConfig.class) - H2 DataSource 를 SQL 수를 세는 프록시로 감싼다
+// 사용법: SqlCount.reset() -> mockMvc.perform(...) -> assertEquals(SqlCount.of(...), SqlCount.current())
+@TestConfiguration
+public class SqlCountConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlCountDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlCountListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package kr.sparta.backendbasic2.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Locale;
+
+// datasource-proxy 리스너 - 스레드별로 SELECT / INSERT / UPDATE / DELETE 실행 횟수를 센다
+// MockMvc 요청은 테스트 스레드에서 처리되므로 요청 전후로 reset / current 하면 그 요청의 SQL 수가 된다
+// (스케줄러 flush 등 다른 스레드의 SQL 은 섞이지 않는다)
+public class SqlCountListener implements QueryExecutionListener {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[4]);
+
+    static void reset() {
+        COUNTS.set(new long[4]);
+    }
+
+    static SqlCount current() {
+        long[] counts = COUNTS.get();
+        return new SqlCount(counts[0], counts[1], counts[2], counts[3]);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // 배치는 문장이 여러 개여도 DB 왕복 한 번
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        int type = typeOf(queryInfoList.get(0).getQuery());
+        if (type >= 0) {
+            COUNTS.get()[type]++;
+        }
+    }
+
+    private static int typeOf(String sql) {
+        String query = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (query.startsWith("select")) {
+            return query.contains("next value for") ? -1 : 0;
+        }
+        if (query.startsWith("insert")) {
+            return 1;
+        }
+        if (query.startsWith("update")) {
+            return 2;
+        }
+        if (query.startsWith("delete")) {
+            return 3;
+        }
+        return -1;
+    }
+}